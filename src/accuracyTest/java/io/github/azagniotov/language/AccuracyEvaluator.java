@@ -0,0 +1,275 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.getTopLanguageCode;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.sampleText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates the classification accuracy of a detector on a dataset, using all the available cores.
+ *
+ * <p>The work is sharded by (language, text): every shard samples the substrings of a single
+ * text, the same way as {@link LanguageDetectorAccuracyTest} does, and classifies them on a worker
+ * thread, which has its own {@link LanguageDetector}. The shards are aggregated in the order they
+ * were submitted in, and every sample is drawn with a seed that depends only on the text, therefore
+ * the accuracies do not depend on the number of the worker threads.
+ *
+ * <p>Next to the accuracies, the evaluation measures the throughput of the detections, and the
+ * exact percentiles of the latency of a single detection. The latencies are measured while all the
+ * worker threads are busy, i.e.: under a full load of the cores.
+ */
+final class AccuracyEvaluator {
+
+  private final int parallelism;
+
+  AccuracyEvaluator(final int parallelism) {
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  Evaluation evaluate(
+      final Supplier<LanguageDetector> detectors,
+      final Map<String, List<String>> languageToFullTexts,
+      final Set<String> targetLanguages,
+      final int substringLength,
+      final int sampleSize)
+      throws InterruptedException {
+    return evaluate(
+        detectors,
+        languageToFullTexts,
+        targetLanguages,
+        substringLength,
+        sampleSize,
+        Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param maxTextChars the samples are truncated to this many chars before they are
+   *     classified, the same way as by {@link LanguageDetectionSettings#getMaxTextChars()}
+   */
+  Evaluation evaluate(
+      final Supplier<LanguageDetector> detectors,
+      final Map<String, List<String>> languageToFullTexts,
+      final Set<String> targetLanguages,
+      final int substringLength,
+      final int sampleSize,
+      final int maxTextChars)
+      throws InterruptedException {
+    final ThreadLocal<LanguageDetector> workerDetectors = ThreadLocal.withInitial(detectors);
+    final ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+    try {
+      final long startNanos = System.nanoTime();
+      final List<Future<Shard>> shards = new ArrayList<>();
+      for (final String targetLanguage : new TreeSet<>(targetLanguages)) {
+        for (final String fullText : languageToFullTexts.get(targetLanguage)) {
+          shards.add(
+              executor.submit(
+                  () ->
+                      classify(
+                          workerDetectors.get(),
+                          targetLanguage,
+                          fullText,
+                          substringLength,
+                          sampleSize,
+                          maxTextChars)));
+        }
+      }
+
+      final Map<String, long[]> languageToCorrectAndTotal = new TreeMap<>();
+      final List<long[]> latencies = new ArrayList<>(shards.size());
+      long documents = 0;
+      long chars = 0;
+      for (final Future<Shard> future : shards) {
+        final Shard shard = future.get();
+        final long[] correctAndTotal =
+            languageToCorrectAndTotal.computeIfAbsent(shard.language, key -> new long[2]);
+        correctAndTotal[0] += shard.correctDetections;
+        // The same denominator as by LanguageDetectorAccuracyTest: texts times the sample size
+        correctAndTotal[1] += sampleSize;
+        latencies.add(shard.latencyNanos);
+        documents += shard.latencyNanos.length;
+        chars += shard.chars;
+      }
+      final long elapsedNanos = System.nanoTime() - startNanos;
+
+      final Map<String, Double> accuracies = new TreeMap<>();
+      long correctDetections = 0;
+      long samples = 0;
+      for (final Map.Entry<String, long[]> entry : languageToCorrectAndTotal.entrySet()) {
+        accuracies.put(entry.getKey(), (double) entry.getValue()[0] / entry.getValue()[1]);
+        correctDetections += entry.getValue()[0];
+        samples += entry.getValue()[1];
+      }
+      final double overallAccuracy = samples == 0 ? 0.0 : (double) correctDetections / samples;
+      return new Evaluation(
+          accuracies, overallAccuracy, documents, chars, elapsedNanos, merge(latencies));
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("Could not evaluate the accuracy", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static Shard classify(
+      final LanguageDetector languageDetector,
+      final String targetLanguage,
+      final String fullText,
+      final int substringLength,
+      final int sampleSize,
+      final int maxTextChars) {
+    final List<String> substrings =
+        sampleText(targetLanguage, fullText, substringLength, sampleSize);
+    final long[] latencyNanos = new long[substrings.size()];
+    long correctDetections = 0;
+    long chars = 0;
+    for (int idx = 0; idx < substrings.size(); idx++) {
+      final String sample = substrings.get(idx);
+      final String substring = sample.substring(0, Math.min(maxTextChars, sample.length()));
+      final long startNanos = System.nanoTime();
+      final String detected = getTopLanguageCode(languageDetector, substring);
+      latencyNanos[idx] = System.nanoTime() - startNanos;
+      if (Objects.equals(detected, targetLanguage)) {
+        correctDetections++;
+      }
+      chars += substring.length();
+    }
+    return new Shard(targetLanguage, correctDetections, chars, latencyNanos);
+  }
+
+  /** The exact latency at the given percentile over all the detections of the evaluations. */
+  static long latencyPercentileNanos(final List<Evaluation> evaluations, final double percentile) {
+    final List<long[]> latencies = new ArrayList<>(evaluations.size());
+    for (final Evaluation evaluation : evaluations) {
+      latencies.add(evaluation.sortedLatencyNanos);
+    }
+    return Evaluation.percentile(merge(latencies), percentile);
+  }
+
+  private static long[] merge(final List<long[]> latencies) {
+    int total = 0;
+    for (final long[] shardLatencies : latencies) {
+      total += shardLatencies.length;
+    }
+    final long[] merged = new long[total];
+    int offset = 0;
+    for (final long[] shardLatencies : latencies) {
+      System.arraycopy(shardLatencies, 0, merged, offset, shardLatencies.length);
+      offset += shardLatencies.length;
+    }
+    Arrays.sort(merged);
+    return merged;
+  }
+
+  private static final class Shard {
+
+    private final String language;
+    private final long correctDetections;
+    private final long chars;
+    private final long[] latencyNanos;
+
+    private Shard(
+        final String language,
+        final long correctDetections,
+        final long chars,
+        final long[] latencyNanos) {
+      this.language = language;
+      this.correctDetections = correctDetections;
+      this.chars = chars;
+      this.latencyNanos = latencyNanos;
+    }
+  }
+
+  /** The accuracies, throughput and latencies of a single evaluation. */
+  static final class Evaluation {
+
+    private final Map<String, Double> accuracies;
+    private final double overallAccuracy;
+    private final long documents;
+    private final long chars;
+    private final long elapsedNanos;
+    private final long[] sortedLatencyNanos;
+
+    private Evaluation(
+        final Map<String, Double> accuracies,
+        final double overallAccuracy,
+        final long documents,
+        final long chars,
+        final long elapsedNanos,
+        final long[] sortedLatencyNanos) {
+      this.accuracies = Collections.unmodifiableMap(accuracies);
+      this.overallAccuracy = overallAccuracy;
+      this.documents = documents;
+      this.chars = chars;
+      this.elapsedNanos = elapsedNanos;
+      this.sortedLatencyNanos = sortedLatencyNanos;
+    }
+
+    /** The share of the correctly classified samples of every language. */
+    Map<String, Double> getAccuracies() {
+      return accuracies;
+    }
+
+    /** The share of the correctly classified samples of all the languages. */
+    double getOverallAccuracy() {
+      return overallAccuracy;
+    }
+
+    long getDocuments() {
+      return documents;
+    }
+
+    long getChars() {
+      return chars;
+    }
+
+    long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    double getDocumentsPerSecond() {
+      return documents * 1e9 / Math.max(1L, elapsedNanos);
+    }
+
+    double getCharsPerSecond() {
+      return chars * 1e9 / Math.max(1L, elapsedNanos);
+    }
+
+    double getMeanLatencyNanos() {
+      long sum = 0;
+      for (final long latencyNanos : sortedLatencyNanos) {
+        sum += latencyNanos;
+      }
+      return sortedLatencyNanos.length == 0 ? 0.0 : (double) sum / sortedLatencyNanos.length;
+    }
+
+    /**
+     * The exact latency at the given percentile, by the nearest-rank method.
+     *
+     * @param percentile a value between 0 and 100
+     */
+    long getLatencyPercentileNanos(final double percentile) {
+      return percentile(sortedLatencyNanos, percentile);
+    }
+
+    private static long percentile(final long[] sortedLatencyNanos, final double percentile) {
+      if (sortedLatencyNanos.length == 0) {
+        return 0L;
+      }
+      final double clamped = Math.min(100.0, Math.max(0.0, percentile));
+      final int rank = (int) Math.ceil(sortedLatencyNanos.length * clamped / 100.0);
+      return sortedLatencyNanos[Math.max(0, rank - 1)];
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.LanguageDetectionSettings.DEFAULT_HASHED_MODEL_BUCKETS;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.ACCURACY_REPORT_HOME;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.ALL_LANGUAGES;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.getTopLanguageCode;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.readDataset;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.sampleText;
+import static io.github.azagniotov.language.StringConstants.COMMA_CHAR;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Reports the classification accuracy of the merged-average model, hashed into a fixed number of
+ * buckets, see {@link LanguageDetectionSettings.Builder#withHashedModel(int)}, next to the model
+ * that keeps the n-grams, on the same datasets as {@link LanguageDetectorAccuracyTest}.
+ *
+ * <p>The report is written to {@code build/reports/accuracy/hashing-report-<UNIX_TIMESTAMP>.csv},
+ * with a row per number of the buckets and dataset, where 0 buckets is the model that keeps the
+ * n-grams.
+ */
+public class HashedModelAccuracyTest {
+
+  private static final int SAMPLE_SIZE = 100;
+
+  private static final double MAX_ACCURACY_LOSS = 0.01;
+
+  private static final int[] BUCKETS = {0, 1 << 20, 1 << 18, DEFAULT_HASHED_MODEL_BUCKETS, 1 << 14};
+
+  // Dataset name, resource path and substring length
+  private static final String[][] DATASETS = {
+    {"udhr", "/datasets/udhr.tsv", "20"},
+    {"tatoeba", "/datasets/tatoeba-short-sentences.tsv", "20"},
+    {"tatoeba", "/datasets/tatoeba-short-sentences.tsv", "100"},
+  };
+
+  @Test
+  public void reportsAccuracyOfHashedModels() throws Exception {
+    final List<String> report = new ArrayList<>();
+    report.add("buckets,rows,dataset,substringLength,sampleSize,accuracy");
+    final Map<String, Double> exactModelAccuracies = new HashMap<>();
+    for (final int buckets : BUCKETS) {
+      final LanguageDetectionSettings settings =
+          LanguageDetectionSettings.fromIsoCodes639_1(ALL_LANGUAGES)
+              .withHashedModel(buckets)
+              .build();
+      final LanguageDetectorFactory factory = new LanguageDetectorFactory(settings);
+      final int rows = factory.getNGramModel().size();
+
+      final LanguageDetector languageDetector =
+          factory.newDetector(LanguageDetectionMetrics.DISABLED);
+      for (final String[] dataset : DATASETS) {
+        final int substringLength = Integer.parseInt(dataset[2]);
+        final double accuracy =
+            accuracy(languageDetector, readDataset(dataset[1]), settings, substringLength);
+        final String datasetKey = dataset[0] + "/" + substringLength;
+        if (buckets == 0) {
+          exactModelAccuracies.put(datasetKey, accuracy);
+        }
+        // The default number of the buckets is about as accurate as the model of the n-grams
+        if (buckets == 0 || buckets >= DEFAULT_HASHED_MODEL_BUCKETS) {
+          assertTrue(accuracy >= exactModelAccuracies.get(datasetKey) - MAX_ACCURACY_LOSS);
+        }
+        System.out.printf(
+            "%s: %d buckets (%d rows): %.4f (n-grams model: %.4f)%n",
+            datasetKey, buckets, rows, accuracy, exactModelAccuracies.get(datasetKey));
+        report.add(
+            String.join(
+                COMMA_CHAR,
+                String.valueOf(buckets),
+                String.valueOf(rows),
+                dataset[0],
+                String.valueOf(substringLength),
+                String.valueOf(SAMPLE_SIZE),
+                String.valueOf(accuracy)));
+      }
+    }
+
+    Files.createDirectories(Path.of(ACCURACY_REPORT_HOME));
+    final long reportTimestamp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    Files.write(
+        Path.of(ACCURACY_REPORT_HOME, "hashing-report-" + reportTimestamp + ".csv"),
+        report,
+        StandardCharsets.UTF_8);
+  }
+
+  /** The share of the sampled substrings of all the languages which are classified correctly. */
+  private static double accuracy(
+      final LanguageDetector languageDetector,
+      final Map<String, List<String>> languageToFullTexts,
+      final LanguageDetectionSettings settings,
+      final int substringLength) {
+    double correctDetections = 0;
+    double detections = 0;
+    for (final Map.Entry<String, List<String>> entry : languageToFullTexts.entrySet()) {
+      final String targetLanguage = entry.getKey();
+      if (!settings.getIsoCodes639_1().contains(targetLanguage)) {
+        continue;
+      }
+      for (final String fullText : entry.getValue()) {
+        for (final String substring :
+            sampleText(targetLanguage, fullText, substringLength, SAMPLE_SIZE)) {
+          if (Objects.equals(getTopLanguageCode(languageDetector, substring), targetLanguage)) {
+            correctDetections++;
+          }
+          detections++;
+        }
+      }
+    }
+    return correctDetections / detections;
+  }
+}
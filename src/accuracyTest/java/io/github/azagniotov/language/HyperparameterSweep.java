@@ -0,0 +1,356 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.ACCURACY_REPORT_HOME;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.ALL_LANGUAGES;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.readDataset;
+import static io.github.azagniotov.language.StringConstants.COMMA_CHAR;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sweeps the {@link ModelParameters} of the detector, and the {@link
+ * LanguageDetectionSettings#getMaxTextChars()}, to trade the accuracy of the detection for its
+ * latency with evidence, rather than by guessing.
+ *
+ * <p>Every point of the sweep is evaluated by {@link AccuracyEvaluator} on the merged-average model
+ * of all the languages, on short and long substrings and on the full texts of the datasets. The
+ * accuracy of a point is the mean of its accuracies on the datasets, so that every dataset counts
+ * the same, however many samples it has. The latencies are over all the detections of the point.
+ *
+ * <ul>
+ *   <li>{@code grid}: evaluates every combination of the values of the axes, each axis can be
+ *       overridden by an {@code <axis>=<value>,<value>...} argument, e.g.: {@code
+ *       numberOfTrials=1,2,3}
+ *   <li>{@code random}: evaluates the given number of points, drawn from the ranges of the axes
+ *       with the given seed
+ *   <li>{@code presets}: evaluates every {@link LanguageDetectionPreset}
+ * </ul>
+ *
+ * <p>The report, with a row per point, is written to {@code
+ * build/reports/accuracy/sweep-report-<UNIX_TIMESTAMP>.csv}. The points that no other point beats
+ * on the accuracy, the mean latency and the p99 latency all at once, i.e.: the Pareto frontier, are
+ * marked in the report and printed. The {@link ModelParameters#DEFAULT} point is always evaluated,
+ * as the baseline.
+ */
+final class HyperparameterSweep {
+
+  private static final String USAGE =
+      "Usage: HyperparameterSweep grid [<axis>=<value>,<value>...]...\n"
+          + "       HyperparameterSweep random <points> [<seed>]\n"
+          + "       HyperparameterSweep presets";
+
+  private static final int DEFAULT_MAX_TEXT_CHARS = 3000;
+
+  // Dataset name, resource path, substring length (0 for the full texts) and sample size
+  private static final String[][] DATASETS = {
+    {"tatoeba", "/datasets/tatoeba-short-sentences.tsv", "20", "100"},
+    {"udhr", "/datasets/udhr.tsv", "100", "20"},
+    {"udhr", "/datasets/udhr.tsv", "0", "1"},
+  };
+
+  private static final String NUMBER_OF_TRIALS = "numberOfTrials";
+  private static final String ITERATION_LIMIT = "iterationLimit";
+  private static final String ALPHA = "alpha";
+  private static final String ALPHA_WIDTH = "alphaWidth";
+  private static final String CONV_THRESHOLD = "convThreshold";
+  private static final String MAX_TEXT_CHARS = "maxTextChars";
+
+  private final LanguageDetectorFactory factory;
+  private final List<Map<String, List<String>>> datasets;
+  private final AccuracyEvaluator accuracyEvaluator;
+
+  HyperparameterSweep(
+      final LanguageDetectorFactory factory,
+      final List<Map<String, List<String>>> datasets,
+      final AccuracyEvaluator accuracyEvaluator) {
+    this.factory = factory;
+    this.datasets = datasets;
+    this.accuracyEvaluator = accuracyEvaluator;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    if (args.length < 1) {
+      throw new IllegalArgumentException(USAGE);
+    }
+    final List<Point> points = new ArrayList<>();
+    points.add(new Point(ModelParameters.DEFAULT, DEFAULT_MAX_TEXT_CHARS));
+    switch (args[0]) {
+      case "grid":
+        points.addAll(gridPoints(Arrays.asList(args).subList(1, args.length)));
+        break;
+      case "random":
+        if (args.length < 2 || args.length > 3) {
+          throw new IllegalArgumentException(USAGE);
+        }
+        final long seed = args.length == 3 ? Long.parseLong(args[2]) : 0L;
+        points.addAll(randomPoints(Integer.parseInt(args[1]), new Random(seed)));
+        break;
+      case "presets":
+        for (final LanguageDetectionPreset preset : LanguageDetectionPreset.values()) {
+          points.add(new Point(preset.getModelParameters(), DEFAULT_MAX_TEXT_CHARS));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException(USAGE);
+    }
+
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ALL_LANGUAGES)
+            .withProfile("merged-average")
+            .build();
+    final List<Map<String, List<String>>> datasets = new ArrayList<>();
+    for (final String[] dataset : DATASETS) {
+      datasets.add(readDataset(dataset[1]));
+    }
+    final HyperparameterSweep sweep =
+        new HyperparameterSweep(
+            new LanguageDetectorFactory(settings),
+            datasets,
+            new AccuracyEvaluator(
+                Integer.getInteger(
+                    "accuracy.parallelism", Runtime.getRuntime().availableProcessors())));
+
+    // Warms up the JIT, so that the latencies of the first point are comparable with the rest
+    sweep.evaluate(points.get(0));
+    final List<Result> results = new ArrayList<>(points.size());
+    for (final Point point : toMap(points).values()) {
+      final Result result = sweep.evaluate(point);
+      System.out.println(result);
+      results.add(result);
+    }
+    markParetoFrontier(results);
+    writeReport(results);
+
+    System.out.println("Pareto frontier, fastest first:");
+    results.stream()
+        .filter(result -> result.pareto)
+        .sorted(Comparator.comparingDouble(result -> result.meanLatencyNanos))
+        .forEach(System.out::println);
+  }
+
+  Result evaluate(final Point point) throws InterruptedException {
+    final List<AccuracyEvaluator.Evaluation> evaluations = new ArrayList<>(DATASETS.length);
+    for (int idx = 0; idx < DATASETS.length; idx++) {
+      final Map<String, List<String>> languageToFullTexts = this.datasets.get(idx);
+      final Set<String> targetLanguages = new TreeSet<>(languageToFullTexts.keySet());
+      targetLanguages.retainAll(this.factory.getSupportedIsoCodes639_1());
+      evaluations.add(
+          this.accuracyEvaluator.evaluate(
+              () ->
+                  this.factory.newDetector(
+                      LanguageDetectionMetrics.DISABLED, point.modelParameters),
+              languageToFullTexts,
+              targetLanguages,
+              Integer.parseInt(DATASETS[idx][2]),
+              Integer.parseInt(DATASETS[idx][3]),
+              point.maxTextChars));
+    }
+    return new Result(point, evaluations);
+  }
+
+  /** Marks the results which no other result dominates, see {@link Result#dominates(Result)}. */
+  static void markParetoFrontier(final List<Result> results) {
+    for (final Result result : results) {
+      result.pareto = results.stream().noneMatch(other -> other.dominates(result));
+    }
+  }
+
+  private static List<Point> gridPoints(final List<String> overrides) {
+    final Map<String, List<String>> axes = new LinkedHashMap<>();
+    axes.put(NUMBER_OF_TRIALS, Arrays.asList("1", "3", "5", "7"));
+    axes.put(ITERATION_LIMIT, Arrays.asList("1000", "10000"));
+    axes.put(ALPHA, Arrays.asList("0.5"));
+    axes.put(ALPHA_WIDTH, Arrays.asList("0.05"));
+    axes.put(CONV_THRESHOLD, Arrays.asList("0.999", "0.99999"));
+    axes.put(MAX_TEXT_CHARS, Arrays.asList("300", "3000"));
+    for (final String override : overrides) {
+      final int separator = override.indexOf('=');
+      if (separator < 0 || !axes.containsKey(override.substring(0, separator))) {
+        throw new IllegalArgumentException(USAGE);
+      }
+      axes.put(
+          override.substring(0, separator),
+          Arrays.asList(override.substring(separator + 1).split(COMMA_CHAR)));
+    }
+
+    final List<Point> points = new ArrayList<>();
+    for (final String numberOfTrials : axes.get(NUMBER_OF_TRIALS)) {
+      for (final String iterationLimit : axes.get(ITERATION_LIMIT)) {
+        for (final String alpha : axes.get(ALPHA)) {
+          for (final String alphaWidth : axes.get(ALPHA_WIDTH)) {
+            for (final String convThreshold : axes.get(CONV_THRESHOLD)) {
+              for (final String maxTextChars : axes.get(MAX_TEXT_CHARS)) {
+                points.add(
+                    new Point(
+                        new ModelParameters(
+                            Integer.parseInt(numberOfTrials),
+                            Integer.parseInt(iterationLimit),
+                            Double.parseDouble(alpha),
+                            Double.parseDouble(alphaWidth),
+                            Double.parseDouble(convThreshold),
+                            ModelParameters.DEFAULT.getProbabilityThreshold()),
+                        Integer.parseInt(maxTextChars)));
+              }
+            }
+          }
+        }
+      }
+    }
+    return points;
+  }
+
+  private static List<Point> randomPoints(final int count, final Random random) {
+    final List<Point> points = new ArrayList<>(count);
+    for (int idx = 0; idx < count; idx++) {
+      // The iteration limit, the distance of the convergence threshold from 1, and the max text
+      // chars span orders of magnitude, so they are drawn log-uniformly
+      points.add(
+          new Point(
+              new ModelParameters(
+                  1 + random.nextInt(10),
+                  (int) Math.round(Math.pow(10, 2 + 2 * random.nextDouble())),
+                  0.1 + 0.9 * random.nextDouble(),
+                  0.1 * random.nextDouble(),
+                  1.0 - Math.pow(10, -2 - 3 * random.nextDouble()),
+                  ModelParameters.DEFAULT.getProbabilityThreshold()),
+              (int) Math.round(50 * Math.pow(60, random.nextDouble()))));
+    }
+    return points;
+  }
+
+  // Drops the duplicate points, e.g.: the baseline when the grid has it too
+  private static Map<String, Point> toMap(final List<Point> points) {
+    final Map<String, Point> unique = new LinkedHashMap<>();
+    for (final Point point : points) {
+      unique.putIfAbsent(point.toString(), point);
+    }
+    return unique;
+  }
+
+  private static void writeReport(final List<Result> results) throws IOException {
+    final List<String> report = new ArrayList<>();
+    final StringBuilder header =
+        new StringBuilder(
+            String.join(
+                COMMA_CHAR,
+                NUMBER_OF_TRIALS,
+                ITERATION_LIMIT,
+                ALPHA,
+                ALPHA_WIDTH,
+                CONV_THRESHOLD,
+                MAX_TEXT_CHARS));
+    for (final String[] dataset : DATASETS) {
+      header.append(COMMA_CHAR).append(dataset[0]).append('/').append(dataset[2]);
+    }
+    header.append(",accuracy,meanLatencyMicros,p99LatencyMicros,pareto");
+    report.add(header.toString());
+
+    for (final Result result : results) {
+      final ModelParameters modelParameters = result.point.modelParameters;
+      final List<String> row = new ArrayList<>();
+      row.add(String.valueOf(modelParameters.getNumberOfTrials()));
+      row.add(String.valueOf(modelParameters.getIterationLimit()));
+      row.add(String.valueOf(modelParameters.getAlpha()));
+      row.add(String.valueOf(modelParameters.getAlphaWidth()));
+      row.add(String.valueOf(modelParameters.getConvThreshold()));
+      row.add(String.valueOf(result.point.maxTextChars));
+      for (final double datasetAccuracy : result.datasetAccuracies) {
+        row.add(String.valueOf(datasetAccuracy));
+      }
+      row.add(String.valueOf(result.accuracy));
+      row.add(String.format(Locale.US, "%.1f", result.meanLatencyNanos / 1000.0));
+      row.add(String.valueOf(TimeUnit.NANOSECONDS.toMicros(result.p99LatencyNanos)));
+      row.add(String.valueOf(result.pareto));
+      report.add(String.join(COMMA_CHAR, row));
+    }
+
+    Files.createDirectories(Path.of(ACCURACY_REPORT_HOME));
+    final long reportTimestamp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    final Path reportPath =
+        Path.of(ACCURACY_REPORT_HOME, "sweep-report-" + reportTimestamp + ".csv");
+    Files.write(reportPath, report, StandardCharsets.UTF_8);
+    System.out.println("Sweep report: " + reportPath);
+  }
+
+  /** The parameters of a single point of the sweep. */
+  static final class Point {
+
+    private final ModelParameters modelParameters;
+    private final int maxTextChars;
+
+    Point(final ModelParameters modelParameters, final int maxTextChars) {
+      this.modelParameters = modelParameters;
+      this.maxTextChars = maxTextChars;
+    }
+
+    @Override
+    public String toString() {
+      return modelParameters + ",maxTextChars=" + maxTextChars;
+    }
+  }
+
+  /** The accuracy and the latencies of a single point of the sweep. */
+  static final class Result {
+
+    private final Point point;
+    private final double[] datasetAccuracies;
+    private final double accuracy;
+    private final double meanLatencyNanos;
+    private final long p99LatencyNanos;
+    private boolean pareto;
+
+    Result(final Point point, final List<AccuracyEvaluator.Evaluation> evaluations) {
+      this.point = point;
+      this.datasetAccuracies = new double[evaluations.size()];
+      long documents = 0;
+      double latencyNanos = 0.0;
+      for (int idx = 0; idx < evaluations.size(); idx++) {
+        final AccuracyEvaluator.Evaluation evaluation = evaluations.get(idx);
+        this.datasetAccuracies[idx] = evaluation.getOverallAccuracy();
+        documents += evaluation.getDocuments();
+        latencyNanos += evaluation.getMeanLatencyNanos() * evaluation.getDocuments();
+      }
+      this.accuracy = Arrays.stream(this.datasetAccuracies).average().orElse(0.0);
+      this.meanLatencyNanos = documents == 0 ? 0.0 : latencyNanos / documents;
+      this.p99LatencyNanos = AccuracyEvaluator.latencyPercentileNanos(evaluations, 99);
+    }
+
+    /**
+     * Whether this result is at least as good as the other one on the accuracy, the mean latency
+     * and the p99 latency, and better on at least one of them.
+     */
+    boolean dominates(final Result other) {
+      return accuracy >= other.accuracy
+          && meanLatencyNanos <= other.meanLatencyNanos
+          && p99LatencyNanos <= other.p99LatencyNanos
+          && (accuracy > other.accuracy
+              || meanLatencyNanos < other.meanLatencyNanos
+              || p99LatencyNanos < other.p99LatencyNanos);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          Locale.US,
+          "%s: accuracy=%.4f meanLatencyMicros=%.1f p99LatencyMicros=%d",
+          point,
+          accuracy,
+          meanLatencyNanos / 1000.0,
+          TimeUnit.NANOSECONDS.toMicros(p99LatencyNanos));
+    }
+  }
+}
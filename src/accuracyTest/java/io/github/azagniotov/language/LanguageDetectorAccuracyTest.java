@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -43,13 +44,12 @@ import org.junit.runners.Parameterized;
 public class LanguageDetectorAccuracyTest {
 
   private static final double ACCURACY_DELTA = 1e-6;
-  private static final int MAX_NGRAM_LENGTH = 3;
 
   private static final String SMALL_LANG_SUBSET = "en,ja,de,es,fr,it";
 
   // To disable a language from being evaluated, we need to set its
   // probability in the CSV as NaN. Then, it will be filtered out.
-  private static final String ALL_LANGUAGES =
+  static final String ALL_LANGUAGES =
       "af,ar,bg,bn,ca,cs,da,de,el,en,es,et,fa,fi,fr,gu,he,hi,hr,hu,id,it,ja,kn,ko,lt,lv,mk,ml,mr,ne,nl,no,pa,pl,pt,"
           + "ro,ru,si,sk,sl,so,sq,sv,sw,ta,te,th,tl,tr,uk,ur,vi,yi,zh-cn,zh-tw";
 
@@ -63,11 +63,33 @@ public class LanguageDetectorAccuracyTest {
       "ar,bg,bn,ca,cs,da,de,el,en,es,et,fa,fi,fr,gu,he,hi,hr,hu,id,it,ja,ko,lt,lv,mk,ml,nl,no,pa,pl,pt,ro,ru,si,sq,"
           + "sv,ta,te,th,tl,tr,uk,ur,vi,zh-cn,zh-tw";
 
-  private static final String ACCURACY_REPORT_HOME = "./build/reports/accuracy";
+  static final String ACCURACY_REPORT_HOME = "./build/reports/accuracy";
   private static final String ACCURACY_REPORT_PATH_TEMPLATE =
       ACCURACY_REPORT_HOME + "/accuracy-report-%s.csv";
   private static String ACCURACY_REPORT_NAME;
 
+  // Appended after the accuracies of the languages, so that the columns of the accuracies
+  // stay where they are. The latencies are in microseconds.
+  private static final String THROUGHPUT_HEADER =
+      ",documents,chars,elapsedMillis,documentsPerSecond,charsPerSecond,"
+          + "meanLatencyMicros,p50LatencyMicros,p90LatencyMicros,p99LatencyMicros,maxLatencyMicros";
+
+  // The number of the worker threads that classify the samples, see AccuracyEvaluator
+  private static final int PARALLELISM =
+      Integer.getInteger("accuracy.parallelism", Runtime.getRuntime().availableProcessors());
+
+  // The consecutive test rows mostly use the same profile and languages, so the last few loaded
+  // models are kept, instead of loading the profiles for every row
+  private static final int MAX_CACHED_FACTORIES = 2;
+  private static final Map<String, LanguageDetectorFactory> FACTORIES =
+      new LinkedHashMap<>(MAX_CACHED_FACTORIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<String, LanguageDetectorFactory> eldest) {
+          return size() > MAX_CACHED_FACTORIES;
+        }
+      };
+
   private static Map<String, Map<String, List<String>>> allDatasets;
 
   private final String dataset;
@@ -136,7 +158,7 @@ public class LanguageDetectorAccuracyTest {
     ACCURACY_REPORT_NAME = String.format(ACCURACY_REPORT_PATH_TEMPLATE, reportTimestamp);
     Files.write(
         Path.of(ACCURACY_REPORT_NAME),
-        Collections.singletonList(header + ALL_LANGUAGES),
+        Collections.singletonList(header + ALL_LANGUAGES + THROUGHPUT_HEADER),
         StandardCharsets.UTF_8);
   }
 
@@ -154,12 +176,7 @@ public class LanguageDetectorAccuracyTest {
             .withProfile(canonicalProfile)
             .build();
 
-    final LanguageDetectorFactory factory = new LanguageDetectorFactory(configuredSettings);
-    final LanguageDetector languageDetector =
-        new LanguageDetector(
-            factory.getSupportedIsoCodes639_1(),
-            factory.getLanguageCorporaProbabilities(),
-            MAX_NGRAM_LENGTH);
+    final LanguageDetectorFactory factory = factory(canonicalProfile, configuredSettings);
 
     final Map<String, List<String>> languageToFullTexts = allDatasets.get(dataset);
     final Set<String> datasetTargetLanguages = new TreeSet<>(languageToFullTexts.keySet());
@@ -168,31 +185,23 @@ public class LanguageDetectorAccuracyTest {
     // we want to make sure that our target dataset has the same languages
     datasetTargetLanguages.retainAll(configuredSettings.getIsoCodes639_1());
 
-    // Classify the texts and calculate the accuracy for each language
-    final Map<String, Double> languageToDetectedAccuracy =
-        new HashMap<>(datasetTargetLanguages.size());
-
-    for (final String targetLanguage : datasetTargetLanguages) {
-      double correctDetections = 0;
-      final List<String> allLanguageTexts = languageToFullTexts.get(targetLanguage);
-      for (final String fullText : allLanguageTexts) {
-        for (String substring : sampleText(targetLanguage, fullText, substringLength, sampleSize)) {
-          if (Objects.equals(getTopLanguageCode(languageDetector, substring), targetLanguage)) {
-            correctDetections++;
-          }
-        }
-      }
-      final double accuracy = correctDetections / (allLanguageTexts.size() * sampleSize);
-      languageToDetectedAccuracy.put(targetLanguage, accuracy);
-      // System.out.printf("Detected accuracy: %s = %s%n", targetLanguage, accuracy);
-    }
+    // Classify the texts and calculate the accuracy for each language, on all the cores
+    final AccuracyEvaluator.Evaluation evaluation =
+        new AccuracyEvaluator(PARALLELISM)
+            .evaluate(
+                () -> factory.newDetector(LanguageDetectionMetrics.DISABLED),
+                languageToFullTexts,
+                datasetTargetLanguages,
+                substringLength,
+                sampleSize);
+    final Map<String, Double> languageToDetectedAccuracy = evaluation.getAccuracies();
 
     // To disable a language from being evaluated, we need to set its
     // probability in the CSV as NaN. Then, it will be filtered out.
     assertEquals(languageToExpectedAccuracy.size(), languageToDetectedAccuracy.size());
 
     // Generate accuracy report regardless of the upcoming assertions
-    writeAccuracyReport(languageToDetectedAccuracy);
+    writeAccuracyReport(evaluation);
 
     for (Map.Entry<String, Double> detected : languageToDetectedAccuracy.entrySet()) {
       final String targetLanguage = detected.getKey();
@@ -203,6 +212,12 @@ public class LanguageDetectorAccuracyTest {
     }
   }
 
+  private static LanguageDetectorFactory factory(
+      final String canonicalProfile, final LanguageDetectionSettings settings) {
+    final String key = canonicalProfile + "|" + settings.getIsoCodes639_1();
+    return FACTORIES.computeIfAbsent(key, ignored -> new LanguageDetectorFactory(settings));
+  }
+
   private String configureProfileDependentLanguageCodes() {
     String languageCodes = OLD_DEFAULT_LANGUAGES;
     // This decision tree has been created by the original author,
@@ -228,7 +243,7 @@ public class LanguageDetectorAccuracyTest {
     return languageCodes;
   }
 
-  private void writeAccuracyReport(Map<String, Double> languageToDetectedAccuracy)
+  private void writeAccuracyReport(final AccuracyEvaluator.Evaluation evaluation)
       throws IOException {
     final List<String> row = new ArrayList<>();
     Collections.addAll(
@@ -240,8 +255,20 @@ public class LanguageDetectorAccuracyTest {
         String.valueOf(useAllLanguages));
 
     for (final String language : ALL_LANGUAGES.split(COMMA_CHAR)) {
-      row.add(languageToDetectedAccuracy.getOrDefault(language, Double.NaN).toString());
+      row.add(evaluation.getAccuracies().getOrDefault(language, Double.NaN).toString());
     }
+    Collections.addAll(
+        row,
+        String.valueOf(evaluation.getDocuments()),
+        String.valueOf(evaluation.getChars()),
+        String.valueOf(TimeUnit.NANOSECONDS.toMillis(evaluation.getElapsedNanos())),
+        String.format(Locale.US, "%.1f", evaluation.getDocumentsPerSecond()),
+        String.format(Locale.US, "%.1f", evaluation.getCharsPerSecond()),
+        String.format(Locale.US, "%.1f", evaluation.getMeanLatencyNanos() / 1000.0),
+        String.valueOf(TimeUnit.NANOSECONDS.toMicros(evaluation.getLatencyPercentileNanos(50))),
+        String.valueOf(TimeUnit.NANOSECONDS.toMicros(evaluation.getLatencyPercentileNanos(90))),
+        String.valueOf(TimeUnit.NANOSECONDS.toMicros(evaluation.getLatencyPercentileNanos(99))),
+        String.valueOf(TimeUnit.NANOSECONDS.toMicros(evaluation.getLatencyPercentileNanos(100))));
     Files.write(
         Path.of(ACCURACY_REPORT_NAME),
         Collections.singletonList(String.join(COMMA_CHAR, row)),
@@ -304,7 +331,7 @@ public class LanguageDetectorAccuracyTest {
    *     code and text
    * @return a mapping from each language code found in the file to the texts of this language
    */
-  private static Map<String, List<String>> readDataset(final String path) throws IOException {
+  static Map<String, List<String>> readDataset(final String path) throws IOException {
     final Map<String, List<String>> languageToFullTexts = new HashMap<>();
 
     try (final BufferedReader bufferedReader = getResourceReader(path)) {
@@ -341,7 +368,7 @@ public class LanguageDetectorAccuracyTest {
    * @param sampleSize number of substrings to include in the sample
    * @return the sample (a list of strings)
    */
-  private List<String> sampleText(
+  static List<String> sampleText(
       final String language,
       final String text,
       final int configuredSubstringLength,
@@ -0,0 +1,130 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.ACCURACY_REPORT_HOME;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.ALL_LANGUAGES;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.getTopLanguageCode;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.readDataset;
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.sampleText;
+import static io.github.azagniotov.language.StringConstants.COMMA_CHAR;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Reports the classification accuracy of the merged-average model, pruned to a fraction of its
+ * estimated size by {@link ModelPruner}, on the same datasets as {@link
+ * LanguageDetectorAccuracyTest}.
+ *
+ * <p>The report is written to {@code build/reports/accuracy/pruning-report-<UNIX_TIMESTAMP>.csv},
+ * with a row per budget and dataset.
+ */
+public class ModelPruningAccuracyTest {
+
+  private static final int MAX_NGRAM_LENGTH = 3;
+  private static final int SAMPLE_SIZE = 100;
+
+  private static final double MAX_ACCURACY_LOSS = 0.01;
+
+  private static final double[] BUDGET_FRACTIONS = {1.0, 0.5, 0.25, 0.1};
+
+  // Dataset name, resource path and substring length
+  private static final String[][] DATASETS = {
+    {"udhr", "/datasets/udhr.tsv", "20"},
+    {"tatoeba", "/datasets/tatoeba-short-sentences.tsv", "20"},
+    {"tatoeba", "/datasets/tatoeba-short-sentences.tsv", "100"},
+  };
+
+  @Test
+  public void reportsAccuracyOfPrunedModels() throws Exception {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ALL_LANGUAGES).build();
+    final LanguageDetectorFactory factory = new LanguageDetectorFactory(settings);
+    final Map<String, double[]> fullModel = factory.getLanguageCorporaProbabilities();
+    final long fullModelBytes = ModelPruner.estimatedBytes(fullModel);
+
+    final List<String> report = new ArrayList<>();
+    report.add("budgetFraction,maxModelBytes,nGrams,dataset,substringLength,sampleSize,accuracy");
+    final Map<String, Double> fullModelAccuracies = new HashMap<>();
+    for (final double budgetFraction : BUDGET_FRACTIONS) {
+      final long maxModelBytes = (long) (fullModelBytes * budgetFraction);
+      final Map<String, double[]> prunedModel = new HashMap<>(fullModel);
+      new ModelPruner(maxModelBytes, 0).prune(prunedModel);
+      assertTrue(ModelPruner.estimatedBytes(prunedModel) <= maxModelBytes);
+
+      final LanguageDetector languageDetector =
+          new LanguageDetector(factory.getSupportedIsoCodes639_1(), prunedModel, MAX_NGRAM_LENGTH);
+      for (final String[] dataset : DATASETS) {
+        final int substringLength = Integer.parseInt(dataset[2]);
+        final double accuracy =
+            accuracy(languageDetector, readDataset(dataset[1]), settings, substringLength);
+        final String datasetKey = dataset[0] + "/" + substringLength;
+        if (budgetFraction == 1.0) {
+          fullModelAccuracies.put(datasetKey, accuracy);
+        }
+        // A quarter of the model, the most discriminative one, is as accurate as the full model
+        if (budgetFraction >= 0.25) {
+          assertTrue(accuracy >= fullModelAccuracies.get(datasetKey) - MAX_ACCURACY_LOSS);
+        }
+        System.out.printf(
+            "%s: %.0f%% of the model (%d n-grams): %.4f (full model: %.4f)%n",
+            datasetKey,
+            budgetFraction * 100,
+            prunedModel.size(),
+            accuracy,
+            fullModelAccuracies.get(datasetKey));
+        report.add(
+            String.join(
+                COMMA_CHAR,
+                String.valueOf(budgetFraction),
+                String.valueOf(maxModelBytes),
+                String.valueOf(prunedModel.size()),
+                dataset[0],
+                String.valueOf(substringLength),
+                String.valueOf(SAMPLE_SIZE),
+                String.valueOf(accuracy)));
+      }
+    }
+
+    Files.createDirectories(Path.of(ACCURACY_REPORT_HOME));
+    final long reportTimestamp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    Files.write(
+        Path.of(ACCURACY_REPORT_HOME, "pruning-report-" + reportTimestamp + ".csv"),
+        report,
+        StandardCharsets.UTF_8);
+  }
+
+  /** The share of the sampled substrings of all the languages which are classified correctly. */
+  private static double accuracy(
+      final LanguageDetector languageDetector,
+      final Map<String, List<String>> languageToFullTexts,
+      final LanguageDetectionSettings settings,
+      final int substringLength) {
+    double correctDetections = 0;
+    double detections = 0;
+    for (final Map.Entry<String, List<String>> entry : languageToFullTexts.entrySet()) {
+      final String targetLanguage = entry.getKey();
+      if (!settings.getIsoCodes639_1().contains(targetLanguage)) {
+        continue;
+      }
+      for (final String fullText : entry.getValue()) {
+        for (final String substring :
+            sampleText(targetLanguage, fullText, substringLength, SAMPLE_SIZE)) {
+          if (Objects.equals(getTopLanguageCode(languageDetector, substring), targetLanguage)) {
+            correctDetections++;
+          }
+          detections++;
+        }
+      }
+    }
+    return correctDetections / detections;
+  }
+}
@@ -0,0 +1,136 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.LanguageDetectorAccuracyTest.ALL_LANGUAGES;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks the load time of the language profiles of all the languages, raw and GZIP compressed,
+ * so that the compressed profiles, which are shipped in the profile artifacts, can be shown not to
+ * regress the startup.
+ *
+ * <p>The profiles of every profile set are copied from the classpath into a directory of raw
+ * profiles and a directory of compressed ones, and every variant is loaded the given number of
+ * times, after as many warm-up loads, by a new {@link LanguageDetectorFactory}:
+ *
+ * <ul>
+ *   <li>{@code classpath}: the raw profiles, streamed from the classpath
+ *   <li>{@code mapped}: the raw profiles, memory mapped from the directory
+ *   <li>{@code gzip}: the compressed profiles, decompressed as a stream from the directory
+ * </ul>
+ *
+ * <p>The report has the total size of the profiles, and the median and the minimum load times of
+ * every variant. The profiles are parsed by the given number of threads, the number of the
+ * available processors by default, see {@link
+ * LanguageDetectionSettings.Builder#withProfileLoadingParallelism(int)}.
+ */
+final class ProfileLoadBenchmark {
+
+  private static final String USAGE = "Usage: ProfileLoadBenchmark [<iterations> [<parallelism>]]";
+  private static final int DEFAULT_ITERATIONS = 10;
+  private static final String[] PROFILES = {"merged-average", "short-text"};
+
+  private ProfileLoadBenchmark() {}
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length > 2) {
+      System.err.println(USAGE);
+      System.exit(1);
+    }
+    final int iterations = args.length == 0 ? DEFAULT_ITERATIONS : Integer.parseInt(args[0]);
+    final int parallelism =
+        args.length < 2 ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(args[1]);
+    final String[] isoCodes639_1 = ALL_LANGUAGES.split(",");
+
+    System.out.println("profile,variant,bytes,medianMillis,minMillis");
+    for (final String profile : PROFILES) {
+      final Path rawDirectory = Files.createTempDirectory("langdetect");
+      final Path compressedDirectory = Files.createTempDirectory("langdetect");
+      // Not every profile set has every language
+      final List<String> shippedIsoCodes639_1 = new ArrayList<>();
+      for (final String isoCode639_1 : isoCodes639_1) {
+        try (final InputStream in =
+            ProfileLoadBenchmark.class.getResourceAsStream(
+                "/langdetect/" + profile + "/" + isoCode639_1)) {
+          if (in == null) {
+            continue;
+          }
+          Files.copy(in, rawDirectory.resolve(isoCode639_1));
+        }
+        try (final OutputStream out =
+            new GZIPOutputStream(
+                Files.newOutputStream(
+                    compressedDirectory.resolve(
+                        isoCode639_1 + LanguageDetectorFactory.COMPRESSED_PROFILE_SUFFIX)))) {
+          Files.copy(rawDirectory.resolve(isoCode639_1), out);
+        }
+        shippedIsoCodes639_1.add(isoCode639_1);
+      }
+
+      final LanguageDetectionSettings.Builder builder =
+          LanguageDetectionSettings.fromIsoCodes639_1(String.join(",", shippedIsoCodes639_1))
+              .withProfile(profile)
+              .withProfileLoadingParallelism(parallelism);
+      report(profile, "classpath", size(rawDirectory), builder.build(), iterations);
+      report(
+          profile,
+          "mapped",
+          size(rawDirectory),
+          builder.withProfilesDirectory(rawDirectory).build(),
+          iterations);
+      report(
+          profile,
+          "gzip",
+          size(compressedDirectory),
+          builder.withProfilesDirectory(compressedDirectory).build(),
+          iterations);
+    }
+  }
+
+  private static void report(
+      final String profile,
+      final String variant,
+      final long bytes,
+      final LanguageDetectionSettings settings,
+      final int iterations) {
+    for (int idx = 0; idx < iterations; idx++) {
+      new LanguageDetectorFactory(settings);
+    }
+    final long[] nanos = new long[iterations];
+    for (int idx = 0; idx < iterations; idx++) {
+      final long start = System.nanoTime();
+      new LanguageDetectorFactory(settings);
+      nanos[idx] = System.nanoTime() - start;
+    }
+    Arrays.sort(nanos);
+    System.out.printf(
+        Locale.US,
+        "%s,%s,%d,%d,%d%n",
+        profile,
+        variant,
+        bytes,
+        TimeUnit.NANOSECONDS.toMillis(nanos[nanos.length / 2]),
+        TimeUnit.NANOSECONDS.toMillis(nanos[0]));
+  }
+
+  private static long size(final Path profilesDirectory) throws IOException {
+    long bytes = 0;
+    try (final Stream<Path> profiles = Files.list(profilesDirectory)) {
+      for (final Path profile : (Iterable<Path>) profiles::iterator) {
+        bytes += Files.size(profile);
+      }
+    }
+    return bytes;
+  }
+}
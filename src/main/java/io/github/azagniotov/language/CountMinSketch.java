@@ -0,0 +1,54 @@
+package io.github.azagniotov.language;
+
+/**
+ * A count-min sketch of packed n-gram counts, which uses a fixed amount of memory regardless of the
+ * number of distinct n-grams.
+ *
+ * <p>Every n-gram is counted in one counter of each of the {@link #DEPTH} rows, and its count is
+ * estimated as the minimum of those counters. Collisions can only inflate a counter, therefore the
+ * estimate is never lower than the true count. This makes the sketch a safe pre-filter: an n-gram
+ * whose estimate is at or below a frequency threshold is certainly at or below it.
+ */
+final class CountMinSketch {
+
+  static final int DEPTH = 4;
+
+  // Odd multipliers of the multiplicative hash of each row
+  private static final long[] ROW_SEEDS = {
+    0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+  };
+
+  private final long[] counters;
+  private final int widthBits;
+
+  /** @param memoryBytes the memory to use for the counters, rounded down to a power of two */
+  CountMinSketch(final long memoryBytes) {
+    final long width = Math.max(1L, memoryBytes / ((long) DEPTH * Long.BYTES));
+    // At least 2 columns, at most 2^28 columns, so that all the rows fit into a single array
+    this.widthBits = Math.max(1, Math.min(28, 63 - Long.numberOfLeadingZeros(width)));
+    this.counters = new long[DEPTH << this.widthBits];
+  }
+
+  void add(final long packedNGram, final long count) {
+    for (int row = 0; row < DEPTH; row++) {
+      this.counters[index(row, packedNGram)] += count;
+    }
+  }
+
+  long estimate(final long packedNGram) {
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      estimate = Math.min(estimate, this.counters[index(row, packedNGram)]);
+    }
+    return estimate;
+  }
+
+  long sizeInBytes() {
+    return (long) this.counters.length * Long.BYTES;
+  }
+
+  private int index(final int row, final long packedNGram) {
+    final int column = (int) ((packedNGram * ROW_SEEDS[row]) >>> (Long.SIZE - this.widthBits));
+    return (row << this.widthBits) | column;
+  }
+}
@@ -0,0 +1,69 @@
+package io.github.azagniotov.language;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event, which is emitted for each {@link
+ * LanguageDetectionOrchestrator#detectAll(String)} call.
+ *
+ * <p>The event is enabled and configured through the standard JFR settings, e.g.: {@code
+ * -XX:StartFlightRecording:settings=profile}, or a custom .jfc file with the {@code
+ * io.github.azagniotov.language.Detection} event name. When JFR is not recording the event, the
+ * cost of the instrumentation is negligible.
+ */
+@Name("io.github.azagniotov.language.Detection")
+@Label("Language Detection")
+@Category({"Language Detection"})
+@Description("A language detection call")
+@StackTrace(false)
+class DetectionEvent extends jdk.jfr.Event {
+
+  /** The input was null or blank, before or after the sanitization. */
+  static final String PATH_EMPTY_INPUT = "empty-input";
+
+  /** The input was classified by the Chinese / Japanese heuristic. */
+  static final String PATH_CJK_SHORT_CIRCUIT = "cjk-short-circuit";
+
+  /** The language profiles were still being loaded, so the input was not classified. */
+  static final String PATH_MODEL_LOADING = "model-loading";
+
+  /** The input was classified by the n-gram model. */
+  static final String PATH_NGRAM_MODEL = "ngram-model";
+
+  @Label("Input Length")
+  @Description("The number of UTF-16 chars in the original input")
+  int inputLength;
+
+  @Label("Path")
+  @Description("The detection path taken")
+  String path;
+
+  @Label("Profile")
+  @Description("The language profiles of the n-gram model that classified the input")
+  String profile;
+
+  @Label("Iterations")
+  @Description("The number of the n-gram model scoring iterations, summed over all the trials")
+  int iterations;
+
+  @Label("Language")
+  @Description("The top detected ISO 639-1 code")
+  String isoCode639_1;
+
+  @Label("Probability")
+  double probability;
+
+  void complete(final String input, final Language topLanguage) {
+    end();
+    if (shouldCommit()) {
+      this.inputLength = input == null ? 0 : input.length();
+      this.isoCode639_1 = topLanguage.getIsoCode639_1();
+      this.probability = topLanguage.getProbability();
+      commit();
+    }
+  }
+}
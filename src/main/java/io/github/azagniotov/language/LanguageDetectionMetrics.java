@@ -0,0 +1,256 @@
+package io.github.azagniotov.language;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in detection metrics, see {@link LanguageDetectionSettings.Builder#withMetrics(
+ * LanguageDetectionMetrics)}.
+ *
+ * <p>The metrics consist of striped {@link LongAdder} counters and lock-free {@link
+ * LatencyHistogram} latency distributions for each {@link Stage} of the detection. An instance can
+ * be shared between any number of {@link LanguageDetectionOrchestrator} instances and threads.
+ *
+ * <p>When metrics are not configured, the library uses the {@link #DISABLED} instance, where every
+ * method returns right away without reading the clock, which keeps the overhead near zero.
+ *
+ * <p>The collected metrics can be exported in the Prometheus text exposition format via {@link
+ * #writePrometheus(Appendable)}, without any external metrics dependency.
+ */
+public final class LanguageDetectionMetrics {
+
+  static final LanguageDetectionMetrics DISABLED = new LanguageDetectionMetrics(false);
+
+  private static final String METRIC_PREFIX = "language_detection_";
+  private static final String NEW_LINE = "\n";
+
+  // Prometheus buckets are exposed on the octave boundaries only, starting at 2^10ns (~1µs)
+  private static final long MIN_EXPOSED_BUCKET_NANOS = 1L << 10;
+
+  /** The stages of the detection flow that have their latencies recorded. */
+  public enum Stage {
+    /** Input sanitization for search, which is applied to short inputs only. */
+    SANITIZATION,
+    /** The heuristic which checks whether the input is a Chinese / Japanese string. */
+    CJK_CHECK,
+    /** Non-word filtering, normalization and the extraction of n-grams from the input. */
+    NGRAM_EXTRACTION,
+    /** Scoring the extracted n-grams against the language profiles. */
+    SCORING,
+    /** The whole detection call, end to end. */
+    DETECTION;
+
+    String label() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private final boolean enabled;
+  private final LongAdder calls;
+  private final LongAdder cjkShortCircuits;
+  private final LongAdder undeterminedResults;
+  private final LongAdder certaintyFallbacks;
+  private final Map<Stage, LatencyHistogram> latencies;
+
+  private LanguageDetectionMetrics(final boolean enabled) {
+    this.enabled = enabled;
+    this.calls = new LongAdder();
+    this.cjkShortCircuits = new LongAdder();
+    this.undeterminedResults = new LongAdder();
+    this.certaintyFallbacks = new LongAdder();
+    this.latencies = new EnumMap<>(Stage.class);
+    for (final Stage stage : Stage.values()) {
+      this.latencies.put(stage, new LatencyHistogram());
+    }
+  }
+
+  /** Creates a new, enabled, metrics instance. */
+  public static LanguageDetectionMetrics create() {
+    return new LanguageDetectionMetrics(true);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  public long getCjkShortCircuits() {
+    return cjkShortCircuits.sum();
+  }
+
+  public long getUndeterminedResults() {
+    return undeterminedResults.sum();
+  }
+
+  public long getCertaintyFallbacks() {
+    return certaintyFallbacks.sum();
+  }
+
+  /** The number of recorded latencies of the given stage. */
+  public long getCount(final Stage stage) {
+    return latencies.get(stage).getCount();
+  }
+
+  /** An estimate of the given stage latency percentile (0...100), in nanoseconds. */
+  public long getPercentileNanos(final Stage stage, final double percentile) {
+    return latencies.get(stage).getPercentileNanos(percentile);
+  }
+
+  /**
+   * Reads the clock for a stage that is about to start.
+   *
+   * @return the current {@link System#nanoTime()}, or 0 when metrics are disabled
+   */
+  long startNanos() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  void recordLatency(final Stage stage, final long startNanos) {
+    if (enabled) {
+      latencies.get(stage).record(System.nanoTime() - startNanos);
+    }
+  }
+
+  /** Records the end of a detection call and the top detected language. */
+  void recordDetection(final Language topLanguage, final long startNanos) {
+    if (enabled) {
+      latencies.get(Stage.DETECTION).record(System.nanoTime() - startNanos);
+      calls.increment();
+      if (LanguageDetector.UNDETERMINED_LANGUAGE_RESPONSE
+          .getIsoCode639_1()
+          .equals(topLanguage.getIsoCode639_1())) {
+        undeterminedResults.increment();
+      }
+    }
+  }
+
+  void markCjkShortCircuit() {
+    if (enabled) {
+      cjkShortCircuits.increment();
+    }
+  }
+
+  void markCertaintyFallback() {
+    if (enabled) {
+      certaintyFallbacks.increment();
+    }
+  }
+
+  /**
+   * Writes all the metrics in the Prometheus text exposition format (version 0.0.4).
+   *
+   * <p>Latencies are exposed as a single histogram, labeled by the detection stage, with the bucket
+   * boundaries in seconds.
+   *
+   * @param out where to write the metrics to, e.g.: a {@link java.io.Writer}, or a {@link
+   *     StringBuilder}
+   */
+  public void writePrometheus(final Appendable out) {
+    try {
+      writeCounter(out, "calls_total", "Total number of detection calls.", getCalls());
+      writeCounter(
+          out,
+          "cjk_short_circuits_total",
+          "Detection calls answered by the Chinese / Japanese heuristic.",
+          getCjkShortCircuits());
+      writeCounter(
+          out,
+          "undetermined_total",
+          "Detection calls that resulted in an undetermined language.",
+          getUndeterminedResults());
+      writeCounter(
+          out,
+          "certainty_fallbacks_total",
+          "Detection calls that fell back on the configured language due to a low certainty.",
+          getCertaintyFallbacks());
+      writeLatencies(out);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Returns the metrics in the Prometheus text exposition format. */
+  public String toPrometheus() {
+    final StringBuilder stringBuilder = new StringBuilder();
+    writePrometheus(stringBuilder);
+    return stringBuilder.toString();
+  }
+
+  private static void writeCounter(
+      final Appendable out, final String name, final String help, final long value)
+      throws IOException {
+    final String metricName = METRIC_PREFIX + name;
+    out.append("# HELP ").append(metricName).append(' ').append(help).append(NEW_LINE);
+    out.append("# TYPE ").append(metricName).append(" counter").append(NEW_LINE);
+    out.append(metricName).append(' ').append(Long.toString(value)).append(NEW_LINE);
+  }
+
+  private void writeLatencies(final Appendable out) throws IOException {
+    final String metricName = METRIC_PREFIX + "stage_duration_seconds";
+    out.append("# HELP ")
+        .append(metricName)
+        .append(" Latency of the language detection stages.")
+        .append(NEW_LINE);
+    out.append("# TYPE ").append(metricName).append(" histogram").append(NEW_LINE);
+
+    for (final Stage stage : Stage.values()) {
+      final LatencyHistogram histogram = latencies.get(stage);
+      final String stageLabel = "stage=\"" + stage.label() + "\"";
+
+      // Take the bucket counters first, so that the +Inf bucket and the
+      // _count are consistent with each other, even under concurrent updates
+      final long[] snapshot = histogram.snapshot();
+      long cumulative = 0;
+      for (int idx = 0; idx < snapshot.length; idx++) {
+        cumulative += snapshot[idx];
+        final long upperBoundNanos = LatencyHistogram.bucketUpperBound(idx);
+        final boolean octaveBoundary =
+            idx % LatencyHistogram.SUB_BUCKETS == LatencyHistogram.SUB_BUCKETS - 1;
+        // The last bucket also has the values above the histogram range, which are only
+        // counted by the +Inf bucket
+        final boolean overflowBucket = idx == snapshot.length - 1;
+        if (octaveBoundary && !overflowBucket && upperBoundNanos >= MIN_EXPOSED_BUCKET_NANOS) {
+          // The bucket bound is exclusive, while the Prometheus "le" is inclusive
+          out.append(metricName)
+              .append("_bucket{")
+              .append(stageLabel)
+              .append(",le=\"")
+              .append(Double.toString(toSeconds(upperBoundNanos - 1)))
+              .append("\"} ")
+              .append(Long.toString(cumulative))
+              .append(NEW_LINE);
+        }
+      }
+      out.append(metricName)
+          .append("_bucket{")
+          .append(stageLabel)
+          .append(",le=\"+Inf\"} ")
+          .append(Long.toString(cumulative))
+          .append(NEW_LINE);
+      out.append(metricName)
+          .append("_sum{")
+          .append(stageLabel)
+          .append("} ")
+          .append(Double.toString(toSeconds(histogram.getSumNanos())))
+          .append(NEW_LINE);
+      out.append(metricName)
+          .append("_count{")
+          .append(stageLabel)
+          .append("} ")
+          .append(Long.toString(cumulative))
+          .append(NEW_LINE);
+    }
+  }
+
+  private static double toSeconds(final long nanos) {
+    return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+  }
+}
@@ -3,15 +3,160 @@ package io.github.azagniotov.language;
 import static io.github.azagniotov.language.LanguageDetector.JAPANESE_LANGUAGE_RESPONSE;
 import static io.github.azagniotov.language.LanguageDetector.UNDETERMINED_LANGUAGE_RESPONSE;
 
+import io.github.azagniotov.language.LanguageDetectionMetrics.Stage;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class LanguageDetectionOrchestrator {
 
   private final LanguageDetectionSettings settings;
+  private final ModelLoader modelLoader;
+  // The loader of the short-text model, when the inputs are routed by their length, or null
+  private final ModelLoader shortTextModelLoader;
 
   public LanguageDetectionOrchestrator(final LanguageDetectionSettings settings) {
+    this(
+        settings,
+        LanguageDetectorFactory.modelLoader(settings),
+        settings.getShortTextSettings() == null
+            ? null
+            : LanguageDetectorFactory.modelLoader(settings.getShortTextSettings()));
+  }
+
+  LanguageDetectionOrchestrator(
+      final LanguageDetectionSettings settings, final ModelLoader modelLoader) {
+    this(settings, modelLoader, null);
+  }
+
+  LanguageDetectionOrchestrator(
+      final LanguageDetectionSettings settings,
+      final ModelLoader modelLoader,
+      final ModelLoader shortTextModelLoader) {
     this.settings = settings;
+    this.modelLoader = modelLoader;
+    this.shortTextModelLoader = shortTextModelLoader;
+  }
+
+  /**
+   * Starts loading the language profiles on a background thread, unless they are already loaded
+   * or are being loaded. Without a preload, the loading starts on the first detection call. With
+   * {@link LanguageDetectionSettings.Builder#withAdaptiveProfiles(int)}, the {@code short-text}
+   * profiles are loaded as well.
+   *
+   * @return a future, which completes with the current orchestrator once the profiles are loaded,
+   *     or completes exceptionally when the profiles could not be loaded
+   */
+  public CompletableFuture<LanguageDetectionOrchestrator> preload() {
+    if (this.shortTextModelLoader == null) {
+      return this.modelLoader.loadAsync(this.settings).thenApply(model -> this);
+    }
+    return CompletableFuture.allOf(
+            this.modelLoader.loadAsync(this.settings),
+            this.shortTextModelLoader.loadAsync(this.settings.getShortTextSettings()))
+        .thenApply(loaded -> this);
+  }
+
+  /**
+   * Whether the language profiles are loaded, i.e.: whether detection calls can be served by the
+   * n-gram model without waiting, including the {@code short-text} profiles when the inputs are
+   * routed by their length. Can be used as a readiness probe.
+   */
+  public boolean isReady() {
+    return this.modelLoader.isReady()
+        && (this.shortTextModelLoader == null || this.shortTextModelLoader.isReady());
+  }
+
+  /**
+   * Replaces the loaded language profiles with the ones from the given directory, without a
+   * restart. The new model is built and validated on a background thread, then swapped in
+   * atomically: in-flight detections complete on the previous model, and the detections that start
+   * after the swap use the new one. When the reload fails, the previous model stays in place.
+   *
+   * <p>The language profiles are shared by all the orchestrators with the same model key, see
+   * {@link LanguageDetectionSettings#getModelKey()}, so the reload applies to all of them, the same
+   * way as the first load does. With {@link
+   * LanguageDetectionSettings.Builder#withAdaptiveProfiles(int)}, only the configured profiles are
+   * reloaded, the {@code short-text} profiles are loaded from the classpath.
+   *
+   * @param profilesDirectory a directory with a language profile file per configured ISO code,
+   *     e.g.: {@code ja}, as written by the language profile generator
+   * @return a future of the model status after the swap
+   */
+  public CompletableFuture<ModelStatus> reload(final Path profilesDirectory) {
+    return this.modelLoader.reload(this.settings, profilesDirectory);
+  }
+
+  /**
+   * Replaces the loaded language profiles with the ones in the configured profiles directory, see
+   * {@link LanguageDetectionSettings.Builder#withProfilesDirectory(Path)} and {@link
+   * #reload(Path)}.
+   *
+   * @return a future of the model status after the swap, which completes exceptionally when no
+   *     profiles directory is configured
+   */
+  public CompletableFuture<ModelStatus> reload() {
+    final Path profilesDirectory = this.settings.getProfilesDirectory();
+    if (profilesDirectory == null) {
+      return CompletableFuture.failedFuture(
+          new IllegalStateException("No language profiles directory is configured"));
+    }
+    return reload(profilesDirectory);
+  }
+
+  /**
+   * The version, the source and the reload counters of the loaded language profiles, i.e.: of the
+   * configured ones, when the inputs are routed by their length.
+   */
+  public ModelStatus getModelStatus() {
+    return this.modelLoader.getStatus();
+  }
+
+  /**
+   * Exercises the detection paths with synthetic inputs, so that the JIT compiler has compiled the
+   * hot code before the first real traffic arrives, e.g.: n-gram extraction, the scoring loop, the
+   * sanitization regular expressions and the CJK heuristic.
+   *
+   * <p>The inputs cover short queries which are sanitized, long documents which are truncated to
+   * the maximum text chars, and every configured language. The CJK heuristic is only exercised
+   * when it is enabled in the settings, as it is not on the detection path otherwise.
+   *
+   * <p>The language profiles are loaded first, if they are not loaded yet, which does not count
+   * towards the budget, along with the {@code short-text} profiles when the inputs are routed by
+   * their length. Then, the inputs are detected in a loop until the budget is spent. The
+   * call blocks the current thread.
+   *
+   * @param budget how long to keep detecting the synthetic inputs
+   * @return the number of detections made and their per-stage timings
+   */
+  public WarmUpReport warmUp(final Duration budget) {
+    final long modelLoadingStartNanos = System.nanoTime();
+    final LanguageDetectorFactory model = this.modelLoader.await(this.settings);
+    if (this.shortTextModelLoader != null) {
+      this.shortTextModelLoader.await(this.settings.getShortTextSettings());
+    }
+    final Duration modelLoading = Duration.ofNanos(System.nanoTime() - modelLoadingStartNanos);
+
+    final List<String> inputs = WarmUpCorpus.build(model, this.settings);
+    final LanguageDetectionMetrics warmUpMetrics = LanguageDetectionMetrics.create();
+
+    final long startNanos = System.nanoTime();
+    final long budgetNanos = Math.max(0L, budget.toNanos());
+    long detections = 0;
+    while (System.nanoTime() - startNanos < budgetNanos) {
+      final String input = inputs.get((int) (detections % inputs.size()));
+      final long detectionStartNanos = warmUpMetrics.startNanos();
+      // The event is never committed, the warm-up should not show up in recordings
+      final List<Language> languages = detectAll(input, warmUpMetrics, new DetectionEvent());
+      warmUpMetrics.recordDetection(languages.get(0), detectionStartNanos);
+      detections++;
+    }
+    final Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+    return new WarmUpReport(modelLoading, elapsed, detections, inputs.size(), warmUpMetrics);
   }
 
   public Language detect(final String input) {
@@ -19,33 +164,71 @@ public class LanguageDetectionOrchestrator {
   }
 
   public List<Language> detectAll(final String input) {
+    final DetectionEvent event = new DetectionEvent();
+    event.begin();
+
+    final LanguageDetectionMetrics metrics = this.settings.getMetrics();
+    final long startNanos = metrics.startNanos();
+    final List<Language> languages = detectAll(input, metrics, event);
+    metrics.recordDetection(languages.get(0), startNanos);
+
+    event.complete(input, languages.get(0));
+
+    return languages;
+  }
+
+  private List<Language> detectAll(
+      final String input, final LanguageDetectionMetrics metrics, final DetectionEvent event) {
     if (input == null || input.trim().isEmpty()) {
+      event.path = DetectionEvent.PATH_EMPTY_INPUT;
       return Collections.singletonList(UNDETERMINED_LANGUAGE_RESPONSE);
     } else {
-      final String sanitizedInput = conditionallySanitizeForSearch(input);
+      final String sanitizedInput = conditionallySanitizeForSearch(input, metrics);
       if (sanitizedInput.trim().isEmpty()) {
+        event.path = DetectionEvent.PATH_EMPTY_INPUT;
         return Collections.singletonList(UNDETERMINED_LANGUAGE_RESPONSE);
       }
 
       // Do a quick heuristic to check if this is a Chinese / Japanese input
       if (this.settings.isClassifyChineseAsJapanese()
           && this.settings.getClassifyChineseAsJapaneseThreshold() > 0) {
+        final long cjkCheckStartNanos = metrics.startNanos();
         final CjkDecision decision =
             CjkDetector.decide(
                 sanitizedInput, this.settings.getClassifyChineseAsJapaneseThreshold());
+        metrics.recordLatency(Stage.CJK_CHECK, cjkCheckStartNanos);
         // If it is a Chinese / Japanese input, then detect/enforce the input to be a Japanese
         // string
         if (decision == CjkDecision.DECISION_CHINESE || decision == CjkDecision.DECISION_JAPANESE) {
+          metrics.markCjkShortCircuit();
+          event.path = DetectionEvent.PATH_CJK_SHORT_CIRCUIT;
           return Collections.singletonList(JAPANESE_LANGUAGE_RESPONSE);
         }
       }
 
-      // Go through the original LangDetect flow otherwise
-      final LanguageDetector languageDetector = LanguageDetectorFactory.detector(this.settings);
+      // Go through the original LangDetect flow otherwise, by the short-text profiles for the
+      // short inputs when the inputs are routed by their length
+      final boolean shortText =
+          this.shortTextModelLoader != null
+              && sanitizedInput.length() <= this.settings.getAdaptiveCutOverChars();
+      final LanguageDetectionSettings modelSettings =
+          shortText ? this.settings.getShortTextSettings() : this.settings;
+      final ModelLoader loader = shortText ? this.shortTextModelLoader : this.modelLoader;
+      final Optional<LanguageDetectorFactory> model = loader.model(modelSettings);
+      if (model.isEmpty()) {
+        // The language profiles were not loaded within the configured timeout
+        event.path = DetectionEvent.PATH_MODEL_LOADING;
+        return Collections.singletonList(modelLoadingFallback());
+      }
+      final LanguageDetector languageDetector =
+          model.get().newDetector(metrics, this.settings.getModelParameters());
+      event.profile = modelSettings.getProfile();
 
       final int maxChars = Math.min(this.settings.getMaxTextChars(), sanitizedInput.length());
       final List<Language> languages =
           languageDetector.detectAll(sanitizedInput.substring(0, maxChars));
+      event.path = DetectionEvent.PATH_NGRAM_MODEL;
+      event.iterations = languageDetector.getIterations();
 
       final Language topLanguage = languages.get(0);
       if (topLanguage.getIsoCode639_1().equals(UNDETERMINED_LANGUAGE_RESPONSE.getIsoCode639_1())) {
@@ -54,6 +237,7 @@ public class LanguageDetectionOrchestrator {
         // e.g.: cross-index into all languages or search through all language fields
         return languages;
       } else if (topLanguage.getProbability() < this.settings.getCertaintyThreshold()) {
+        metrics.markCertaintyFallback();
         return Collections.singletonList(
             new Language(this.settings.getFallbackIsoCode639_1(), 1.0));
       } else {
@@ -62,10 +246,24 @@ public class LanguageDetectionOrchestrator {
     }
   }
 
-  private String conditionallySanitizeForSearch(final String input) {
+  private Language modelLoadingFallback() {
+    final String fallbackIsoCode639_1 = this.settings.getModelLoadingFallbackIsoCode639_1();
+    if (fallbackIsoCode639_1 == null) {
+      return UNDETERMINED_LANGUAGE_RESPONSE;
+    } else {
+      return new Language(fallbackIsoCode639_1, 1.0);
+    }
+  }
+
+  private String conditionallySanitizeForSearch(
+      final String input, final LanguageDetectionMetrics metrics) {
     if (this.settings.isSanitizeForSearch()) {
       if (input.length() < this.settings.getSanitizeForSearchThreshold()) {
-        return InputSanitizer.sanitizeForSearch(input);
+        final long sanitizationStartNanos = metrics.startNanos();
+        final String sanitizedInput = InputSanitizer.sanitizeForSearch(input);
+        metrics.recordLatency(Stage.SANITIZATION, sanitizationStartNanos);
+
+        return sanitizedInput;
       } else {
         return input;
       }
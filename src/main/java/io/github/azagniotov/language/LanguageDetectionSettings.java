@@ -2,6 +2,8 @@ package io.github.azagniotov.language;
 
 import static java.util.stream.Collectors.toList;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -19,7 +21,31 @@ public class LanguageDetectionSettings {
 
   private static final int MAX_TEXT_CHARS_UPPER_BOUND = 20000;
 
+  static final String SHORT_TEXT_PROFILE = "short-text";
+
+  // The languages of the short-text profiles, which are the only ones that the adaptive profiles
+  // can route to them
+  private static final List<String> SHORT_TEXT_ISO_CODES_639_1 =
+      Arrays.asList(
+          ("ar,bg,bn,ca,cs,da,de,el,en,es,et,fa,fi,fr,gu,he,hi,hr,hu,id,it,ja,ko,lb,lt,lv,mk,ml,nl,"
+                  + "no,pa,pl,pt,ro,ru,si,sq,sv,ta,te,th,tl,tr,uk,ur,vi,zh-cn,zh-tw")
+              .split(COMMA));
+
+  // At and below 10 chars, the short-text profiles are more accurate and faster on the Tatoeba
+  // sentences, which are the closest to the search queries, and on par at 15 chars. On the UDHR
+  // excerpts of formal prose, they are less accurate than merged-average at 5 and 10 chars, and on
+  // par at 15 chars, see the README
+  static final int DEFAULT_ADAPTIVE_CUT_OVER_CHARS = 10;
+
+  // The buckets of a hashed model, see the README for the accuracy and the size per number of them:
+  // a row per bucket of all the 64 languages takes about 530 bytes, so 2^16 buckets are capped at
+  // about a third of the model that keeps the n-grams, and are as accurate
+  static final int DEFAULT_HASHED_MODEL_BUCKETS = 1 << 16;
+  static final int MIN_HASHED_MODEL_BUCKETS = 1 << 10;
+  static final int MAX_HASHED_MODEL_BUCKETS = 1 << 24;
+
   private final String profile;
+  private final Path profilesDirectory;
   private final int maxTextChars;
   private final List<String> isoCodes639_1;
   private final int sanitizeForSearchThreshold;
@@ -28,9 +54,23 @@ public class LanguageDetectionSettings {
   private final double classifyChineseAsJapaneseThreshold;
   private final double certaintyThreshold;
   private final String fallbackIsoCode639_1;
-
-  private LanguageDetectionSettings(final Builder builder) {
+  private final LanguageDetectionMetrics metrics;
+  private final Duration modelLoadingTimeout;
+  private final String modelLoadingFallbackIsoCode639_1;
+  private final long maxModelBytes;
+  private final int maxModelNGrams;
+  private final int maxNGramLength;
+  private final ModelParameters modelParameters;
+  private final int profileLoadingParallelism;
+  private final int adaptiveCutOverChars;
+  private final LanguageDetectionSettings shortTextSettings;
+  private final boolean offHeapModel;
+  private final int hashedModelBuckets;
+
+  private LanguageDetectionSettings(
+      final Builder builder, final LanguageDetectionSettings shortTextSettings) {
     this.profile = builder.profile;
+    this.profilesDirectory = builder.profilesDirectory;
     this.maxTextChars = builder.maxTextChars;
     this.isoCodes639_1 = builder.isoCodes639_1;
     this.sanitizeForSearchThreshold = builder.sanitizeForSearchThreshold;
@@ -39,12 +79,33 @@ public class LanguageDetectionSettings {
     this.classifyChineseAsJapaneseThreshold = builder.classifyChineseAsJapaneseThreshold;
     this.certaintyThreshold = builder.certaintyThreshold;
     this.fallbackIsoCode639_1 = builder.fallbackIsoCode639_1;
+    this.metrics = builder.metrics;
+    this.modelLoadingTimeout = builder.modelLoadingTimeout;
+    this.modelLoadingFallbackIsoCode639_1 = builder.modelLoadingFallbackIsoCode639_1;
+    this.maxModelBytes = builder.maxModelBytes;
+    this.maxModelNGrams = builder.maxModelNGrams;
+    this.maxNGramLength = builder.maxNGramLength;
+    this.modelParameters = builder.modelParameters;
+    this.profileLoadingParallelism = builder.profileLoadingParallelism;
+    this.adaptiveCutOverChars = shortTextSettings == null ? 0 : builder.adaptiveCutOverChars;
+    this.shortTextSettings = shortTextSettings;
+    this.offHeapModel = builder.offHeapModel;
+    this.hashedModelBuckets = builder.hashedModelBuckets;
   }
 
   String getProfile() {
     return profile;
   }
 
+  /**
+   * A directory to load the language profiles from, instead of the classpath.
+   *
+   * @return the directory, or null when the profiles are loaded from the classpath
+   */
+  Path getProfilesDirectory() {
+    return profilesDirectory;
+  }
+
   public int getMaxTextChars() {
     return maxTextChars;
   }
@@ -77,6 +138,115 @@ public class LanguageDetectionSettings {
     return fallbackIsoCode639_1;
   }
 
+  LanguageDetectionMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * How long a detection call waits for the language profiles to be loaded.
+   *
+   * @return the timeout, or null when detection calls wait for as long as the loading takes
+   */
+  Duration getModelLoadingTimeout() {
+    return modelLoadingTimeout;
+  }
+
+  /**
+   * The ISO 639-1 code to return when the language profiles have not been loaded within {@link
+   * #getModelLoadingTimeout()}.
+   *
+   * @return the ISO code, or null when the undetermined language should be returned
+   */
+  String getModelLoadingFallbackIsoCode639_1() {
+    return modelLoadingFallbackIsoCode639_1;
+  }
+
+  /**
+   * The estimated size that the loaded model is pruned to, see {@link ModelPruner}.
+   *
+   * @return the budget in bytes, or 0 when the model is not pruned by size
+   */
+  long getMaxModelBytes() {
+    return maxModelBytes;
+  }
+
+  /**
+   * The number of n-grams that the loaded model is pruned to, see {@link ModelPruner}.
+   *
+   * @return the budget in n-grams, or 0 when the model is not pruned by n-gram count
+   */
+  int getMaxModelNGrams() {
+    return maxModelNGrams;
+  }
+
+  /** The length of the longest n-grams that are loaded from the profiles and extracted. */
+  int getMaxNGramLength() {
+    return maxNGramLength;
+  }
+
+  /** The parameters of the n-gram model detection, see {@link LanguageDetectionPreset}. */
+  ModelParameters getModelParameters() {
+    return modelParameters;
+  }
+
+  /** The number of the threads that parse the language profiles when the model is loaded. */
+  int getProfileLoadingParallelism() {
+    return profileLoadingParallelism;
+  }
+
+  /**
+   * The sanitized inputs of up to this many chars are detected by the {@code short-text} profiles,
+   * see {@link Builder#withAdaptiveProfiles(int)}.
+   *
+   * @return the cut-over, or 0 when the inputs are not routed by their length
+   */
+  int getAdaptiveCutOverChars() {
+    return adaptiveCutOverChars;
+  }
+
+  /**
+   * The settings of the {@code short-text} model, which are the current settings with the {@code
+   * short-text} profiles loaded from the classpath, and have their own model key.
+   *
+   * @return the settings, or null when the inputs are not routed by their length
+   */
+  LanguageDetectionSettings getShortTextSettings() {
+    return shortTextSettings;
+  }
+
+  /** Whether the n-gram probabilities of the loaded model are stored outside of the heap. */
+  boolean isOffHeapModel() {
+    return offHeapModel;
+  }
+
+  /**
+   * The number of the buckets that the n-grams of the loaded model are hashed into, see {@link
+   * Builder#withHashedModel(int)}.
+   *
+   * @return the power of two number of the buckets, or 0 when the model keeps the n-grams
+   */
+  int getHashedModelBuckets() {
+    return hashedModelBuckets;
+  }
+
+  /**
+   * The settings that the loaded model depends on. The orchestrators whose settings have the same
+   * model key share a loaded model, see {@link LanguageDetectorFactory}. The {@link
+   * #getModelParameters()} are not a part of it, as they only change how the same model is scored
+   * by the detectors, which are created per settings.
+   */
+  List<Object> getModelKey() {
+    return Arrays.asList(
+        profile,
+        profilesDirectory,
+        isoCodes639_1,
+        maxNGramLength,
+        maxModelBytes,
+        maxModelNGrams,
+        offHeapModel,
+        hashedModelBuckets);
+  }
+
   public static Builder fromAllIsoCodes639_1() {
     final List<String> allIsoCodes639_1 = Arrays.asList(ALL_SUPPORTED_ISO_CODES_639_1.split(COMMA));
     return new Builder(allIsoCodes639_1);
@@ -95,6 +265,7 @@ public class LanguageDetectionSettings {
   public static class Builder {
 
     private String profile;
+    private Path profilesDirectory;
     private int maxTextChars;
     private List<String> isoCodes639_1;
 
@@ -108,10 +279,22 @@ public class LanguageDetectionSettings {
     private double classifyChineseAsJapaneseThreshold;
     private double certaintyThreshold;
     private String fallbackIsoCode639_1;
+    private LanguageDetectionMetrics metrics;
+    private Duration modelLoadingTimeout;
+    private String modelLoadingFallbackIsoCode639_1;
+    private long maxModelBytes;
+    private int maxModelNGrams;
+    private int maxNGramLength;
+    private ModelParameters modelParameters;
+    private int profileLoadingParallelism;
+    private int adaptiveCutOverChars;
+    private boolean offHeapModel;
+    private int hashedModelBuckets;
 
     private Builder(final List<String> isoCodes639_1) {
       this.isoCodes639_1 = List.copyOf(isoCodes639_1);
       this.profile = "merged-average"; // A name of a subdirectory under the resources
+      this.profilesDirectory = null; // Load the profiles from the classpath
       this.maxTextChars = 3000;
       this.sanitizeForSearch = true;
       this.sanitizeForSearchThreshold = 128;
@@ -119,10 +302,22 @@ public class LanguageDetectionSettings {
       this.classifyChineseAsJapaneseThreshold = 0.1;
       this.certaintyThreshold = 0.65;
       this.fallbackIsoCode639_1 = "en";
+      this.metrics = LanguageDetectionMetrics.DISABLED;
+      this.modelLoadingTimeout = null; // Wait for the language profiles to be loaded
+      this.modelLoadingFallbackIsoCode639_1 = null;
+      this.maxModelBytes = 0; // Keep all the n-grams of the profiles
+      this.maxModelNGrams = 0;
+      this.maxNGramLength = NGram.MAX_PACKED_NGRAM_LENGTH;
+      this.modelParameters = ModelParameters.DEFAULT;
+      this.profileLoadingParallelism = Runtime.getRuntime().availableProcessors();
+      this.adaptiveCutOverChars = 0; // Detect all the inputs by the configured profile
+      this.offHeapModel = false;
+      this.hashedModelBuckets = 0; // Keep the n-grams of the profiles
     }
 
     private Builder(final Builder that) {
       this.profile = that.profile;
+      this.profilesDirectory = that.profilesDirectory;
       this.maxTextChars = that.maxTextChars;
       this.isoCodes639_1 = that.isoCodes639_1;
       this.sanitizeForSearch = that.sanitizeForSearch;
@@ -131,6 +326,17 @@ public class LanguageDetectionSettings {
       this.classifyChineseAsJapaneseThreshold = that.classifyChineseAsJapaneseThreshold;
       this.certaintyThreshold = that.certaintyThreshold;
       this.fallbackIsoCode639_1 = that.fallbackIsoCode639_1;
+      this.metrics = that.metrics;
+      this.modelLoadingTimeout = that.modelLoadingTimeout;
+      this.modelLoadingFallbackIsoCode639_1 = that.modelLoadingFallbackIsoCode639_1;
+      this.maxModelBytes = that.maxModelBytes;
+      this.maxModelNGrams = that.maxModelNGrams;
+      this.maxNGramLength = that.maxNGramLength;
+      this.modelParameters = that.modelParameters;
+      this.profileLoadingParallelism = that.profileLoadingParallelism;
+      this.adaptiveCutOverChars = that.adaptiveCutOverChars;
+      this.offHeapModel = that.offHeapModel;
+      this.hashedModelBuckets = that.hashedModelBuckets;
     }
 
     public Builder withProfile(final String profile) {
@@ -138,6 +344,19 @@ public class LanguageDetectionSettings {
       return new Builder(this);
     }
 
+    /**
+     * Loads the language profiles from the given directory, instead of the classpath. The
+     * directory has a profile file per configured ISO code, e.g.: {@code en}, {@code ja}. The
+     * files are memory mapped, so the JVMs on the same host share the profile data in the page
+     * cache, and the profiles can be updated without rebuilding the application. A GZIP
+     * compressed profile file, e.g.: {@code en.gz}, is preferred to the raw one and is decompressed
+     * as a stream instead.
+     */
+    public Builder withProfilesDirectory(final Path profilesDirectory) {
+      this.profilesDirectory = profilesDirectory;
+      return new Builder(this);
+    }
+
     public Builder withMaxTextChars(final int maxTextChars) {
       this.maxTextChars = Math.min(Math.max(1, maxTextChars), MAX_TEXT_CHARS_UPPER_BOUND);
       return new Builder(this);
@@ -160,8 +379,280 @@ public class LanguageDetectionSettings {
       return new Builder(this);
     }
 
+    public Builder withMetrics(final LanguageDetectionMetrics metrics) {
+      this.metrics = metrics == null ? LanguageDetectionMetrics.DISABLED : metrics;
+      return new Builder(this);
+    }
+
+    /**
+     * Limits how long a detection call waits for the language profiles to be loaded in the
+     * background, see {@link LanguageDetectionOrchestrator#preload()}. When the profiles are not
+     * loaded in time, the undetermined language (und) is returned.
+     *
+     * @param timeout {@link Duration#ZERO} to never wait
+     */
+    public Builder withModelLoadingTimeout(final Duration timeout) {
+      return withModelLoadingTimeout(timeout, null);
+    }
+
+    /**
+     * Limits how long a detection call waits for the language profiles to be loaded in the
+     * background, see {@link LanguageDetectionOrchestrator#preload()}. When the profiles are not
+     * loaded in time, the given fallback language is returned.
+     *
+     * @param timeout {@link Duration#ZERO} to never wait
+     * @param fallbackIsoCode639_1 the ISO code to return while the profiles are being loaded
+     */
+    public Builder withModelLoadingTimeout(
+        final Duration timeout, final String fallbackIsoCode639_1) {
+      this.modelLoadingTimeout = timeout.isNegative() ? Duration.ZERO : timeout;
+      this.modelLoadingFallbackIsoCode639_1 = fallbackIsoCode639_1;
+      return new Builder(this);
+    }
+
+    /**
+     * Prunes the n-grams that carry the least signal from the loaded model, until its estimated
+     * size fits the given budget. The n-grams are ranked by their information gain across the
+     * configured languages, see {@link ModelPruner}. The budget covers the rows of the model, on
+     * the heap or, with {@link #withOffHeapModel()}, off the heap, and the entries of its n-grams
+     * in the n-gram dictionary, which are on the heap. It cannot be combined with {@link
+     * #withHashedModel(int)}, whose size is set by its buckets.
+     *
+     * @param maxModelBytes the budget in bytes, 0 to keep all the n-grams
+     */
+    public Builder withMaxModelBytes(final long maxModelBytes) {
+      this.maxModelBytes = Math.max(0, maxModelBytes);
+      return new Builder(this);
+    }
+
+    /**
+     * Prunes the n-grams that carry the least signal from the loaded model, until it has at most
+     * the given number of n-grams, see {@link #withMaxModelBytes(long)}.
+     *
+     * @param maxModelNGrams the budget in n-grams, 0 to keep all the n-grams
+     */
+    public Builder withMaxModelNGrams(final int maxModelNGrams) {
+      this.maxModelNGrams = Math.max(0, maxModelNGrams);
+      return new Builder(this);
+    }
+
+    /**
+     * Limits the length of the n-grams that are loaded from the profiles and extracted from the
+     * inputs, e.g.: 1 or 2 for a smaller and faster, but less accurate, model. The profiles have
+     * n-grams of up to 3 chars.
+     *
+     * @throws IllegalArgumentException when the length is not between 1 and 3
+     */
+    public Builder withMaxNGramLength(final int maxNGramLength) {
+      if (maxNGramLength < NGram.UNI_GRAM_LENGTH
+          || maxNGramLength > NGram.MAX_PACKED_NGRAM_LENGTH) {
+        throw new IllegalArgumentException(
+            "Max n-gram length must be between "
+                + NGram.UNI_GRAM_LENGTH
+                + " and "
+                + NGram.MAX_PACKED_NGRAM_LENGTH
+                + ": "
+                + maxNGramLength);
+      }
+      this.maxNGramLength = maxNGramLength;
+      return new Builder(this);
+    }
+
+    /**
+     * Sets all the parameters of the n-gram model detection to the ones of the preset, replacing
+     * the ones that have been set before, e.g.: {@link LanguageDetectionPreset#FAST} for search
+     * queries and {@link LanguageDetectionPreset#DEFAULT} for indexing.
+     */
+    public Builder withPreset(final LanguageDetectionPreset preset) {
+      this.modelParameters = preset.getModelParameters();
+      return new Builder(this);
+    }
+
+    /**
+     * The number of the random trials, whose language probabilities are averaged. Fewer trials
+     * are faster, but the result varies more with the sampled n-grams.
+     */
+    public Builder withNumberOfTrials(final int numberOfTrials) {
+      final ModelParameters that = this.modelParameters;
+      this.modelParameters =
+          new ModelParameters(
+              numberOfTrials,
+              that.getIterationLimit(),
+              that.getAlpha(),
+              that.getAlphaWidth(),
+              that.getConvThreshold(),
+              that.getProbabilityThreshold());
+      return new Builder(this);
+    }
+
+    /** The maximum number of the n-grams that a single trial samples, unless it converges. */
+    public Builder withIterationLimit(final int iterationLimit) {
+      final ModelParameters that = this.modelParameters;
+      this.modelParameters =
+          new ModelParameters(
+              that.getNumberOfTrials(),
+              iterationLimit,
+              that.getAlpha(),
+              that.getAlphaWidth(),
+              that.getConvThreshold(),
+              that.getProbabilityThreshold());
+      return new Builder(this);
+    }
+
+    /**
+     * A trial stops early, once the probability of its top language is above the threshold, e.g.:
+     * 0.999 converges earlier than the default 0.99999.
+     */
+    public Builder withConvThreshold(final double convThreshold) {
+      final ModelParameters that = this.modelParameters;
+      this.modelParameters =
+          new ModelParameters(
+              that.getNumberOfTrials(),
+              that.getIterationLimit(),
+              that.getAlpha(),
+              that.getAlphaWidth(),
+              convThreshold,
+              that.getProbabilityThreshold());
+      return new Builder(this);
+    }
+
+    /** The mean of the additive smoothing of the n-gram probabilities, 0.5 by default. */
+    public Builder withAlpha(final double alpha) {
+      final ModelParameters that = this.modelParameters;
+      this.modelParameters =
+          new ModelParameters(
+              that.getNumberOfTrials(),
+              that.getIterationLimit(),
+              alpha,
+              that.getAlphaWidth(),
+              that.getConvThreshold(),
+              that.getProbabilityThreshold());
+      return new Builder(this);
+    }
+
+    /** The languages whose probability is at or below the threshold are not returned. */
+    public Builder withProbabilityThreshold(final double probabilityThreshold) {
+      final ModelParameters that = this.modelParameters;
+      this.modelParameters =
+          new ModelParameters(
+              that.getNumberOfTrials(),
+              that.getIterationLimit(),
+              that.getAlpha(),
+              that.getAlphaWidth(),
+              that.getConvThreshold(),
+              probabilityThreshold);
+      return new Builder(this);
+    }
+
+    /**
+     * The number of the threads that parse the language profiles in parallel when the model is
+     * loaded, the number of the available processors by default, or 1 to parse them one after
+     * another on the loading thread. The loaded model is the same either way.
+     */
+    public Builder withProfileLoadingParallelism(final int profileLoadingParallelism) {
+      this.profileLoadingParallelism = Math.max(1, profileLoadingParallelism);
+      return new Builder(this);
+    }
+
+    /**
+     * Keeps the {@code short-text} profiles loaded next to the configured ones, and detects the
+     * sanitized inputs of up to {@link #DEFAULT_ADAPTIVE_CUT_OVER_CHARS} chars by them, see {@link
+     * #withAdaptiveProfiles(int)}.
+     */
+    public Builder withAdaptiveProfiles() {
+      return withAdaptiveProfiles(DEFAULT_ADAPTIVE_CUT_OVER_CHARS);
+    }
+
+    /**
+     * Keeps the {@code short-text} profiles loaded next to the configured ones, e.g.: {@code
+     * merged-average}, and detects every input by one of the two models, by the length of the
+     * sanitized input: the inputs of up to the given number of chars, e.g.: search queries, by the
+     * {@code short-text} profiles, and the longer ones, e.g.: documents, by the configured
+     * profiles. The {@code short-text} profiles are loaded from the classpath, and must have all
+     * the configured languages, otherwise {@link #build()} throws. Does nothing when the configured
+     * profile is {@code short-text}.
+     *
+     * @param cutOverChars the longest input for the {@code short-text} profiles, 0 to detect all
+     *     the inputs by the configured profiles
+     */
+    public Builder withAdaptiveProfiles(final int cutOverChars) {
+      this.adaptiveCutOverChars = Math.max(0, cutOverChars);
+      return new Builder(this);
+    }
+
+    /**
+     * Stores the n-gram probabilities of the loaded model in a direct buffer outside of the heap,
+     * so that the GC neither marks nor copies them, e.g.: on the long running search nodes, whose
+     * old generation cycles would otherwise trace the model for the life of the process. The
+     * direct memory counts towards {@code -XX:MaxDirectMemorySize}, and is released once the model
+     * is replaced, see {@link LanguageDetectionOrchestrator#reload(Path)}, and collected.
+     */
+    public Builder withOffHeapModel() {
+      this.offHeapModel = true;
+      return new Builder(this);
+    }
+
+    /**
+     * Hashes the n-grams of the loaded model into a fixed number of buckets, e.g.: {@link
+     * #DEFAULT_HASHED_MODEL_BUCKETS}, and keeps a row of the language probabilities per bucket,
+     * which adds up the probabilities of the n-grams in the bucket, instead of a row per n-gram.
+     * The n-grams themselves are not kept, neither in the model nor in the shared dictionary, so
+     * the size of the model is capped by the number of the buckets times the number of the
+     * languages, whatever the profiles, e.g.: for the memory constrained deployments. The n-grams
+     * that share a bucket are no longer told apart, which costs some accuracy, the fewer the
+     * buckets the more. A hashed model cannot be exported by the offline tools, e.g.: the {@link
+     * ModelPruner}, as it has no n-grams to export.
+     *
+     * @param buckets the number of the buckets, which is rounded up to a power of two, between
+     *     {@link #MIN_HASHED_MODEL_BUCKETS} and {@link #MAX_HASHED_MODEL_BUCKETS}, or 0 to keep the
+     *     n-grams of the profiles
+     */
+    public Builder withHashedModel(final int buckets) {
+      if (buckets <= 0) {
+        this.hashedModelBuckets = 0;
+      } else {
+        final int capped =
+            Math.min(MAX_HASHED_MODEL_BUCKETS, Math.max(MIN_HASHED_MODEL_BUCKETS, buckets));
+        this.hashedModelBuckets = Integer.highestOneBit(capped - 1) << 1;
+      }
+      return new Builder(this);
+    }
+
+    /**
+     * @throws IllegalArgumentException when the inputs are routed to the {@code short-text}
+     *     profiles by their length, which do not have all the configured languages, see {@link
+     *     #withAdaptiveProfiles(int)}, or when a hashed model has a byte budget, see {@link
+     *     #withMaxModelBytes(long)}
+     */
     public LanguageDetectionSettings build() {
-      return new LanguageDetectionSettings(this);
+      if (this.hashedModelBuckets > 0 && this.maxModelBytes > 0) {
+        throw new IllegalArgumentException(
+            "A hashed model of "
+                + this.hashedModelBuckets
+                + " buckets is sized by its buckets, it cannot be pruned to "
+                + this.maxModelBytes
+                + " bytes");
+      }
+      if (this.adaptiveCutOverChars == 0 || SHORT_TEXT_PROFILE.equals(this.profile)) {
+        return new LanguageDetectionSettings(this, null);
+      }
+      final List<String> uncoveredIsoCodes639_1 =
+          this.isoCodes639_1.stream()
+              .filter(isoCode639_1 -> isoCode639_1 != null && !isoCode639_1.trim().isEmpty())
+              .filter(isoCode639_1 -> !SHORT_TEXT_ISO_CODES_639_1.contains(isoCode639_1))
+              .collect(toList());
+      if (!uncoveredIsoCodes639_1.isEmpty()) {
+        // Otherwise, the short inputs of these languages would be detected as other languages
+        throw new IllegalArgumentException(
+            "The short-text profiles do not have the configured languages "
+                + uncoveredIsoCodes639_1
+                + ", the inputs cannot be routed by their length");
+      }
+      final Builder shortText = new Builder(this);
+      shortText.profile = SHORT_TEXT_PROFILE;
+      shortText.profilesDirectory = null;
+      shortText.adaptiveCutOverChars = 0;
+      return new LanguageDetectionSettings(this, shortText.build());
     }
   }
 }
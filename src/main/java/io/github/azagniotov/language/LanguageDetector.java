@@ -2,6 +2,7 @@ package io.github.azagniotov.language;
 
 import static io.github.azagniotov.language.InputSanitizer.filterOutNonWords;
 
+import io.github.azagniotov.language.LanguageDetectionMetrics.Stage;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -16,9 +17,9 @@ import java.util.Random;
  * #detectAll(String)}. The method {@link #detectAll(String)} provides a list of up to five
  * languages along with their respective probabilities.
  *
- * <p>The detector is equipped with certain parameters for the language detection model that, at
- * present, are fixed. These parameters reflect well-considered defaults that are optimized for the
- * majority of use cases.
+ * <p>The detector is equipped with certain parameters for the language detection model, see {@link
+ * ModelParameters}. The {@link ModelParameters#DEFAULT} parameters reflect well-considered defaults
+ * that are optimized for the majority of use cases.
  *
  * @see LanguageDetectorFactory
  */
@@ -44,12 +45,13 @@ class LanguageDetector {
   // Language codes that don't know the n-gram have the value 0d (zero probability).
   private final List<String> supportedIsoCodes639_1;
 
-  // This contains a mapping of all words from the language profiles (the profiles
-  // which correspond to the configured ISO 639-1 code for detection), along with
-  // their associated probabilities. These probabilities are calculated as the ratio
-  // between the word's frequency and the frequency of its N-grams.
-  private final Map<String, double[]> languageCorporaProbabilities;
+  // This contains all the n-grams of the language profiles (the profiles which correspond
+  // to the configured ISO 639-1 code for detection), along with their associated
+  // probabilities, by the n-gram IDs of the shared dictionary. These probabilities are
+  // calculated as the ratio between the word's frequency and the frequency of its N-grams.
+  private final NGramModel nGramModel;
   private final int maxNGramLength;
+  private final LanguageDetectionMetrics metrics;
 
   private final int baseFreq;
   private final int numberOfTrials;
@@ -59,21 +61,68 @@ class LanguageDetector {
   private final double probabilityThreshold;
   private final double convThreshold;
 
+  // The number of the scoring iterations performed by the most recent call to
+  // detectAll(String), summed over all the trials. This is a diagnostic value
+  // only, see DetectionEvent, the detector instances are not shared between
+  // detection calls.
+  private int iterations;
+
   LanguageDetector(
       final List<String> supportedIsoCodes639_1,
       final Map<String, double[]> languageCorporaProbabilities,
       final int maxNGramLength) {
+    this(
+        supportedIsoCodes639_1,
+        languageCorporaProbabilities,
+        maxNGramLength,
+        LanguageDetectionMetrics.DISABLED);
+  }
+
+  LanguageDetector(
+      final List<String> supportedIsoCodes639_1,
+      final Map<String, double[]> languageCorporaProbabilities,
+      final int maxNGramLength,
+      final LanguageDetectionMetrics metrics) {
+    this(
+        supportedIsoCodes639_1,
+        languageCorporaProbabilities,
+        maxNGramLength,
+        ModelParameters.DEFAULT,
+        metrics);
+  }
+
+  LanguageDetector(
+      final List<String> supportedIsoCodes639_1,
+      final Map<String, double[]> languageCorporaProbabilities,
+      final int maxNGramLength,
+      final ModelParameters modelParameters,
+      final LanguageDetectionMetrics metrics) {
+    this(
+        supportedIsoCodes639_1,
+        NGramModel.compile(languageCorporaProbabilities),
+        maxNGramLength,
+        modelParameters,
+        metrics);
+  }
+
+  LanguageDetector(
+      final List<String> supportedIsoCodes639_1,
+      final NGramModel nGramModel,
+      final int maxNGramLength,
+      final ModelParameters modelParameters,
+      final LanguageDetectionMetrics metrics) {
     this.supportedIsoCodes639_1 = supportedIsoCodes639_1;
-    this.languageCorporaProbabilities = languageCorporaProbabilities;
+    this.nGramModel = nGramModel;
     this.maxNGramLength = maxNGramLength;
+    this.metrics = metrics;
 
     this.baseFreq = 10000;
-    this.iterationLimit = 10000;
-    this.numberOfTrials = 7;
-    this.alpha = 0.5;
-    this.alphaWidth = 0.05;
-    this.probabilityThreshold = 0.1;
-    this.convThreshold = 0.99999;
+    this.iterationLimit = modelParameters.getIterationLimit();
+    this.numberOfTrials = modelParameters.getNumberOfTrials();
+    this.alpha = modelParameters.getAlpha();
+    this.alphaWidth = modelParameters.getAlphaWidth();
+    this.probabilityThreshold = modelParameters.getProbabilityThreshold();
+    this.convThreshold = modelParameters.getConvThreshold();
   }
 
   /**
@@ -83,6 +132,7 @@ class LanguageDetector {
    *     probabilities descendently
    */
   List<Language> detectAll(final String text) {
+    final long extractionStartNanos = metrics.startNanos();
     // To filter based on "\\P{IsWord}" is the original filtering check by the original author
     // Do not .trim() the input nor the result, otherwise accuracy unit tests will fail
     final String sanitizedInput = filterOutNonWords(text);
@@ -90,17 +140,31 @@ class LanguageDetector {
     // Do not .trim() the input nor the result, otherwise accuracy unit tests will fail
     final String normalizedText = NGram.normalizeVietnamese(sanitizedInput);
 
-    final double[] probabilities = detectBlock(normalizedText);
+    final int[] extractedNGramIds =
+        this.nGramModel.extract(new NGram(normalizedText, this.maxNGramLength));
+    metrics.recordLatency(Stage.NGRAM_EXTRACTION, extractionStartNanos);
+
+    return detectAll(extractedNGramIds);
+  }
+
+  /**
+   * The same as {@link #detectAll(String)}, for the n-gram IDs which have been extracted from the
+   * input once, e.g.: for all the models that share the {@link NGramDictionary}. The IDs of the
+   * n-grams that the model of this detector does not have are skipped.
+   */
+  List<Language> detectAll(final int[] extractedNGramIds) {
+    final long scoringStartNanos = metrics.startNanos();
+    final double[] probabilities = detectBlock(this.nGramModel.retainKnown(extractedNGramIds));
     final List<Language> languages = sortProbability(probabilities);
+    metrics.recordLatency(Stage.SCORING, scoringStartNanos);
 
     return languages.subList(0, Math.min(languages.size(), MAX_DETECTED_CLASSES));
   }
 
-  private double[] detectBlock(final String input) {
-    final List<String> extractedNGrams = extractNGrams(input);
-
+  private double[] detectBlock(final int[] extractedNGramIds) {
+    this.iterations = 0;
     final double[] languageProbabilities = new double[supportedIsoCodes639_1.size()];
-    if (extractedNGrams.isEmpty()) {
+    if (extractedNGramIds.length == 0) {
       return languageProbabilities;
     }
 
@@ -112,9 +176,10 @@ class LanguageDetector {
       double alphaSmoothing = this.alpha + random.nextGaussian() * alphaWidth;
 
       for (int i = 0; i <= iterationLimit; ++i) {
-        final int randomIdx = random.nextInt(extractedNGrams.size());
-        final String nGram = extractedNGrams.get(randomIdx);
-        updateLangProb(probabilities, nGram, alphaSmoothing);
+        final int randomIdx = random.nextInt(extractedNGramIds.length);
+        final int row = this.nGramModel.row(extractedNGramIds[randomIdx]);
+        updateLangProb(probabilities, row, alphaSmoothing);
+        ++this.iterations;
 
         if (i % 5 == 0 && normalizeProb(probabilities) > convThreshold) {
           break;
@@ -128,6 +193,10 @@ class LanguageDetector {
     return languageProbabilities;
   }
 
+  int getIterations() {
+    return iterations;
+  }
+
   /**
    * Initialize an array of language probabilities.
    *
@@ -147,23 +216,24 @@ class LanguageDetector {
    */
   List<String> extractNGrams(final String input) {
     final NGram ngram = new NGram(input, this.maxNGramLength);
+    final int[] extractedNGramIds =
+        this.nGramModel.retainKnown(this.nGramModel.extract(ngram));
 
-    return ngram.extractNGrams(languageCorporaProbabilities.keySet());
+    final List<String> extractedNGrams = new ArrayList<>(extractedNGramIds.length);
+    for (final int id : extractedNGramIds) {
+      extractedNGrams.add(this.nGramModel.nGram(id));
+    }
+    return extractedNGrams;
   }
 
   /**
-   * Update language probabilities with N-gram string(N=1,2,3)
+   * Update language probabilities with the probabilities of an N-gram (N=1,2,3)
    *
-   * @param word N-gram string
+   * @param row the row of the language probabilities of the N-gram in the model
    */
-  private void updateLangProb(final double[] prob, final String word, final double alpha) {
-    if (languageCorporaProbabilities.containsKey(word)) {
-      double[] wordProbabilities = languageCorporaProbabilities.get(word);
-      double weight = alpha / baseFreq;
-      for (int i = 0; i < prob.length; ++i) {
-        prob[i] *= weight + wordProbabilities[i];
-      }
-    }
+  private void updateLangProb(final double[] prob, final int row, final double alpha) {
+    double weight = alpha / baseFreq;
+    this.nGramModel.multiplyByRow(prob, row, weight);
   }
 
   /**
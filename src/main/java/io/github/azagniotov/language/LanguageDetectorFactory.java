@@ -6,11 +6,21 @@ import static io.github.azagniotov.language.StringConstants.EMPTY_STRING;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Language Detector Factory Class
@@ -26,18 +36,47 @@ import java.util.Map;
  *
  * <p>3. A mapping between N-Gram words and probabilities is getting computed.
  *
- * <p>4. The created language detector factory singleton instance is then cached (via double-checked
- * locking pattern)
+ * <p>4. The created language detector factory instance is then cached per model key, see {@link
+ * LanguageDetectionSettings#getModelKey()}, i.e.: the settings with the same languages and profiles
+ * share the instance. The loading happens on a background thread (see {@link ModelLoader}), so that
+ * the callers can either wait for it, or not wait at all, see {@link
+ * LanguageDetectionSettings#getModelLoadingTimeout()}
  *
  * <p>5. The {@link LanguageDetector} instance is created with the computed N-Gram words and
- * probabilities mapping and configured language codes (ISO 639-1 codes)
+ * probabilities mapping, configured language codes (ISO 639-1 codes) and the model parameters of
+ * the settings, see {@link LanguageDetectionPreset}
  *
  * @see LanguageDetector
  * @see LanguageDetectionSettings
  */
 class LanguageDetectorFactory {
 
-  private static volatile LanguageDetectorFactory instance;
+  // The suffix of a GZIP compressed profile, which is preferred to the raw profile of the same
+  // language, e.g.: merged-average/en.gz over merged-average/en
+  static final String COMPRESSED_PROFILE_SUFFIX = ".gz";
+
+  // The artifacts of the language profiles, e.g.: language-detection-profile-merged-average-en,
+  // where the profiles directly under the langdetect resource directory are the default set
+  private static final String PROFILE_ARTIFACT_PREFIX = "language-detection-profile-";
+  private static final String DEFAULT_PROFILE_SET = "default";
+
+  private static final int DECOMPRESSION_BUFFER_SIZE = 64 * 1024;
+
+  // The most model keys that have a cached loader, the least recently used one is evicted beyond
+  // that. The orchestrators which have been created from an evicted loader keep using it, while the
+  // new ones load the model again
+  static final int MAX_MODEL_LOADERS = 8;
+
+  // A loader per model key, so that e.g.: a query path and an indexing path with different
+  // languages do not share a model, while the ones with the same languages do. The loaders are
+  // only looked up when an orchestrator is created, never per detection, so a lock is enough
+  private static final Map<List<Object>, ModelLoader> MODEL_LOADERS =
+      new LinkedHashMap<>(MAX_MODEL_LOADERS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<List<Object>, ModelLoader> eldest) {
+          return size() > MAX_MODEL_LOADERS;
+        }
+      };
 
   private final LanguageDetectionSettings languageDetectionSettings;
 
@@ -55,32 +94,107 @@ class LanguageDetectorFactory {
   // which correspond to the configured ISO 639-1 code for detection), along with
   // their associated probabilities. These probabilities are calculated as the ratio
   // between the word's frequency and the frequency of its N-grams.
-  private final Map<String, double[]> languageCorporaProbabilities;
+  //
+  // The mapping is only filled while the profiles are added, after which it is compiled
+  // into the nGramModel, over the n-gram IDs of the nGramDictionary, and cleared. The n-grams
+  // are kept in the order of the profiles, which is the order that they are interned in, so
+  // that the n-grams which are next to each other in the profiles, e.g.: the hottest ones of a
+  // specialized profile, get adjacent IDs, i.e.: adjacent rows of the model.
+  private Map<String, double[]> languageCorporaProbabilities;
+  private NGramModel nGramModel;
+  private final NGramDictionary nGramDictionary;
   private final int maxNGramLength;
 
+  // When set, the language profiles are loaded from this directory instead
+  // of the classpath, where each profile file is named after its ISO code
+  private final Path profilesDirectory;
+
   LanguageDetectorFactory(final LanguageDetectionSettings languageDetectionSettings) {
+    this(languageDetectionSettings, languageDetectionSettings.getProfilesDirectory());
+  }
+
+  LanguageDetectorFactory(
+      final LanguageDetectionSettings languageDetectionSettings, final Path profilesDirectory) {
+    this(languageDetectionSettings, profilesDirectory, NGramDictionary.SHARED);
+  }
+
+  LanguageDetectorFactory(
+      final LanguageDetectionSettings languageDetectionSettings,
+      final Path profilesDirectory,
+      final NGramDictionary nGramDictionary) {
     this.languageDetectionSettings = languageDetectionSettings;
+    this.profilesDirectory = profilesDirectory;
+    this.nGramDictionary = nGramDictionary;
     this.supportedIsoCodes639_1 = new LinkedList<>();
-    this.languageCorporaProbabilities = new HashMap<>();
-
-    // TODO: Will come from the settings
-    this.maxNGramLength = 3;
+    this.languageCorporaProbabilities = new LinkedHashMap<>();
+    this.maxNGramLength = languageDetectionSettings.getMaxNGramLength();
 
     addProfiles();
+
+    final ModelPruner modelPruner =
+        new ModelPruner(
+            languageDetectionSettings.getMaxModelBytes(),
+            languageDetectionSettings.getMaxModelNGrams(),
+            languageDetectionSettings.isOffHeapModel());
+    if (!modelPruner.isUnlimited()) {
+      modelPruner.prune(this.languageCorporaProbabilities);
+    }
+    compile();
+  }
+
+  private void compile() {
+    final int hashedModelBuckets = this.languageDetectionSettings.getHashedModelBuckets();
+    this.nGramModel =
+        hashedModelBuckets == 0
+            ? NGramModel.compile(
+                this.nGramDictionary,
+                this.languageCorporaProbabilities,
+                this.languageDetectionSettings.isOffHeapModel())
+            : NGramModel.compileHashed(
+                this.languageCorporaProbabilities,
+                hashedModelBuckets,
+                this.languageDetectionSettings.isOffHeapModel());
+    this.languageCorporaProbabilities = new LinkedHashMap<>();
   }
 
   List<String> getSupportedIsoCodes639_1() {
     return supportedIsoCodes639_1;
   }
 
+  /**
+   * The n-gram probabilities keyed by the n-grams, which are created from the {@link
+   * #getNGramModel()} on every call, e.g.: for the offline tools. Every call allocates a map entry
+   * and a String per n-gram of the model, so the callers keep the map, and the detection never
+   * calls it, see {@link NGramModel#toMap()}.
+   *
+   * @throws UnsupportedOperationException when the model is hashed, see {@link
+   *     LanguageDetectionSettings.Builder#withHashedModel(int)}
+   */
   Map<String, double[]> getLanguageCorporaProbabilities() {
-    return languageCorporaProbabilities;
+    return getNGramModel().toMap();
+  }
+
+  NGramModel getNGramModel() {
+    // The profiles that have been added after the factory was created, e.g.: by the tests
+    if (!this.languageCorporaProbabilities.isEmpty()) {
+      compile();
+    }
+    return nGramModel;
   }
 
   public int getMaxNGramLength() {
     return maxNGramLength;
   }
 
+  /** Where the language profiles have been loaded from, e.g.: for the {@link ModelStatus}. */
+  String getProfilesSource() {
+    if (this.profilesDirectory != null) {
+      return this.profilesDirectory.toString();
+    }
+    final String profile = this.languageDetectionSettings.getProfile();
+    return "classpath:/langdetect" + (profile == null ? EMPTY_STRING : "/" + profile);
+  }
+
   /**
    * This method retrieves JSON language corpus profiles from the resourcse directory, using the ISO
    * 639-1 language codes specified by the user.
@@ -90,31 +204,160 @@ class LanguageDetectorFactory {
    * to the total N-Grams counts within the language corpus.
    *
    * <p>Since this operation is computationally intensive, it must be executed once prior to
-   * performing language detection.
+   * performing language detection. The profiles are parsed, and their probabilities are written, in
+   * parallel, see {@link LanguageDetectionSettings#getProfileLoadingParallelism()}.
    */
   private void addProfiles() {
-    final List<String> supportedIsoCodes = this.languageDetectionSettings.getIsoCodes639_1();
-    final List<LanguageProfile> allLoadedProfiles = new ArrayList<>(supportedIsoCodes.size());
-    for (final String isoCode639_1 : supportedIsoCodes) {
-      if (isoCode639_1 == null || isoCode639_1.trim().isEmpty()) {
-        continue;
+    final String profile = this.languageDetectionSettings.getProfile();
+    final List<String> isoCodes639_1 = new ArrayList<>();
+    for (final String isoCode639_1 : this.languageDetectionSettings.getIsoCodes639_1()) {
+      if (isoCode639_1 != null && !isoCode639_1.trim().isEmpty()) {
+        isoCodes639_1.add(isoCode639_1);
+      }
+    }
+    final int parallelism =
+        Math.min(
+            this.languageDetectionSettings.getProfileLoadingParallelism(), isoCodes639_1.size());
+    if (parallelism <= 1) {
+      final List<LanguageProfile> allLoadedProfiles = new ArrayList<>(isoCodes639_1.size());
+      for (final String isoCode639_1 : isoCodes639_1) {
+        allLoadedProfiles.add(loadProfile(profile, isoCode639_1));
+      }
+      for (int idx = 0; idx < allLoadedProfiles.size(); idx++) {
+        addProfile(allLoadedProfiles.get(idx), idx, allLoadedProfiles.size());
+      }
+      return;
+    }
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(parallelism, LanguageDetectorFactory::newProfileLoaderThread);
+    try {
+      // The profiles are parsed in parallel, but are collected in the configured order, so
+      // that the languages have the same columns as when they are loaded one after another
+      final List<Future<LanguageProfile>> loading = new ArrayList<>(isoCodes639_1.size());
+      for (final String isoCode639_1 : isoCodes639_1) {
+        loading.add(executor.submit(() -> loadProfile(profile, isoCode639_1)));
+      }
+      final List<LanguageProfile> allLoadedProfiles = new ArrayList<>(isoCodes639_1.size());
+      for (final Future<LanguageProfile> languageProfile : loading) {
+        allLoadedProfiles.add(await(languageProfile));
+      }
+
+      // The n-gram rows are created by this thread only, after which every profile writes its
+      // own column of the rows in parallel, i.e.: the writers never write the same array slot
+      for (final LanguageProfile languageProfile : allLoadedProfiles) {
+        addRows(languageProfile, allLoadedProfiles.size());
+      }
+      final List<Future<?>> writing = new ArrayList<>(allLoadedProfiles.size());
+      for (int idx = 0; idx < allLoadedProfiles.size(); idx++) {
+        final LanguageProfile languageProfile = allLoadedProfiles.get(idx);
+        final int index = idx;
+        writing.add(executor.submit(() -> writeColumn(languageProfile, index)));
       }
-      final String profile = this.languageDetectionSettings.getProfile();
-      final String languageResourcePath =
-          "/langdetect/" + (profile == null ? EMPTY_STRING : profile + "/") + isoCode639_1;
-      final InputStream in = getClass().getResourceAsStream(languageResourcePath);
-      if (in == null) {
-        throw new UncheckedIOException(
-            new IOException("Could not load language profile from: " + languageResourcePath));
+      for (final Future<?> column : writing) {
+        await(column);
       }
-      allLoadedProfiles.add(LanguageProfile.fromJson(in));
+    } finally {
+      executor.shutdownNow();
     }
-    for (int idx = 0; idx < allLoadedProfiles.size(); idx++) {
-      addProfile(allLoadedProfiles.get(idx), idx, allLoadedProfiles.size());
+  }
+
+  private LanguageProfile loadProfile(final String profile, final String isoCode639_1) {
+    final ProfileLoadEvent event = new ProfileLoadEvent();
+    final LanguageProfile languageProfile;
+    try (final InputStream in = openProfile(profile, isoCode639_1)) {
+      event.begin();
+      languageProfile = LanguageProfile.fromJson(in);
+      event.end();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (event.shouldCommit()) {
+      event.profile = profile;
+      event.isoCode639_1 = isoCode639_1;
+      event.nGramCount = languageProfile.getWordFrequencies().size();
+      event.commit();
+    }
+    return languageProfile;
+  }
+
+  private InputStream openProfile(final String profile, final String isoCode639_1)
+      throws IOException {
+    if (this.profilesDirectory != null) {
+      return openProfileFile(this.profilesDirectory, isoCode639_1);
+    }
+
+    final String languageResourcePath =
+        "/langdetect/" + (profile == null ? EMPTY_STRING : profile + "/") + isoCode639_1;
+    // The packaged profiles are compressed, the raw ones are the source tree and the test runs
+    final InputStream compressed =
+        getClass().getResourceAsStream(languageResourcePath + COMPRESSED_PROFILE_SUFFIX);
+    if (compressed != null) {
+      return decompress(compressed);
+    }
+    final InputStream in = getClass().getResourceAsStream(languageResourcePath);
+    if (in == null) {
+      // The core jar has no language profiles, they are shipped as separate artifacts
+      throw new IOException(
+          "Could not load language profile from: "
+              + languageResourcePath
+              + ", is the "
+              + PROFILE_ARTIFACT_PREFIX
+              + (profile == null || profile.isEmpty() ? DEFAULT_PROFILE_SET : profile)
+              + "-"
+              + isoCode639_1
+              + " artifact on the classpath?");
+    }
+    return in;
+  }
+
+  /**
+   * Opens the language profile file of the given language, preferring the compressed one, e.g.:
+   * {@code en.gz} over {@code en}. Every reader of a profiles directory, i.e.: the model loading
+   * and the offline tools, opens the profiles through here, so that they all read the same file.
+   */
+  static InputStream openProfileFile(final Path profilesDirectory, final String isoCode639_1)
+      throws IOException {
+    final Path compressedProfilePath =
+        profilesDirectory.resolve(isoCode639_1 + COMPRESSED_PROFILE_SUFFIX);
+    if (Files.isRegularFile(compressedProfilePath)) {
+      return decompress(Files.newInputStream(compressedProfilePath));
+    }
+    final Path languageProfilePath = profilesDirectory.resolve(isoCode639_1);
+    // Memory mapping the file, instead of reading it through a stream, lets the JSON parser
+    // read the profile straight from the OS page cache, which is shared by all the JVMs on the
+    // host that load the same profiles. The mapping outlives the closed channel.
+    try (final FileChannel channel =
+        FileChannel.open(languageProfilePath, StandardOpenOption.READ)) {
+      return new ByteBufferInputStream(
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (final NoSuchFileException e) {
+      throw new IOException("Could not load language profile from: " + languageProfilePath, e);
+    }
+  }
+
+  /**
+   * Streams the decompressed profile straight into the JSON parser, so that the raw profile is
+   * never held in memory as a whole. The profile keys are repetitive, so GZIP shrinks the profiles
+   * about 2.5x, which is less to read from the disk or the jar at the startup.
+   */
+  private static InputStream decompress(final InputStream compressed) throws IOException {
+    try {
+      return new GZIPInputStream(compressed, DECOMPRESSION_BUFFER_SIZE);
+    } catch (final IOException e) {
+      compressed.close();
+      throw e;
     }
   }
 
   void addProfile(final LanguageProfile profile, final int index, final int totalProfiles) {
+    addRows(profile, totalProfiles);
+    writeColumn(profile, index);
+  }
+
+  // Registers the language of the profile, and adds a row for each of its n-grams
+  // which is not in the model yet
+  private void addRows(final LanguageProfile profile, final int totalProfiles) {
     final String languageCode = profile.getIsoCode639_1();
     if (this.supportedIsoCodes639_1.contains(languageCode)) {
       throw new UncheckedIOException(
@@ -122,14 +365,23 @@ class LanguageDetectorFactory {
     }
     this.supportedIsoCodes639_1.add(languageCode);
     for (final String word : profile.getWordFrequencies().keySet()) {
-
-      if (!this.languageCorporaProbabilities.containsKey(word)) {
-        this.languageCorporaProbabilities.put(word, new double[totalProfiles]);
+      final int length = word.length();
+      // The longer n-grams are never extracted from the inputs, so they are not loaded at all
+      if (length >= UNI_GRAM_LENGTH && length <= this.maxNGramLength) {
+        if (!this.languageCorporaProbabilities.containsKey(word)) {
+          this.languageCorporaProbabilities.put(word, new double[totalProfiles]);
+        }
       }
+    }
+  }
 
+  // Writes the probabilities of the n-grams of the profile to its column of the rows
+  private void writeColumn(final LanguageProfile profile, final int index) {
+    for (final Map.Entry<String, Long> entry : profile.getWordFrequencies().entrySet()) {
+      final String word = entry.getKey();
       final int length = word.length();
       if (length >= UNI_GRAM_LENGTH && length <= this.maxNGramLength) {
-        final long wordFrequency = profile.getWordFrequencies().get(word);
+        final long wordFrequency = entry.getValue();
 
         // e.g.: "n_words":[260942223,308553243,224934017]
         final double nGramCount = profile.getNGramCounts().get(length - 1);
@@ -140,18 +392,65 @@ class LanguageDetectorFactory {
     }
   }
 
+  LanguageDetector newDetector(final LanguageDetectionMetrics metrics) {
+    return newDetector(metrics, this.languageDetectionSettings.getModelParameters());
+  }
+
+  LanguageDetector newDetector(
+      final LanguageDetectionMetrics metrics, final ModelParameters modelParameters) {
+    return new LanguageDetector(
+        getSupportedIsoCodes639_1(),
+        getNGramModel(),
+        getMaxNGramLength(),
+        modelParameters,
+        metrics);
+  }
+
+  static ModelLoader modelLoader(final LanguageDetectionSettings languageDetectionSettings) {
+    synchronized (MODEL_LOADERS) {
+      return MODEL_LOADERS.computeIfAbsent(
+          languageDetectionSettings.getModelKey(),
+          modelKey -> new ModelLoader(LanguageDetectorFactory::startLoaderThread));
+    }
+  }
+
   public static LanguageDetector detector(
       final LanguageDetectionSettings languageDetectionSettings) {
-    if (instance == null) {
-      synchronized (LanguageDetectorFactory.class) {
-        if (instance == null) {
-          instance = new LanguageDetectorFactory(languageDetectionSettings);
-        }
+    return modelLoader(languageDetectionSettings)
+        .await(languageDetectionSettings)
+        .newDetector(
+            languageDetectionSettings.getMetrics(),
+            languageDetectionSettings.getModelParameters());
+  }
+
+  private static <T> T await(final Future<T> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading the language profiles", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
       }
+      throw new IllegalStateException("Could not load the language profiles", cause);
     }
-    return new LanguageDetector(
-        instance.getSupportedIsoCodes639_1(),
-        instance.getLanguageCorporaProbabilities(),
-        instance.getMaxNGramLength());
+  }
+
+  private static Thread newProfileLoaderThread(final Runnable parsing) {
+    final Thread thread = new Thread(parsing, "language-detector-profile-loader");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  // A model is loaded once per class loader and model key, therefore a dedicated daemon
+  // thread is started for it instead of keeping an idle executor around
+  private static void startLoaderThread(final Runnable loading) {
+    final Thread thread = new Thread(loading, "language-detector-model-loader");
+    thread.setDaemon(true);
+    thread.start();
   }
 }
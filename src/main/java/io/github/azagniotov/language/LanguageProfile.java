@@ -15,8 +15,8 @@ import com.google.gson.JsonSerializer;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,6 +48,16 @@ class LanguageProfile {
     this.nWords = nWords;
   }
 
+  /** Create a language profile from the n-gram counts of a training pipeline. */
+  LanguageProfile(
+      final String isoCode639_1,
+      final Map<String, Long> freq,
+      final List<Double> nWords,
+      final int maxNGramLength) {
+    this(isoCode639_1, freq, nWords);
+    this.maxNGramLength = maxNGramLength;
+  }
+
   /** Create a language profile from a JSON input stream. */
   static LanguageProfile fromJson(final InputStream languageProfile) {
     return GSON.fromJson(new InputStreamReader(languageProfile), LanguageProfile.class);
@@ -113,13 +123,27 @@ class LanguageProfile {
 
   /** Eliminate below less frequency n-grams and noisy Latin alphabets */
   public void omitLessFreq() {
+    omitLessFreq(lessFreqThreshold(nWords.get(0)));
+  }
+
+  /**
+   * The frequency at or below which n-grams are omitted, given the total count of the uni-grams
+   * before any n-grams are omitted.
+   */
+  static double lessFreqThreshold(final double uniGramCount) {
+    final double threshold = uniGramCount / LESS_FREQ_RATIO;
+    return Math.max(threshold, MINIMUM_FREQ);
+  }
+
+  /**
+   * Eliminate n-grams at or below the given frequency and noisy Latin alphabets, e.g.: when the
+   * profile has been built from pre-filtered counts, and the threshold has been computed from the
+   * totals of all the n-grams.
+   */
+  void omitLessFreq(final double threshold) {
     if (this.isoCode639_1 == null || this.isoCode639_1.trim().isEmpty()) {
       return; // Illegal
     }
-    double threshold = nWords.get(0) / LESS_FREQ_RATIO;
-    if (threshold < MINIMUM_FREQ) {
-      threshold = MINIMUM_FREQ;
-    }
 
     final Set<String> keys = freq.keySet();
     double roman = 0;
@@ -161,8 +185,9 @@ class LanguageProfile {
       final String name = jsonObject.get("name").getAsString();
       final List<Double> nWords = context.deserialize(jsonObject.get("n_words"), List.class);
 
-      // Manually handle duplicate keys in the "freq" map
-      final Map<String, Long> freq = new HashMap<>();
+      // Manually handle duplicate keys in the "freq" map. The n-grams are kept in the order
+      // of the file, e.g.: hottest first in a profile specialized by the TrafficProfiler
+      final Map<String, Long> freq = new LinkedHashMap<>();
       JsonObject freqJson = jsonObject.getAsJsonObject("freq");
 
       for (Map.Entry<String, JsonElement> entry : freqJson.entrySet()) {
@@ -0,0 +1,122 @@
+package io.github.azagniotov.language;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, log-linear histogram of latencies recorded in nanoseconds.
+ *
+ * <p>Every power-of-two range of values (an octave) is split into {@link #SUB_BUCKETS} linear
+ * sub-buckets, which bounds the relative error of a recorded value to 1 / {@link #SUB_BUCKETS},
+ * while keeping the number of buckets small and independent of the number of recorded values.
+ *
+ * <p>Recording a value is a single {@link AtomicLongArray#getAndIncrement(int)} on the bucket
+ * counter, plus an increment of the striped {@link LongAdder} that keeps the sum of all values. No
+ * locks are taken, therefore the histogram can be shared by all detection threads.
+ */
+class LatencyHistogram {
+
+  // 2^2 = 4 linear sub-buckets in every octave, i.e.: up to 25% of a relative error
+  private static final int SUB_BUCKET_BITS = 2;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  // 2^38 nanoseconds is about 4.5 minutes, anything slower than that lands in the last bucket
+  static final int MAX_OCTAVE = 38;
+  static final int BUCKETS = (MAX_OCTAVE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts;
+  private final LongAdder sumNanos;
+
+  LatencyHistogram() {
+    this.counts = new AtomicLongArray(BUCKETS);
+    this.sumNanos = new LongAdder();
+  }
+
+  void record(final long nanos) {
+    final long value = Math.max(0L, nanos);
+    this.counts.getAndIncrement(bucketIndex(value));
+    this.sumNanos.add(value);
+  }
+
+  /**
+   * Takes a point-in-time copy of the bucket counters. The copy is not an atomic snapshot of the
+   * whole histogram, but every bucket counter in it is monotonic.
+   */
+  long[] snapshot() {
+    final long[] snapshot = new long[BUCKETS];
+    for (int idx = 0; idx < BUCKETS; idx++) {
+      snapshot[idx] = this.counts.get(idx);
+    }
+    return snapshot;
+  }
+
+  long getSumNanos() {
+    return this.sumNanos.sum();
+  }
+
+  long getCount() {
+    long count = 0;
+    for (int idx = 0; idx < BUCKETS; idx++) {
+      count += this.counts.get(idx);
+    }
+    return count;
+  }
+
+  /**
+   * Estimates the value at the given percentile.
+   *
+   * @param percentile a value between 0 and 100
+   * @return the upper bound (in nanoseconds) of the bucket that contains the given percentile, or 0
+   *     when nothing has been recorded yet
+   */
+  long getPercentileNanos(final double percentile) {
+    final long[] snapshot = snapshot();
+    long total = 0;
+    for (final long count : snapshot) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0L;
+    }
+
+    final double clamped = Math.min(100.0, Math.max(0.0, percentile));
+    final long rank = Math.max(1L, (long) Math.ceil(total * clamped / 100.0));
+    long seen = 0;
+    for (int idx = 0; idx < BUCKETS; idx++) {
+      seen += snapshot[idx];
+      if (seen >= rank) {
+        return bucketUpperBound(idx);
+      }
+    }
+    return bucketUpperBound(BUCKETS - 1);
+  }
+
+  /**
+   * Values below {@link #SUB_BUCKETS} are stored one per bucket. Any larger value is stored in the
+   * sub-bucket of its octave, where the octave is the position of the highest set bit.
+   */
+  static int bucketIndex(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int highestBit = 63 - Long.numberOfLeadingZeros(value);
+    if (highestBit > MAX_OCTAVE) {
+      return BUCKETS - 1;
+    }
+    final int shift = highestBit - SUB_BUCKET_BITS;
+    final int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /** The exclusive upper bound, in nanoseconds, of the values stored in the given bucket. */
+  static long bucketUpperBound(final int bucketIndex) {
+    if (bucketIndex < SUB_BUCKETS) {
+      return bucketIndex + 1;
+    }
+    final int shift = (bucketIndex / SUB_BUCKETS) - 1;
+    final int subBucket = bucketIndex % SUB_BUCKETS;
+
+    return ((long) (SUB_BUCKETS + subBucket + 1)) << shift;
+  }
+}
@@ -0,0 +1,253 @@
+package io.github.azagniotov.language;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loads the {@link LanguageDetectorFactory} model on a background {@link Executor}, at most once.
+ *
+ * <p>The loading is started either explicitly, e.g.: via {@link
+ * LanguageDetectionOrchestrator#preload()}, or implicitly by the first detection call. In both
+ * cases, the callers do not hold any lock while the language profiles are loaded, instead they wait
+ * on the same {@link CompletableFuture}, which does not pin a carrier thread when waiting from a
+ * virtual thread.
+ *
+ * <p>When the loading fails, the failed future is discarded, so that the next call starts a new
+ * attempt. This is the same behavior as before, when a failed load did not cache the singleton.
+ *
+ * <p>Once loaded, the model can be replaced via {@link #reload(LanguageDetectionSettings, Path)}.
+ * The new model is built and validated in the background, then swapped in with a single write of
+ * the model reference. Detections that are in-flight keep using the {@link LanguageDetector} that
+ * they have created from the previous model, while new detections see the new model.
+ */
+class ModelLoader {
+
+  // The longest timeout that is representable in nanoseconds, about 292 years, the longer
+  // timeouts are waited for the same as this one, i.e.: practically forever
+  private static final Duration MAX_TIMEOUT = Duration.ofNanos(Long.MAX_VALUE);
+
+  private final Executor executor;
+  private final AtomicReference<CompletableFuture<LanguageDetectorFactory>> model;
+  private final AtomicReference<ModelStatus> status;
+
+  // Serializes the background loads, so that the models are swapped in the requested
+  // order. Only the loader threads take the lock, the detection threads never do.
+  private final ReentrantLock loadLock;
+
+  ModelLoader(final Executor executor) {
+    this.executor = executor;
+    this.model = new AtomicReference<>();
+    this.status = new AtomicReference<>(ModelStatus.NOT_LOADED);
+    this.loadLock = new ReentrantLock();
+  }
+
+  /**
+   * Starts loading the model in the background, unless the model is already loaded or is being
+   * loaded by another caller.
+   *
+   * @return the future of the (only) model instance
+   */
+  CompletableFuture<LanguageDetectorFactory> loadAsync(final LanguageDetectionSettings settings) {
+    final CompletableFuture<LanguageDetectorFactory> current = this.model.get();
+    if (current != null) {
+      return current;
+    }
+
+    final CompletableFuture<LanguageDetectorFactory> loading = new CompletableFuture<>();
+    if (!this.model.compareAndSet(null, loading)) {
+      // Another caller has won the race and started the loading
+      return this.model.get();
+    }
+
+    try {
+      this.executor.execute(
+          () -> {
+            this.loadLock.lock();
+            try {
+              final long startNanos = System.nanoTime();
+              final LanguageDetectorFactory loaded = new LanguageDetectorFactory(settings);
+              final Duration loadDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+              // Unless a reload has already replaced the model that is being loaded here
+              if (this.model.get() == loading) {
+                this.status.updateAndGet(
+                    previous ->
+                        previous.loaded(loaded.getProfilesSource(), Instant.now(), loadDuration));
+              }
+              loading.complete(loaded);
+            } catch (final Throwable t) {
+              this.model.compareAndSet(loading, null);
+              loading.completeExceptionally(t);
+            } finally {
+              this.loadLock.unlock();
+            }
+          });
+    } catch (final RuntimeException e) {
+      this.model.compareAndSet(loading, null);
+      loading.completeExceptionally(e);
+    }
+    return loading;
+  }
+
+  /**
+   * Builds a new model from the language profiles in the given directory in the background, and
+   * swaps it in once it has passed the validation. When the reload fails, the current model stays
+   * in place.
+   *
+   * @param profilesDirectory a directory with a language profile file per configured ISO code
+   * @return the status after the swap, or a future completed exceptionally when the reload failed
+   */
+  CompletableFuture<ModelStatus> reload(
+      final LanguageDetectionSettings settings, final Path profilesDirectory) {
+    final CompletableFuture<ModelStatus> reloading = new CompletableFuture<>();
+    try {
+      this.executor.execute(
+          () -> {
+            this.loadLock.lock();
+            try {
+              final long startNanos = System.nanoTime();
+              final LanguageDetectorFactory reloaded =
+                  new LanguageDetectorFactory(settings, profilesDirectory);
+              validate(reloaded, settings);
+              final Duration loadDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+
+              this.model.set(CompletableFuture.completedFuture(reloaded));
+              reloading.complete(
+                  this.status.updateAndGet(
+                      previous ->
+                          previous.loaded(
+                              reloaded.getProfilesSource(), Instant.now(), loadDuration)));
+            } catch (final Throwable t) {
+              this.status.updateAndGet(previous -> previous.failed(t));
+              reloading.completeExceptionally(t);
+            } finally {
+              this.loadLock.unlock();
+            }
+          });
+    } catch (final RuntimeException e) {
+      reloading.completeExceptionally(e);
+    }
+    return reloading;
+  }
+
+  ModelStatus getStatus() {
+    return this.status.get();
+  }
+
+  /** Whether the model has been successfully loaded, i.e.: detection calls will not wait. */
+  boolean isReady() {
+    final CompletableFuture<LanguageDetectorFactory> current = this.model.get();
+    return current != null && current.isDone() && !current.isCompletedExceptionally();
+  }
+
+  /** Waits for the model to be loaded, for as long as it takes. */
+  LanguageDetectorFactory await(final LanguageDetectionSettings settings) {
+    try {
+      return loadAsync(settings).join();
+    } catch (final CompletionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  /**
+   * Waits for the model to be loaded up to the given timeout.
+   *
+   * @param timeout {@link Duration#ZERO} does not wait at all, the timeouts that are too long for
+   *     nanoseconds, e.g.: a number of years, wait for as long as it takes
+   * @return the model, or an empty optional when the model is still being loaded
+   */
+  Optional<LanguageDetectorFactory> await(
+      final LanguageDetectionSettings settings, final Duration timeout) {
+    final CompletableFuture<LanguageDetectorFactory> loading = loadAsync(settings);
+    if (!loading.isDone() && (timeout.isZero() || timeout.isNegative())) {
+      return Optional.empty();
+    }
+    try {
+      final long timeoutNanos =
+          timeout.compareTo(MAX_TIMEOUT) < 0 ? timeout.toNanos() : Long.MAX_VALUE;
+      return Optional.of(loading.get(timeoutNanos, TimeUnit.NANOSECONDS));
+    } catch (final TimeoutException e) {
+      return Optional.empty();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (final ExecutionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the model, waiting for it as long as configured via {@link
+   * LanguageDetectionSettings#getModelLoadingTimeout()}.
+   *
+   * @return the model, or an empty optional when the model was not loaded in time
+   */
+  Optional<LanguageDetectorFactory> model(final LanguageDetectionSettings settings) {
+    final Duration timeout = settings.getModelLoadingTimeout();
+    if (timeout == null) {
+      return Optional.of(await(settings));
+    }
+    return await(settings, timeout);
+  }
+
+  /**
+   * Checks that the model has exactly the configured languages, in the configured order, e.g.: a
+   * profile file that has been renamed to another ISO code is rejected, and that every language
+   * has n-grams with a non-zero probability.
+   */
+  static void validate(
+      final LanguageDetectorFactory model, final LanguageDetectionSettings settings) {
+    final List<String> expectedIsoCodes = new ArrayList<>();
+    for (final String isoCode639_1 : settings.getIsoCodes639_1()) {
+      if (isoCode639_1 != null && !isoCode639_1.trim().isEmpty()) {
+        expectedIsoCodes.add(isoCode639_1);
+      }
+    }
+    if (!expectedIsoCodes.equals(model.getSupportedIsoCodes639_1())) {
+      throw new IllegalStateException(
+          "Loaded language profiles "
+              + model.getSupportedIsoCodes639_1()
+              + " do not match the configured ISO codes "
+              + expectedIsoCodes);
+    }
+
+    final boolean[] hasNGrams = new boolean[expectedIsoCodes.size()];
+    final NGramModel nGramModel = model.getNGramModel();
+    for (int id = 0; id < nGramModel.idLimit(); id++) {
+      final int row = nGramModel.row(id);
+      if (row == NGramModel.NO_ROW) {
+        continue;
+      }
+      for (int idx = 0; idx < hasNGrams.length; idx++) {
+        hasNGrams[idx] |= nGramModel.probability(row, idx) > 0;
+      }
+    }
+    for (int idx = 0; idx < hasNGrams.length; idx++) {
+      if (!hasNGrams[idx]) {
+        throw new IllegalStateException(
+            "Language profile has no n-grams: " + expectedIsoCodes.get(idx));
+      }
+    }
+  }
+
+  private static RuntimeException unwrap(final Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    } else {
+      return new IllegalStateException("Could not load the language profiles", cause);
+    }
+  }
+}
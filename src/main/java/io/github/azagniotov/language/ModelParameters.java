@@ -0,0 +1,127 @@
+package io.github.azagniotov.language;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The parameters of the probabilistic detection of {@link LanguageDetector}, which trade the
+ * accuracy of the detection for its latency:
+ *
+ * <ul>
+ *   <li>{@code numberOfTrials}: the number of the independent random walks over the extracted
+ *       n-grams, whose probabilities are averaged
+ *   <li>{@code iterationLimit}: the maximum number of the n-grams sampled by a single trial
+ *   <li>{@code alpha} and {@code alphaWidth}: the mean and the standard deviation of the additive
+ *       smoothing of the n-gram probabilities, which is drawn once per trial
+ *   <li>{@code convThreshold}: a trial stops early, once the probability of the top language is
+ *       above it
+ *   <li>{@code probabilityThreshold}: the languages whose probability is at or below it are not
+ *       returned
+ * </ul>
+ */
+final class ModelParameters {
+
+  /** The parameters of the original LangDetect, which the accuracy expectations are based on. */
+  static final ModelParameters DEFAULT = new ModelParameters(7, 10000, 0.5, 0.05, 0.99999, 0.1);
+
+  private final int numberOfTrials;
+  private final int iterationLimit;
+  private final double alpha;
+  private final double alphaWidth;
+  private final double convThreshold;
+  private final double probabilityThreshold;
+
+  ModelParameters(
+      final int numberOfTrials,
+      final int iterationLimit,
+      final double alpha,
+      final double alphaWidth,
+      final double convThreshold,
+      final double probabilityThreshold) {
+    if (numberOfTrials < 1) {
+      throw new IllegalArgumentException("Number of trials must be positive: " + numberOfTrials);
+    }
+    if (iterationLimit < 0) {
+      throw new IllegalArgumentException("Iteration limit must not be negative: " + iterationLimit);
+    }
+    if (!(alpha >= 0.0) || !(alphaWidth >= 0.0)) {
+      throw new IllegalArgumentException(
+          "Alpha and alpha width must not be negative: " + alpha + ", " + alphaWidth);
+    }
+    if (!(convThreshold > 0.0 && convThreshold <= 1.0)) {
+      throw new IllegalArgumentException(
+          "Convergence threshold must be in (0, 1]: " + convThreshold);
+    }
+    if (!(probabilityThreshold >= 0.0 && probabilityThreshold < 1.0)) {
+      throw new IllegalArgumentException(
+          "Probability threshold must be in [0, 1): " + probabilityThreshold);
+    }
+    this.numberOfTrials = numberOfTrials;
+    this.iterationLimit = iterationLimit;
+    this.alpha = alpha;
+    this.alphaWidth = alphaWidth;
+    this.convThreshold = convThreshold;
+    this.probabilityThreshold = probabilityThreshold;
+  }
+
+  int getNumberOfTrials() {
+    return numberOfTrials;
+  }
+
+  int getIterationLimit() {
+    return iterationLimit;
+  }
+
+  double getAlpha() {
+    return alpha;
+  }
+
+  double getAlphaWidth() {
+    return alphaWidth;
+  }
+
+  double getConvThreshold() {
+    return convThreshold;
+  }
+
+  double getProbabilityThreshold() {
+    return probabilityThreshold;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof ModelParameters)) {
+      return false;
+    }
+    final ModelParameters that = (ModelParameters) other;
+    return numberOfTrials == that.numberOfTrials
+        && iterationLimit == that.iterationLimit
+        && Double.compare(alpha, that.alpha) == 0
+        && Double.compare(alphaWidth, that.alphaWidth) == 0
+        && Double.compare(convThreshold, that.convThreshold) == 0
+        && Double.compare(probabilityThreshold, that.probabilityThreshold) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        numberOfTrials, iterationLimit, alpha, alphaWidth, convThreshold, probabilityThreshold);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        Locale.US,
+        "numberOfTrials=%d,iterationLimit=%d,alpha=%s,alphaWidth=%s,convThreshold=%s,"
+            + "probabilityThreshold=%s",
+        numberOfTrials,
+        iterationLimit,
+        alpha,
+        alphaWidth,
+        convThreshold,
+        probabilityThreshold);
+  }
+}
@@ -0,0 +1,175 @@
+package io.github.azagniotov.language;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prunes the n-grams that carry the least signal from a loaded model, until the model fits a memory
+ * budget or an n-gram count budget.
+ *
+ * <p>The n-grams are ranked by their information gain, i.e.: by their contribution to the mutual
+ * information between the n-grams and the languages, assuming that all the configured languages are
+ * equally likely. It is the mean probability of the n-gram, times the KL divergence of the language
+ * distribution given the n-gram from the uniform one. An n-gram whose probability is the same in
+ * every language scores zero, however frequent it is, and a rare n-gram scores low, however
+ * specific to a language it is.
+ *
+ * <p>The pruned n-grams are simply unknown to the detector, as if they were never in the profiles.
+ * The probabilities of the kept n-grams are not changed.
+ *
+ * <p>The byte budget is priced by the layout of the compiled {@link NGramModel}: the row of the
+ * n-gram, whether it is an array on the heap or a slice of the direct buffer of an off-heap model,
+ * and the entry of the n-gram in the {@link NGramDictionary}, i.e.: its packed key, its slot of the
+ * perfect hash index, and its node of the {@link NGramAutomaton}. The dictionary entry is counted
+ * in full, even though the models that are resident at the same time share it.
+ *
+ * <p>The pruner is applied when the model is loaded, see {@link
+ * LanguageDetectionSettings.Builder#withMaxModelBytes(long)}, or offline, to compile a pruned
+ * profile set via the {@code ModelPruningTool} of the {@code tools} source set.
+ */
+final class ModelPruner {
+
+  // An approximation of the bytes of an n-gram of the compiled model, with compressed oops. A row
+  // on the heap is a double[] and its reference by the n-gram ID, a row off the heap is a slice of
+  // the direct buffer and its int offset by the n-gram ID.
+  private static final int ARRAY_HEADER_BYTES = 16;
+  private static final int ROW_REFERENCE_BYTES = Integer.BYTES;
+  // The packed n-gram, and its slot of the perfect hash index: the ID, the fingerprint, and a
+  // quarter of a pilot, as a bucket has four n-grams on average
+  private static final int DICTIONARY_BYTES =
+      Long.BYTES + Integer.BYTES + Byte.BYTES + Integer.BYTES / 4;
+  // The automaton node of the n-gram: its packed prefix, its ID, its suffix and output links, and
+  // about three slots of the node index, which is a quarter to a half full
+  private static final int AUTOMATON_NODE_BYTES = Long.BYTES + 6 * Integer.BYTES;
+
+  private final long maxBytes;
+  private final int maxNGrams;
+  private final boolean offHeap;
+
+  /**
+   * @param maxBytes the maximum estimated size of the model, or 0 for no limit
+   * @param maxNGrams the maximum number of n-grams of the model, or 0 for no limit
+   */
+  ModelPruner(final long maxBytes, final int maxNGrams) {
+    this(maxBytes, maxNGrams, false);
+  }
+
+  /**
+   * @param maxBytes the maximum estimated size of the model, or 0 for no limit
+   * @param maxNGrams the maximum number of n-grams of the model, or 0 for no limit
+   * @param offHeap whether the rows of the model are stored off the heap, see {@link
+   *     LanguageDetectionSettings.Builder#withOffHeapModel()}
+   */
+  ModelPruner(final long maxBytes, final int maxNGrams, final boolean offHeap) {
+    if (maxBytes < 0 || maxNGrams < 0) {
+      throw new IllegalArgumentException("Model budget must not be negative");
+    }
+    this.maxBytes = maxBytes;
+    this.maxNGrams = maxNGrams;
+    this.offHeap = offHeap;
+  }
+
+  boolean isUnlimited() {
+    return this.maxBytes == 0 && this.maxNGrams == 0;
+  }
+
+  /**
+   * Removes the n-grams with the lowest information gain from the model, until it fits the budget.
+   *
+   * @return the number of the removed n-grams
+   */
+  int prune(final Map<String, double[]> languageCorporaProbabilities) {
+    final Set<String> retained = retainedNGrams(languageCorporaProbabilities);
+    final int removed = languageCorporaProbabilities.size() - retained.size();
+    languageCorporaProbabilities.keySet().retainAll(retained);
+    return removed;
+  }
+
+  /** The n-grams with the highest information gain that fit into the budget. */
+  Set<String> retainedNGrams(final Map<String, double[]> languageCorporaProbabilities) {
+    if (isUnlimited()) {
+      return new HashSet<>(languageCorporaProbabilities.keySet());
+    }
+    final List<Map.Entry<String, double[]>> ranked =
+        new ArrayList<>(languageCorporaProbabilities.entrySet());
+    final Map<String, Double> scores = new HashMap<>(ranked.size() * 4 / 3 + 1);
+    for (final Map.Entry<String, double[]> entry : ranked) {
+      scores.put(entry.getKey(), informationGain(entry.getValue()));
+    }
+    // The n-gram itself breaks the ties, so that the pruning is deterministic
+    ranked.sort(
+        Comparator.comparing((Map.Entry<String, double[]> entry) -> scores.get(entry.getKey()))
+            .reversed()
+            .thenComparing(Map.Entry::getKey));
+
+    final Set<String> retained = new HashSet<>();
+    long bytes = 0;
+    for (final Map.Entry<String, double[]> entry : ranked) {
+      final long entryBytes = estimatedBytes(entry.getValue().length, this.offHeap);
+      if ((this.maxBytes > 0 && bytes + entryBytes > this.maxBytes)
+          || (this.maxNGrams > 0 && retained.size() == this.maxNGrams)) {
+        break;
+      }
+      bytes += entryBytes;
+      retained.add(entry.getKey());
+    }
+    return retained;
+  }
+
+  /**
+   * The information gain of an n-gram, given its probability in every language, in nats.
+   *
+   * @param probabilities the probability of the n-gram in every language
+   */
+  static double informationGain(final double[] probabilities) {
+    double mean = 0.0;
+    for (final double probability : probabilities) {
+      mean += probability;
+    }
+    mean /= probabilities.length;
+    if (mean == 0.0) {
+      return 0.0;
+    }
+    double informationGain = 0.0;
+    for (final double probability : probabilities) {
+      if (probability > 0.0) {
+        informationGain += probability * Math.log(probability / mean);
+      }
+    }
+    // Never negative, but the rounding errors of a uniform distribution can make it so
+    return Math.max(0.0, informationGain / probabilities.length);
+  }
+
+  /**
+   * The estimated size of the model, with its rows on the heap, see {@link #estimatedBytes(int,
+   * boolean)}.
+   */
+  static long estimatedBytes(final Map<String, double[]> languageCorporaProbabilities) {
+    long bytes = 0;
+    for (final double[] probabilities : languageCorporaProbabilities.values()) {
+      bytes += estimatedBytes(probabilities.length, false);
+    }
+    return bytes;
+  }
+
+  /**
+   * The estimated size of a single n-gram of the compiled model: its row of the probabilities, on
+   * or off the heap, and its entry of the dictionary, which is on the heap.
+   */
+  static long estimatedBytes(final int languages, final boolean offHeap) {
+    final long rowBytes = (long) languages * Double.BYTES;
+    return (offHeap ? rowBytes : align(ARRAY_HEADER_BYTES + rowBytes))
+        + ROW_REFERENCE_BYTES
+        + DICTIONARY_BYTES
+        + AUTOMATON_NODE_BYTES;
+  }
+
+  private static long align(final long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+}
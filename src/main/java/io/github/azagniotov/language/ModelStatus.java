@@ -0,0 +1,104 @@
+package io.github.azagniotov.language;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A point-in-time view of the loaded language profiles, see {@link
+ * LanguageDetectionOrchestrator#getModelStatus()}.
+ */
+public final class ModelStatus {
+
+  static final ModelStatus NOT_LOADED =
+      new ModelStatus(0L, null, null, Duration.ZERO, 0L, 0L, null);
+
+  private final long version;
+  private final String source;
+  private final Instant loadedAt;
+  private final Duration loadDuration;
+  private final long reloads;
+  private final long failedReloads;
+  private final String lastFailure;
+
+  ModelStatus(
+      final long version,
+      final String source,
+      final Instant loadedAt,
+      final Duration loadDuration,
+      final long reloads,
+      final long failedReloads,
+      final String lastFailure) {
+    this.version = version;
+    this.source = source;
+    this.loadedAt = loadedAt;
+    this.loadDuration = loadDuration;
+    this.reloads = reloads;
+    this.failedReloads = failedReloads;
+    this.lastFailure = lastFailure;
+  }
+
+  /** Starts at 1 for the first loaded model, and is incremented by every successful reload. */
+  public long getVersion() {
+    return version;
+  }
+
+  /** Where the current model was loaded from, e.g.: a directory, or null before the first load. */
+  public String getSource() {
+    return source;
+  }
+
+  /** When the current model was swapped in, or null before the first load. */
+  public Instant getLoadedAt() {
+    return loadedAt;
+  }
+
+  /** How long it took to load and validate the current model. */
+  public Duration getLoadDuration() {
+    return loadDuration;
+  }
+
+  /** The number of successful reloads, not including the first load. */
+  public long getReloads() {
+    return reloads;
+  }
+
+  /** The number of reloads that failed, which left the previous model in place. */
+  public long getFailedReloads() {
+    return failedReloads;
+  }
+
+  /** The error message of the most recent failed reload, or null when none has failed. */
+  public String getLastFailure() {
+    return lastFailure;
+  }
+
+  ModelStatus loaded(final String source, final Instant loadedAt, final Duration loadDuration) {
+    return new ModelStatus(
+        version + 1,
+        source,
+        loadedAt,
+        loadDuration,
+        version == 0 ? reloads : reloads + 1,
+        failedReloads,
+        lastFailure);
+  }
+
+  ModelStatus failed(final Throwable failure) {
+    return new ModelStatus(
+        version,
+        source,
+        loadedAt,
+        loadDuration,
+        reloads,
+        failedReloads + 1,
+        String.valueOf(failure.getMessage()));
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "ModelStatus{version=%s, source=%s, loadedAt=%s, loadDuration=%s, reloads=%s,"
+            + " failedReloads=%s, lastFailure=%s}",
+        version, source, loadedAt, loadDuration, reloads, failedReloads, lastFailure);
+  }
+}
@@ -0,0 +1,222 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.NGram.MAX_PACKED_NGRAM_LENGTH;
+import static io.github.azagniotov.language.NGram.PACKED_LENGTH_SHIFT;
+import static io.github.azagniotov.language.NGram.UNI_GRAM_LENGTH;
+import static io.github.azagniotov.language.NGramDictionary.NO_ID;
+import static io.github.azagniotov.language.StringConstants.BLANK_CHAR;
+
+import java.util.Arrays;
+
+/**
+ * An Aho-Corasick automaton over the n-grams of a {@link NGramDictionary.Snapshot}, which resolves
+ * the n-grams of an input to their IDs while the input is walked one char at a time, see {@link
+ * NGram#extractNGramIds(NGramAutomaton)}, instead of looking up every n-gram that ends at a char.
+ *
+ * <p>A node is a prefix of the n-grams, packed the same way as the n-grams are, see {@link
+ * NGram#pack(String)}. The walk is in the node of the longest suffix of the chars so far which is a
+ * prefix, and advances by the child of the node for the next char, falling back to the node of the
+ * longest proper suffix when there is no such child. The n-grams that end at a char are the node,
+ * when it is an n-gram, and the nodes of its output links, i.e.: of its longest proper suffix that
+ * is an n-gram, and so on. A transition is a table lookup in most cases, and the n-grams that end
+ * at the char are read from the links, instead of being looked up one by one.
+ *
+ * <p>The automaton is built by the model loader thread, before its snapshot is published, see
+ * {@link NGramDictionary#internAll(java.util.Collection)}, so that the detections never build it.
+ */
+final class NGramAutomaton {
+
+  // The node of the empty prefix, which is never a child of another node
+  private static final int ROOT = 0;
+  private static final int NO_NODE = -1;
+  private static final long CHARS_MASK = (1L << (MAX_PACKED_NGRAM_LENGTH * Character.SIZE)) - 1;
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  // The nodes of the uni-grams by their char, i.e.: the children of the root
+  private final int[] rootChildren;
+  private final long[] packedByNode;
+  // The ID of the n-gram of the node, the longest proper suffix that is a node, and the longest
+  // proper suffix that is an n-gram, by the node
+  private final int[] idByNode;
+  private final int[] suffixByNode;
+  private final int[] outputByNode;
+  // The nodes of the prefixes that are longer than a char, by their packed prefix
+  private final int[] nodesBySlot;
+  private final int slotMask;
+  private final int slotShift;
+  private final int start;
+
+  NGramAutomaton(final NGramDictionary.Snapshot dictionary) {
+    // The prefixes of all the n-grams, the n-grams themselves included, which are sorted by their
+    // length first, so that the repeated ones are dropped, and the nodes are grouped by the length
+    final long[] prefixes = new long[dictionary.size() * MAX_PACKED_NGRAM_LENGTH];
+    int prefixCount = 0;
+    for (int id = 0; id < dictionary.size(); id++) {
+      final long packedNGram = dictionary.packed(id);
+      final int length = NGram.packedLength(packedNGram);
+      for (int prefixLength = UNI_GRAM_LENGTH; prefixLength <= length; prefixLength++) {
+        prefixes[prefixCount++] = prefix(packedNGram, prefixLength);
+      }
+    }
+    Arrays.sort(prefixes, 0, prefixCount);
+    final long[] packedByNode = new long[prefixCount + 1];
+    int nodeCount = 1;
+    int uniGramNodes = 0;
+    for (int idx = 0; idx < prefixCount; idx++) {
+      if (idx == 0 || prefixes[idx] != prefixes[idx - 1]) {
+        packedByNode[nodeCount++] = prefixes[idx];
+        if (NGram.packedLength(prefixes[idx]) == UNI_GRAM_LENGTH) {
+          uniGramNodes++;
+        }
+      }
+    }
+    this.packedByNode = Arrays.copyOf(packedByNode, nodeCount);
+
+    // At most a half of the slots are taken, so that the probe sequences stay short
+    final int capacity =
+        Integer.highestOneBit(Math.max(2, 2 * (nodeCount - 1 - uniGramNodes)) - 1) << 1;
+    this.nodesBySlot = new int[capacity];
+    Arrays.fill(this.nodesBySlot, NO_NODE);
+    this.slotShift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    this.slotMask = capacity - 1;
+    this.rootChildren = new int[Character.MAX_VALUE + 1];
+    for (int node = 1; node < nodeCount; node++) {
+      index(this.packedByNode[node], node);
+    }
+
+    this.idByNode = new int[nodeCount];
+    Arrays.fill(this.idByNode, NO_ID);
+    for (int id = 0; id < dictionary.size(); id++) {
+      final long packedNGram = dictionary.packed(id);
+      // The blank uni-gram is never extracted, see NGram#getPacked(int)
+      if (NGram.packedLength(packedNGram) > UNI_GRAM_LENGTH
+          || (char) packedNGram != BLANK_CHAR) {
+        this.idByNode[node(packedNGram)] = id;
+      }
+    }
+
+    this.suffixByNode = new int[nodeCount];
+    this.outputByNode = new int[nodeCount];
+    for (int node = 1; node < nodeCount; node++) {
+      final long packedPrefix = this.packedByNode[node];
+      final int length = NGram.packedLength(packedPrefix);
+      int suffix = ROOT;
+      int output = ROOT;
+      for (int suffixLength = length - 1; suffixLength >= UNI_GRAM_LENGTH; suffixLength--) {
+        final int suffixNode = node(suffix(packedPrefix, suffixLength));
+        if (suffixNode == NO_NODE) {
+          continue;
+        }
+        if (suffix == ROOT) {
+          suffix = suffixNode;
+        }
+        if (this.idByNode[suffixNode] != NO_ID) {
+          output = suffixNode;
+          break;
+        }
+      }
+      this.suffixByNode[node] = suffix;
+      this.outputByNode[node] = output;
+    }
+
+    // The root, when no n-gram starts with a blank
+    this.start = this.rootChildren[BLANK_CHAR];
+  }
+
+  /** The node of the blank, which every word starts with, see {@link NGram#addChar(char)}. */
+  int start() {
+    return this.start;
+  }
+
+  /** The node of the longest suffix of the node and the char that is a prefix of the n-grams. */
+  int next(int node, final char ch) {
+    while (node != ROOT) {
+      final long packedPrefix = this.packedByNode[node];
+      final int length = NGram.packedLength(packedPrefix);
+      // The longest prefixes are the n-grams, which have no children
+      if (length < MAX_PACKED_NGRAM_LENGTH) {
+        final long child =
+            ((long) (length + 1) << PACKED_LENGTH_SHIFT)
+                | ((packedPrefix & CHARS_MASK) << Character.SIZE)
+                | ch;
+        final int childNode = node(child);
+        if (childNode != NO_NODE) {
+          return childNode;
+        }
+      }
+      node = this.suffixByNode[node];
+    }
+    return this.rootChildren[ch];
+  }
+
+  /**
+   * Adds the IDs of the n-grams that end at the node, and are not longer than the given length,
+   * shortest first, i.e.: in the same order as {@link
+   * NGram#extractNGramIds(NGramDictionary.Snapshot)} adds them.
+   *
+   * @return the number of the IDs after the added ones
+   */
+  int addIds(final int node, final int maxNGramLength, final int[] ids, int count) {
+    final int first = count;
+    int output = this.idByNode[node] == NO_ID ? this.outputByNode[node] : node;
+    // The output links go from the longest n-gram to the shortest one
+    while (output != ROOT) {
+      if (NGram.packedLength(this.packedByNode[output]) <= maxNGramLength) {
+        ids[count++] = this.idByNode[output];
+      }
+      output = this.outputByNode[output];
+    }
+    for (int left = first, right = count - 1; left < right; left++, right--) {
+      final int id = ids[left];
+      ids[left] = ids[right];
+      ids[right] = id;
+    }
+    return count;
+  }
+
+  /** The number of the nodes, i.e.: of the distinct prefixes of the n-grams, and the root. */
+  int size() {
+    return this.packedByNode.length;
+  }
+
+  private int node(final long packedPrefix) {
+    if (NGram.packedLength(packedPrefix) == UNI_GRAM_LENGTH) {
+      final int node = this.rootChildren[(char) packedPrefix];
+      return node == ROOT ? NO_NODE : node;
+    }
+    for (int slot = slot(packedPrefix); ; slot = (slot + 1) & this.slotMask) {
+      final int node = this.nodesBySlot[slot];
+      if (node == NO_NODE || this.packedByNode[node] == packedPrefix) {
+        return node;
+      }
+    }
+  }
+
+  private void index(final long packedPrefix, final int node) {
+    if (NGram.packedLength(packedPrefix) == UNI_GRAM_LENGTH) {
+      this.rootChildren[(char) packedPrefix] = node;
+      return;
+    }
+    int slot = slot(packedPrefix);
+    while (this.nodesBySlot[slot] != NO_NODE) {
+      slot = (slot + 1) & this.slotMask;
+    }
+    this.nodesBySlot[slot] = node;
+  }
+
+  private int slot(final long packedPrefix) {
+    return (int) ((packedPrefix * HASH_MULTIPLIER) >>> this.slotShift);
+  }
+
+  /** The first chars of the packed n-gram. */
+  private static long prefix(final long packedNGram, final int length) {
+    final int dropped = (NGram.packedLength(packedNGram) - length) * Character.SIZE;
+    return ((long) length << PACKED_LENGTH_SHIFT) | ((packedNGram & CHARS_MASK) >>> dropped);
+  }
+
+  /** The last chars of the packed n-gram. */
+  private static long suffix(final long packedNGram, final int length) {
+    final long mask = (1L << (length * Character.SIZE)) - 1;
+    return ((long) length << PACKED_LENGTH_SHIFT) | (packedNGram & mask);
+  }
+}
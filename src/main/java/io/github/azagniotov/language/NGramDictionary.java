@@ -0,0 +1,369 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.NGram.MAX_PACKED_NGRAM_LENGTH;
+import static io.github.azagniotov.language.NGram.NO_PACKED_NGRAM;
+import static io.github.azagniotov.language.NGram.UNI_GRAM_LENGTH;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Interns every distinct n-gram of all the loaded models to an int ID, once, so that the models
+ * which are resident at the same time, e.g.: the {@code short-text} model for the queries and the
+ * {@code merged-average} model for the documents, do not keep their own String keys for the same
+ * n-grams. Every model is a matrix over the shared ID space instead, see {@link NGramModel}, and an
+ * input is resolved to n-gram IDs once, whichever model scores them.
+ *
+ * <p>The n-grams are keyed by their packed form, see {@link NGram#getPacked(int)}, in a minimal
+ * perfect hash index of primitive arrays. The IDs are never reassigned, therefore the IDs which
+ * have been resolved against an older {@link Snapshot} stay valid in the newer ones. Interning
+ * builds the index of a new snapshot, which is then published, so the lookups never lock and never
+ * see a partially built index, or a snapshot whose {@link NGramAutomaton} has not been built yet.
+ * The n-grams are only interned when a model is loaded.
+ *
+ * <p>As the IDs are never reassigned, the dictionary is never shrunk: it keeps the n-grams of all
+ * the models that have been loaded by the class loader, including the ones that have since been
+ * replaced by a reload. Loading the same profiles again does not add any n-gram, so the dictionary
+ * is bounded by the distinct n-grams of all the profile sets that have been loaded, e.g.: about
+ * 200,000 n-grams for all the {@code merged-average} profiles, rather than by the number of loads.
+ */
+final class NGramDictionary {
+
+  /** The dictionary of all the models of the class loader. */
+  static final NGramDictionary SHARED = new NGramDictionary();
+
+  /** The ID of the n-grams that are not in the dictionary. */
+  static final int NO_ID = -1;
+
+  private volatile Snapshot snapshot;
+
+  NGramDictionary() {
+    this.snapshot = new Snapshot(new long[0], 0);
+  }
+
+  /** The most recent snapshot, which has the n-grams of all the models that have been loaded. */
+  Snapshot snapshot() {
+    return this.snapshot;
+  }
+
+  /**
+   * Interns the given n-grams, and returns the snapshot that has all of them. The new n-grams get
+   * ascending IDs in the iteration order of the given ones. The n-grams that are longer than {@link
+   * NGram#MAX_PACKED_NGRAM_LENGTH} are never extracted from the inputs, and are not interned.
+   */
+  synchronized Snapshot internAll(final Collection<String> nGrams) {
+    final Snapshot current = this.snapshot;
+    // The array of the published snapshot is never written to, the lookups may be reading it
+    long[] packedById = null;
+    int size = current.size;
+    for (final String nGram : nGrams) {
+      final int length = nGram.length();
+      if (length < UNI_GRAM_LENGTH || length > MAX_PACKED_NGRAM_LENGTH) {
+        continue;
+      }
+      final long packedNGram = NGram.pack(nGram);
+      if (current.id(packedNGram) != NO_ID) {
+        continue;
+      }
+      if (packedById == null) {
+        packedById = Arrays.copyOf(current.packedById, current.size + nGrams.size());
+      }
+      packedById[size++] = packedNGram;
+    }
+    if (packedById == null) {
+      return current;
+    }
+
+    // The new n-grams may repeat each other, the snapshot drops the repeated ones
+    final Snapshot interned = new Snapshot(packedById, size);
+    // The automaton is built by the loader thread, before the snapshot is published, so that no
+    // detection waits for it, as all the resident models extract against the published snapshot
+    interned.automaton();
+    this.snapshot = interned;
+    return interned;
+  }
+
+  /**
+   * An immutable state of the dictionary, whose n-grams are indexed by a minimal perfect hash
+   * function, which is built when the snapshot is created, as the n-grams are static from then on.
+   *
+   * <p>The function maps the n-grams to the slots 0 to the size, exclusive, without collisions, in
+   * the way of PTHash: the hash of an n-gram picks a bucket of about {@link #BUCKET_SIZE}
+   * n-grams, and the pilot of the bucket, which has been searched for so that the n-grams of all
+   * the buckets land on distinct slots, picks the slot. A slot has a fingerprint of the hash, which
+   * rejects most of the unknown n-grams, and the ID of its n-gram, as the IDs have to stay the same
+   * across the snapshots. The packed n-gram of the ID then confirms the match. A lookup is four
+   * array reads at most, with no probe sequences.
+   *
+   * <p>The index takes about six bytes, i.e.: 48 bits, per n-gram: a 32 bit ID and an 8 bit
+   * fingerprint per slot, and a 32 bit pilot per four n-grams. Most of it is the ID per slot, which
+   * a PTHash function on its own does not have, as its slots are the IDs. Here, the function is
+   * built again for every snapshot, while the IDs of the resident models must not change.
+   */
+  static final class Snapshot {
+
+    // The average number of the n-grams per bucket: fewer, larger buckets take less memory for the
+    // pilots, but their pilots take longer to search for
+    private static final int BUCKET_SIZE = 4;
+    // The pilots that are tried per bucket, before the function is built again with another seed
+    private static final int MAX_PILOT = 1 << 20;
+    private static final int NO_SLOT = -1;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long PILOT_MULTIPLIER = 0xC4CEB9FE1A85EC53L;
+    private static final long SLOT_MULTIPLIER = 0xFF51AFD7ED558CCDL;
+    // The fingerprint is the highest byte of the hash, after it has been mixed by the finalizer of
+    // MurmurHash3, whose two multipliers are the ones of the pilot and of the slot
+    private static final int FINGERPRINT_SHIFT = Long.SIZE - Byte.SIZE;
+    private static final int AVALANCHE_SHIFT = 33;
+
+    private final long seed;
+    private final int[] pilots;
+    private final byte[] fingerprints;
+    private final int[] idsBySlot;
+    private final long[] packedById;
+    private final int size;
+    // Built before the snapshot is published, see internAll(Collection)
+    private volatile NGramAutomaton automaton;
+
+    private Snapshot(final long[] candidates, final int candidateCount) {
+      this.packedById = distinct(candidates, candidateCount);
+      this.size = this.packedById.length;
+      this.pilots = new int[Math.max(1, (this.size + BUCKET_SIZE - 1) / BUCKET_SIZE)];
+      this.fingerprints = new byte[this.size];
+      this.idsBySlot = new int[this.size];
+
+      long seed = 0;
+      while (!buildPerfectHash(seed)) {
+        seed++;
+      }
+      this.seed = seed;
+    }
+
+    /**
+     * The ID of the packed n-gram.
+     *
+     * @return the ID, or {@link #NO_ID} when the n-gram is not in the dictionary
+     */
+    int id(final long packedNGram) {
+      final int slot = candidateSlot(packedNGram);
+      if (slot == NO_SLOT) {
+        return NO_ID;
+      }
+      final int id = this.idsBySlot[slot];
+      return this.packedById[id] == packedNGram ? id : NO_ID;
+    }
+
+    /**
+     * Whether the fingerprint of the slot of the packed n-gram matches, i.e.: whether the lookup
+     * has to read the packed n-gram of the slot to tell if the n-gram is in the dictionary.
+     */
+    boolean passesFingerprint(final long packedNGram) {
+      return candidateSlot(packedNGram) != NO_SLOT;
+    }
+
+    private int candidateSlot(final long packedNGram) {
+      if (packedNGram == NO_PACKED_NGRAM || this.size == 0) {
+        return NO_SLOT;
+      }
+      final long hash = hash(packedNGram, this.seed);
+      final int slot = slot(hash, this.pilots[bucket(hash)]);
+      return this.fingerprints[slot] == fingerprint(hash) ? slot : NO_SLOT;
+    }
+
+    int id(final String nGram) {
+      final int length = nGram.length();
+      if (length < UNI_GRAM_LENGTH || length > MAX_PACKED_NGRAM_LENGTH) {
+        return NO_ID;
+      }
+      return id(NGram.pack(nGram));
+    }
+
+    String nGram(final int id) {
+      return NGram.unpack(this.packedById[id]);
+    }
+
+    long packed(final int id) {
+      return this.packedById[id];
+    }
+
+    /**
+     * The automaton that resolves the n-grams of an input to their IDs in the snapshot. The
+     * published snapshots have it built already, the others build it once, by the first caller,
+     * while the other callers wait for it.
+     */
+    NGramAutomaton automaton() {
+      NGramAutomaton automaton = this.automaton;
+      if (automaton == null) {
+        synchronized (this) {
+          automaton = this.automaton;
+          if (automaton == null) {
+            automaton = new NGramAutomaton(this);
+            this.automaton = automaton;
+          }
+        }
+      }
+      return automaton;
+    }
+
+    /** Whether the automaton has been built, i.e.: {@link #automaton()} does not wait for it. */
+    boolean hasAutomaton() {
+      return this.automaton != null;
+    }
+
+    /** The number of the interned n-grams, the IDs are between 0 and the size, exclusive. */
+    int size() {
+      return this.size;
+    }
+
+    private boolean buildPerfectHash(final long seed) {
+      final int bucketCount = this.pilots.length;
+      final long[] hashes = new long[this.size];
+      final int[] bucketStarts = new int[bucketCount + 1];
+      for (int id = 0; id < this.size; id++) {
+        hashes[id] = hash(this.packedById[id], seed);
+        bucketStarts[bucket(hashes[id]) + 1]++;
+      }
+      int maxBucketSize = 0;
+      for (int bucket = 0; bucket < bucketCount; bucket++) {
+        maxBucketSize = Math.max(maxBucketSize, bucketStarts[bucket + 1]);
+        bucketStarts[bucket + 1] += bucketStarts[bucket];
+      }
+      // The IDs, grouped by their buckets
+      final int[] bucketIds = new int[this.size];
+      final int[] bucketFills = Arrays.copyOf(bucketStarts, bucketCount);
+      for (int id = 0; id < this.size; id++) {
+        bucketIds[bucketFills[bucket(hashes[id])]++] = id;
+      }
+
+      // The largest buckets are placed first, while most of the slots are still free
+      final int[] bucketsBySize = new int[bucketCount];
+      final int[] sizeStarts = new int[maxBucketSize + 2];
+      for (int bucket = 0; bucket < bucketCount; bucket++) {
+        sizeStarts[maxBucketSize - bucketSize(bucketStarts, bucket) + 1]++;
+      }
+      for (int idx = 1; idx < sizeStarts.length; idx++) {
+        sizeStarts[idx] += sizeStarts[idx - 1];
+      }
+      for (int bucket = 0; bucket < bucketCount; bucket++) {
+        bucketsBySize[sizeStarts[maxBucketSize - bucketSize(bucketStarts, bucket)]++] = bucket;
+      }
+
+      final boolean[] taken = new boolean[this.size];
+      final int[] slots = new int[maxBucketSize];
+      for (final int bucket : bucketsBySize) {
+        final int bucketSize = bucketSize(bucketStarts, bucket);
+        if (bucketSize == 0) {
+          break;
+        }
+        final int pilot =
+            searchPilot(hashes, bucketIds, bucketStarts[bucket], bucketSize, taken, slots);
+        if (pilot == MAX_PILOT) {
+          return false;
+        }
+        this.pilots[bucket] = pilot;
+        for (int idx = 0; idx < bucketSize; idx++) {
+          final int id = bucketIds[bucketStarts[bucket] + idx];
+          taken[slots[idx]] = true;
+          this.fingerprints[slots[idx]] = fingerprint(hashes[id]);
+          this.idsBySlot[slots[idx]] = id;
+        }
+      }
+      return true;
+    }
+
+    /** The first pilot that places all the n-grams of the bucket on distinct free slots. */
+    private int searchPilot(
+        final long[] hashes,
+        final int[] bucketIds,
+        final int bucketStart,
+        final int bucketSize,
+        final boolean[] taken,
+        final int[] slots) {
+      for (int pilot = 0; pilot < MAX_PILOT; pilot++) {
+        if (placesBucket(hashes, bucketIds, bucketStart, bucketSize, taken, slots, pilot)) {
+          return pilot;
+        }
+      }
+      return MAX_PILOT;
+    }
+
+    private boolean placesBucket(
+        final long[] hashes,
+        final int[] bucketIds,
+        final int bucketStart,
+        final int bucketSize,
+        final boolean[] taken,
+        final int[] slots,
+        final int pilot) {
+      for (int idx = 0; idx < bucketSize; idx++) {
+        final int slot = slot(hashes[bucketIds[bucketStart + idx]], pilot);
+        if (taken[slot]) {
+          return false;
+        }
+        for (int placed = 0; placed < idx; placed++) {
+          if (slots[placed] == slot) {
+            return false;
+          }
+        }
+        slots[idx] = slot;
+      }
+      return true;
+    }
+
+    private int bucket(final long hash) {
+      // The high half of the hash, scaled to the number of the buckets without a division
+      return (int) (((hash >>> Integer.SIZE) * this.pilots.length) >>> Integer.SIZE);
+    }
+
+    private int slot(final long hash, final int pilot) {
+      final long mixed = (hash ^ (pilot * PILOT_MULTIPLIER)) * SLOT_MULTIPLIER;
+      return (int) (((mixed >>> Integer.SIZE) * this.size) >>> Integer.SIZE);
+    }
+
+    private static int bucketSize(final int[] bucketStarts, final int bucket) {
+      return bucketStarts[bucket + 1] - bucketStarts[bucket];
+    }
+
+    private static byte fingerprint(final long hash) {
+      // The low half of the hash depends on the last two chars only, and the high half picks the
+      // bucket, so that the n-grams of a bucket share its high bits. Every bit of the mixed hash
+      // depends on every bit of the hash, i.e.: on all the chars of the n-gram.
+      long mixed = (hash ^ (hash >>> AVALANCHE_SHIFT)) * SLOT_MULTIPLIER;
+      mixed = (mixed ^ (mixed >>> AVALANCHE_SHIFT)) * PILOT_MULTIPLIER;
+      return (byte) ((mixed ^ (mixed >>> AVALANCHE_SHIFT)) >>> FINGERPRINT_SHIFT);
+    }
+
+    private static long hash(final long packedNGram, final long seed) {
+      // Fibonacci hashing, a multiplication by an odd constant is a bijection, so the distinct
+      // n-grams never share a hash, and the high bits depend on all the chars
+      return (packedNGram + seed) * HASH_MULTIPLIER;
+    }
+
+    /** The distinct n-grams, in the order of their first occurrence, which is the ID order. */
+    private static long[] distinct(final long[] candidates, final int candidateCount) {
+      final long[] sorted = Arrays.copyOf(candidates, candidateCount);
+      Arrays.sort(sorted);
+      final boolean[] seen = new boolean[candidateCount];
+      final long[] packed = new long[candidateCount];
+      int size = 0;
+      for (int idx = 0; idx < candidateCount; idx++) {
+        final int sortedIdx = Arrays.binarySearch(sorted, candidates[idx]);
+        // The binary search may find any of the repeated n-grams, the first of them is marked
+        final int firstIdx = firstIndexOf(sorted, sortedIdx);
+        if (!seen[firstIdx]) {
+          seen[firstIdx] = true;
+          packed[size++] = candidates[idx];
+        }
+      }
+      return size == candidateCount ? packed : Arrays.copyOf(packed, size);
+    }
+
+    private static int firstIndexOf(final long[] sorted, final int sortedIdx) {
+      int firstIdx = sortedIdx;
+      while (firstIdx > 0 && sorted[firstIdx - 1] == sorted[sortedIdx]) {
+        firstIdx--;
+      }
+      return firstIdx;
+    }
+  }
+}
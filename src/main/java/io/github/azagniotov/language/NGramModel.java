@@ -0,0 +1,355 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.NGram.MAX_PACKED_NGRAM_LENGTH;
+import static io.github.azagniotov.language.NGram.UNI_GRAM_LENGTH;
+import static io.github.azagniotov.language.NGramDictionary.NO_ID;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The n-gram probabilities of a loaded model, as a matrix over the n-gram IDs of the {@link
+ * NGramDictionary}: a row of the language probabilities per n-gram ID, in the order of the
+ * supported ISO codes, or no row when the model does not have the n-gram.
+ *
+ * <p>The models that are resident at the same time share the dictionary, so an n-gram is kept once
+ * as a packed key, instead of once per model as a String key. The rows are sized by the highest ID
+ * of the n-grams of the model, rather than by the dictionary, which may have many more n-grams of
+ * the other models. The inputs are resolved against the most recent snapshot, whose IDs are a
+ * superset of the ones of the model, so all the resident models share a single snapshot and its
+ * automaton, instead of keeping the ones that they have been compiled against. The automaton of a
+ * snapshot is built by the loader thread before the snapshot is published, so a load never leaves
+ * the resident models an automaton to build while they detect.
+ *
+ * <p>The rows are arrays on the heap by default. Alternatively, the rows are stored one after
+ * another in a direct buffer outside of the heap, and their offsets in an int array by the n-gram
+ * ID, see {@link LanguageDetectionSettings.Builder#withOffHeapModel()}, so that the GC neither
+ * marks nor copies an array per n-gram on every old generation cycle. Either way, the rows are
+ * read in place by the detection, without allocating, see {@link #row(int)}.
+ *
+ * <p>A hashed model has no dictionary, and no n-gram keys at all: its rows are by the bucket that
+ * the n-grams are hashed into, see {@link NGram#bucket(long, int)}, and the probabilities of the
+ * n-grams that share a bucket are added up, see {@link
+ * LanguageDetectionSettings.Builder#withHashedModel(int)}. The inputs are extracted into the
+ * buckets, see {@link #extract(NGram)}, so an n-gram of the input that the profiles do not have is
+ * scored by the row of its bucket, when the bucket has other n-grams.
+ */
+final class NGramModel {
+
+  /** The row of the n-grams that the model does not have. */
+  static final int NO_ROW = -1;
+
+  // The dictionary of the n-gram IDs, or null when the rows are by the bucket
+  private final NGramDictionary dictionary;
+  private final int bucketBits;
+  // Either the rows are on the heap, by the n-gram ID, or off the heap, at the offsets by the
+  // n-gram ID, the fields of the other storage are null
+  private final double[][] probabilitiesById;
+  private final int[] rowOffsetById;
+  private final DoubleBuffer offHeapRows;
+  private final int rowLength;
+  private final int size;
+
+  private NGramModel(
+      final NGramDictionary dictionary,
+      final int bucketBits,
+      final double[][] probabilitiesById,
+      final int[] rowOffsetById,
+      final DoubleBuffer offHeapRows,
+      final int rowLength,
+      final int size) {
+    this.dictionary = dictionary;
+    this.bucketBits = bucketBits;
+    this.probabilitiesById = probabilitiesById;
+    this.rowOffsetById = rowOffsetById;
+    this.offHeapRows = offHeapRows;
+    this.rowLength = rowLength;
+    this.size = size;
+  }
+
+  /** Compiles the n-gram probabilities against the {@link NGramDictionary#SHARED} dictionary. */
+  static NGramModel compile(final Map<String, double[]> languageCorporaProbabilities) {
+    return compile(NGramDictionary.SHARED, languageCorporaProbabilities, false);
+  }
+
+  static NGramModel compile(
+      final NGramDictionary nGramDictionary,
+      final Map<String, double[]> languageCorporaProbabilities) {
+    return compile(nGramDictionary, languageCorporaProbabilities, false);
+  }
+
+  /**
+   * Compiles the n-gram probabilities, whose rows are copied into a direct buffer when {@code
+   * offHeap}, in which case every row must have the same number of the languages.
+   */
+  static NGramModel compile(
+      final NGramDictionary nGramDictionary,
+      final Map<String, double[]> languageCorporaProbabilities,
+      final boolean offHeap) {
+    final NGramDictionary.Snapshot dictionary =
+        nGramDictionary.internAll(languageCorporaProbabilities.keySet());
+    final int[] ids = new int[languageCorporaProbabilities.size()];
+    int idLimit = 0;
+    int idx = 0;
+    for (final String nGram : languageCorporaProbabilities.keySet()) {
+      ids[idx] = dictionary.id(nGram);
+      idLimit = Math.max(idLimit, ids[idx++] + 1);
+    }
+
+    final double[][] probabilitiesById = new double[idLimit][];
+    int rowLength = 0;
+    int size = 0;
+    idx = 0;
+    for (final Map.Entry<String, double[]> entry : languageCorporaProbabilities.entrySet()) {
+      final int id = ids[idx++];
+      if (id != NO_ID) {
+        probabilitiesById[id] = entry.getValue();
+        rowLength = entry.getValue().length;
+        size++;
+      }
+    }
+    return layOut(nGramDictionary, 0, probabilitiesById, rowLength, size, offHeap);
+  }
+
+  /**
+   * Compiles the n-gram probabilities into a hashed model of the given number of buckets, which is
+   * a power of two: the rows of the n-grams that are hashed into the same bucket are added up, and
+   * the n-grams are not kept. The n-grams that are longer than {@link
+   * NGram#MAX_PACKED_NGRAM_LENGTH} are never extracted from the inputs, and are dropped.
+   */
+  static NGramModel compileHashed(
+      final Map<String, double[]> languageCorporaProbabilities,
+      final int buckets,
+      final boolean offHeap) {
+    if (buckets < 2 || Integer.bitCount(buckets) != 1) {
+      throw new IllegalArgumentException("Expected a power of two buckets, got: " + buckets);
+    }
+    final int bucketBits = Integer.numberOfTrailingZeros(buckets);
+    final double[][] probabilitiesByBucket = new double[buckets][];
+    int rowLength = 0;
+    int size = 0;
+    for (final Map.Entry<String, double[]> entry : languageCorporaProbabilities.entrySet()) {
+      final String nGram = entry.getKey();
+      if (nGram.length() < UNI_GRAM_LENGTH || nGram.length() > MAX_PACKED_NGRAM_LENGTH) {
+        continue;
+      }
+      final int bucket = NGram.bucket(NGram.pack(nGram), bucketBits);
+      final double[] probabilities = entry.getValue();
+      rowLength = probabilities.length;
+      if (probabilitiesByBucket[bucket] == null) {
+        probabilitiesByBucket[bucket] = probabilities.clone();
+        size++;
+        continue;
+      }
+      final double[] bucketProbabilities = probabilitiesByBucket[bucket];
+      if (bucketProbabilities.length != rowLength) {
+        throw new IllegalArgumentException(
+            "Expected " + bucketProbabilities.length + " probabilities of the n-gram: " + nGram);
+      }
+      for (int languageIdx = 0; languageIdx < rowLength; languageIdx++) {
+        bucketProbabilities[languageIdx] += probabilities[languageIdx];
+      }
+    }
+    return layOut(null, bucketBits, probabilitiesByBucket, rowLength, size, offHeap);
+  }
+
+  private static NGramModel layOut(
+      final NGramDictionary dictionary,
+      final int bucketBits,
+      final double[][] probabilitiesById,
+      final int rowLength,
+      final int size,
+      final boolean offHeap) {
+    if (!offHeap) {
+      return new NGramModel(
+          dictionary, bucketBits, probabilitiesById, null, null, rowLength, size);
+    }
+
+    // The rows of the frequent n-grams, which most of the inputs hit, are laid out next to each
+    // other, to keep them in the CPU caches. The positive floats sort as their bits, the low bits
+    // keep the n-gram ID.
+    final long[] order = new long[size];
+    int rank = 0;
+    for (int id = 0; id < probabilitiesById.length; id++) {
+      if (probabilitiesById[id] == null) {
+        continue;
+      }
+      if (probabilitiesById[id].length != rowLength) {
+        throw new IllegalArgumentException(
+            "Expected "
+                + rowLength
+                + " probabilities of the n-gram: "
+                + (dictionary == null ? "bucket " + id : dictionary.snapshot().nGram(id)));
+      }
+      double sum = 0;
+      for (final double probability : probabilitiesById[id]) {
+        sum += probability;
+      }
+      order[rank++] = ((long) Float.floatToIntBits((float) sum) << Integer.SIZE) | id;
+    }
+    Arrays.sort(order);
+
+    final int[] rowOffsetById = new int[probabilitiesById.length];
+    Arrays.fill(rowOffsetById, NO_ROW);
+    // The native byte order, so that the doubles are read without swapping the bytes
+    final long offHeapBytes = (long) size * rowLength * Double.BYTES;
+    final DoubleBuffer offHeapRows =
+        ByteBuffer.allocateDirect(Math.toIntExact(offHeapBytes))
+            .order(ByteOrder.nativeOrder())
+            .asDoubleBuffer();
+    for (rank = size - 1; rank >= 0; rank--) {
+      final int id = (int) order[rank];
+      rowOffsetById[id] = offHeapRows.position();
+      offHeapRows.put(probabilitiesById[id]);
+    }
+    return new NGramModel(
+        dictionary, bucketBits, null, rowOffsetById, offHeapRows, rowLength, size);
+  }
+
+  /**
+   * The row of the language probabilities of the n-gram, which is read by {@link #probability(int,
+   * int)} and {@link #multiplyByRow(double[], int, double)}.
+   *
+   * @return the row, or {@link #NO_ROW} when the model does not have the n-gram
+   */
+  int row(final int id) {
+    if (id < 0 || id >= idLimit()) {
+      return NO_ROW;
+    } else if (this.offHeapRows != null) {
+      return this.rowOffsetById[id];
+    } else {
+      return this.probabilitiesById[id] == null ? NO_ROW : id;
+    }
+  }
+
+  /** The probability of the language, by its index in the ISO codes, in the row. */
+  double probability(final int row, final int languageIdx) {
+    if (this.offHeapRows != null) {
+      return this.offHeapRows.get(row + languageIdx);
+    }
+    return this.probabilitiesById[row][languageIdx];
+  }
+
+  /**
+   * Multiplies every language probability by the sum of the weight and the probability of the
+   * language in the row, i.e.: the scoring step of the detection.
+   */
+  void multiplyByRow(final double[] probabilities, final int row, final double weight) {
+    if (this.offHeapRows != null) {
+      final DoubleBuffer rows = this.offHeapRows;
+      for (int i = 0; i < probabilities.length; ++i) {
+        probabilities[i] *= weight + rows.get(row + i);
+      }
+    } else {
+      final double[] rowProbabilities = this.probabilitiesById[row];
+      for (int i = 0; i < probabilities.length; ++i) {
+        probabilities[i] *= weight + rowProbabilities[i];
+      }
+    }
+  }
+
+  /**
+   * The language probabilities of the n-gram, e.g.: for the offline tools, which are copied from
+   * the direct buffer of an off heap model.
+   *
+   * @return the probabilities, or null when the model does not have the n-gram
+   */
+  double[] probabilities(final int id) {
+    final int row = row(id);
+    if (row == NO_ROW) {
+      return null;
+    } else if (this.offHeapRows == null) {
+      return this.probabilitiesById[row];
+    }
+    final double[] probabilities = new double[this.rowLength];
+    for (int languageIdx = 0; languageIdx < probabilities.length; languageIdx++) {
+      probabilities[languageIdx] = probability(row, languageIdx);
+    }
+    return probabilities;
+  }
+
+  /**
+   * The IDs of the n-grams that the model has, in the same order, e.g.: of the IDs that have been
+   * resolved once per input for all the resident models, which are not modified.
+   */
+  int[] retainKnown(final int[] ids) {
+    final int[] known = new int[ids.length];
+    int kept = 0;
+    for (final int id : ids) {
+      if (row(id) != NO_ROW) {
+        known[kept++] = id;
+      }
+    }
+    return kept == ids.length ? known : Arrays.copyOf(known, kept);
+  }
+
+  /**
+   * The IDs of the n-grams of the input, i.e.: their IDs in the dictionary, or their buckets when
+   * the model is hashed.
+   */
+  int[] extract(final NGram nGram) {
+    if (this.dictionary == null) {
+      return nGram.extractNGramBuckets(this.bucketBits);
+    }
+    // The IDs that have been interned after the model was compiled have no rows in the model
+    return nGram.extractNGramIds(this.dictionary.snapshot().automaton());
+  }
+
+  /** The dictionary that the model has been compiled against, or null when the model is hashed. */
+  NGramDictionary getDictionary() {
+    return this.dictionary;
+  }
+
+  /** The number of the n-grams of the model, or of the non empty buckets when it is hashed. */
+  int size() {
+    return this.size;
+  }
+
+  /** The highest n-gram ID of the model, exclusive, or the number of the buckets. */
+  int idLimit() {
+    return this.offHeapRows == null ? this.probabilitiesById.length : this.rowOffsetById.length;
+  }
+
+  /** Whether the rows are stored outside of the heap. */
+  boolean isOffHeap() {
+    return this.offHeapRows != null;
+  }
+
+  /** Whether the rows are by the bucket, with no n-gram keys. */
+  boolean isHashed() {
+    return this.dictionary == null;
+  }
+
+  /** The n-gram of the ID, which has been interned before the model was compiled. */
+  String nGram(final int id) {
+    requireKeys();
+    return this.dictionary.snapshot().nGram(id);
+  }
+
+  /**
+   * The n-gram probabilities keyed by the n-grams, e.g.: for the offline tools, which work with the
+   * n-grams of a single model. The map is created on every call, with an entry and a String per
+   * n-gram, so it costs as much as the model itself.
+   */
+  Map<String, double[]> toMap() {
+    requireKeys();
+    final NGramDictionary.Snapshot snapshot = this.dictionary.snapshot();
+    final Map<String, double[]> languageCorporaProbabilities = new HashMap<>(this.size * 2);
+    for (int id = 0; id < idLimit(); id++) {
+      if (row(id) != NO_ROW) {
+        languageCorporaProbabilities.put(snapshot.nGram(id), probabilities(id));
+      }
+    }
+    return languageCorporaProbabilities;
+  }
+
+  private void requireKeys() {
+    if (this.dictionary == null) {
+      throw new UnsupportedOperationException("A hashed model does not have the n-gram keys");
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package io.github.azagniotov.language;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event, which is emitted by the {@link LanguageDetectorFactory} for each
+ * language profile that has been read and parsed. The duration of the event is the parse time of
+ * the profile.
+ *
+ * <p>The event is enabled and configured through the standard JFR settings, with the {@code
+ * io.github.azagniotov.language.ProfileLoad} event name.
+ */
+@Name("io.github.azagniotov.language.ProfileLoad")
+@Label("Language Profile Load")
+@Category({"Language Detection"})
+@Description("Reading and parsing of a language profile")
+@StackTrace(false)
+class ProfileLoadEvent extends jdk.jfr.Event {
+
+  @Label("Profile")
+  @Description("The name of the profiles directory, e.g.: merged-average")
+  String profile;
+
+  @Label("Language")
+  @Description("The ISO 639-1 code of the loaded profile")
+  String isoCode639_1;
+
+  @Label("N-Gram Count")
+  @Description("The number of n-grams in the loaded profile")
+  int nGramCount;
+}
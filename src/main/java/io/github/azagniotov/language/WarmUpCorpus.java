@@ -0,0 +1,124 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.StringConstants.BLANK_SPACE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic inputs for {@link LanguageDetectionOrchestrator#warmUp(java.time.Duration)}.
+ *
+ * <p>The text of every configured language is made of the n-grams that are the most probable for
+ * that language in the loaded model, so that no text samples have to be shipped with the library.
+ * Every language text is used as a short query, as a short query with punctuation, file extensions
+ * and boolean operators to be sanitized, and as a long document above the maximum text chars, which
+ * gets truncated. Chinese and Japanese inputs cover the CJK heuristic, and are the only inputs of a
+ * hashed model, which does not have the n-grams to make the texts of.
+ */
+final class WarmUpCorpus {
+
+  // Enough n-grams for the scoring to converge on the language
+  private static final int NGRAMS_PER_LANGUAGE = 48;
+  private static final int NGRAMS_PER_QUERY = 8;
+
+  private static final String CHINESE_TEXT = "我们今天去北京看长城，然后吃烤鸭。";
+  private static final String JAPANESE_TEXT = "東京に行きました。本を読みます。";
+
+  private WarmUpCorpus() {}
+
+  static List<String> build(
+      final LanguageDetectorFactory model, final LanguageDetectionSettings settings) {
+    final List<String> inputs = new ArrayList<>();
+    inputs.add(CHINESE_TEXT);
+    inputs.add(JAPANESE_TEXT);
+
+    for (final List<String> nGrams : mostProbableNGrams(model)) {
+      if (nGrams.isEmpty()) {
+        continue;
+      }
+      final String text = String.join(BLANK_SPACE, nGrams);
+      final String query =
+          String.join(BLANK_SPACE, nGrams.subList(0, Math.min(NGRAMS_PER_QUERY, nGrams.size())));
+
+      inputs.add(query);
+      inputs.add("\"" + query + "\" AND report-2024.pdf #" + nGrams.get(0));
+      inputs.add(longDocument(text, settings.getMaxTextChars()));
+    }
+
+    return inputs;
+  }
+
+  /** Repeats the text until it is longer than the maximum text chars, to exercise truncation. */
+  private static String longDocument(final String text, final int maxTextChars) {
+    final StringBuilder stringBuilder = new StringBuilder(maxTextChars + text.length() + 1);
+    while (stringBuilder.length() <= maxTextChars) {
+      stringBuilder.append(text).append(". ");
+    }
+    return stringBuilder.toString();
+  }
+
+  /**
+   * Picks the n-grams of the maximum length, which consist of letters only, and assigns each one
+   * to the language that has the highest probability for it.
+   *
+   * @return the most probable n-grams of each language, in the order of the supported ISO codes
+   */
+  private static List<List<String>> mostProbableNGrams(final LanguageDetectorFactory model) {
+    if (model.getNGramModel().isHashed()) {
+      // A hashed model does not have the n-grams, only the CJK texts are detected then
+      return Collections.emptyList();
+    }
+    final int languages = model.getSupportedIsoCodes639_1().size();
+    final List<List<Map.Entry<String, Double>>> candidates = new ArrayList<>(languages);
+    for (int idx = 0; idx < languages; idx++) {
+      candidates.add(new ArrayList<>());
+    }
+
+    // The rows are read from the model in place, instead of copying the whole model into a map
+    final NGramModel nGramModel = model.getNGramModel();
+    for (int id = 0; id < nGramModel.idLimit(); id++) {
+      if (nGramModel.row(id) == NGramModel.NO_ROW) {
+        continue;
+      }
+      final String nGram = nGramModel.nGram(id);
+      if (nGram.length() != model.getMaxNGramLength() || !isLetters(nGram)) {
+        continue;
+      }
+      final double[] probabilities = nGramModel.probabilities(id);
+      int best = 0;
+      for (int idx = 1; idx < probabilities.length; idx++) {
+        if (probabilities[idx] > probabilities[best]) {
+          best = idx;
+        }
+      }
+      if (probabilities[best] > 0) {
+        candidates.get(best).add(Map.entry(nGram, probabilities[best]));
+      }
+    }
+
+    final List<List<String>> mostProbable = new ArrayList<>(languages);
+    for (final List<Map.Entry<String, Double>> languageCandidates : candidates) {
+      languageCandidates.sort(
+          Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+              .thenComparing(Map.Entry.comparingByKey()));
+      final List<String> nGrams = new ArrayList<>(NGRAMS_PER_LANGUAGE);
+      for (int idx = 0; idx < Math.min(NGRAMS_PER_LANGUAGE, languageCandidates.size()); idx++) {
+        nGrams.add(languageCandidates.get(idx).getKey());
+      }
+      mostProbable.add(nGrams);
+    }
+    return mostProbable;
+  }
+
+  private static boolean isLetters(final String nGram) {
+    for (int idx = 0; idx < nGram.length(); idx++) {
+      if (!Character.isLetter(nGram.charAt(idx))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
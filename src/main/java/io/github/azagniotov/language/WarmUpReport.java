@@ -0,0 +1,95 @@
+package io.github.azagniotov.language;
+
+import io.github.azagniotov.language.LanguageDetectionMetrics.Stage;
+import java.time.Duration;
+
+/**
+ * The outcome of {@link LanguageDetectionOrchestrator#warmUp(Duration)}.
+ *
+ * <p>The per-stage timings are recorded into a dedicated {@link LanguageDetectionMetrics}, so the
+ * warm-up traffic does not show up in the metrics configured via {@link
+ * LanguageDetectionSettings.Builder#withMetrics(LanguageDetectionMetrics)}.
+ */
+public final class WarmUpReport {
+
+  private final Duration modelLoading;
+  private final Duration elapsed;
+  private final long detections;
+  private final int distinctInputs;
+  private final LanguageDetectionMetrics metrics;
+
+  WarmUpReport(
+      final Duration modelLoading,
+      final Duration elapsed,
+      final long detections,
+      final int distinctInputs,
+      final LanguageDetectionMetrics metrics) {
+    this.modelLoading = modelLoading;
+    this.elapsed = elapsed;
+    this.detections = detections;
+    this.distinctInputs = distinctInputs;
+    this.metrics = metrics;
+  }
+
+  /** How long the warm-up waited for the language profiles to be loaded. */
+  public Duration getModelLoading() {
+    return modelLoading;
+  }
+
+  /** How long the detections took, not including the model loading. */
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  /** The number of detection calls made. */
+  public long getDetections() {
+    return detections;
+  }
+
+  /** The number of distinct synthetic inputs, which are cycled through by the detection calls. */
+  public int getDistinctInputs() {
+    return distinctInputs;
+  }
+
+  /** Whether every synthetic input has been detected at least once within the budget. */
+  public boolean isComplete() {
+    return detections >= distinctInputs;
+  }
+
+  /** The timings of the warm-up detections, e.g.: to be compared with the production latencies. */
+  public LanguageDetectionMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** An estimate of the given stage latency percentile (0...100), in nanoseconds. */
+  public long getPercentileNanos(final Stage stage, final double percentile) {
+    return metrics.getPercentileNanos(stage, percentile);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder stringBuilder =
+        new StringBuilder()
+            .append("WarmUpReport{modelLoading=")
+            .append(modelLoading)
+            .append(", elapsed=")
+            .append(elapsed)
+            .append(", detections=")
+            .append(detections)
+            .append(", distinctInputs=")
+            .append(distinctInputs);
+    for (final Stage stage : Stage.values()) {
+      stringBuilder
+          .append(", ")
+          .append(stage.label())
+          .append("={count=")
+          .append(metrics.getCount(stage))
+          .append(", p50=")
+          .append(metrics.getPercentileNanos(stage, 50))
+          .append("ns, p99=")
+          .append(metrics.getPercentileNanos(stage, 99))
+          .append("ns}");
+    }
+    return stringBuilder.append('}').toString();
+  }
+}
@@ -0,0 +1,59 @@
+package io.github.azagniotov.language;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class BmpNormalizationTableTest {
+
+  @Test
+  public final void generatedTableMatchesOriginalNormalization() throws Exception {
+    try (final InputStream in =
+        BmpNormalizationTable.class.getResourceAsStream(BmpNormalizationTable.RESOURCE_PATH)) {
+      assertNotNull("Generated table is missing, see generateNormalizationTable Gradle task", in);
+
+      final char[] table = BmpNormalizationTable.decode(in.readAllBytes());
+      for (int codePoint = 0; codePoint <= Character.MAX_VALUE; codePoint++) {
+        final char originalChar = (char) codePoint;
+        assertEquals(
+            "Normalization of U+" + Integer.toHexString(codePoint),
+            BmpNormalizationTable.normalizeOriginal(originalChar),
+            table[originalChar]);
+      }
+    }
+  }
+
+  @Test
+  public final void loadedTableIsUsedByNGram() {
+    final char[] table = BmpNormalizationTable.load();
+    for (int codePoint = 0; codePoint <= Character.MAX_VALUE; codePoint++) {
+      assertEquals(table[codePoint], NGram.normalize((char) codePoint));
+    }
+  }
+
+  @Test
+  public final void encodesAndDecodesTable() {
+    final char[] table = BmpNormalizationTable.compute();
+    final byte[] encoded = BmpNormalizationTable.encode(table);
+
+    // The run-length encoded table is much smaller than the 128KB of the raw char[]
+    assertTrue(encoded.length < Character.BYTES * table.length / 2);
+    assertArrayEquals(table, BmpNormalizationTable.decode(encoded));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public final void rejectsCorruptedTable() {
+    final byte[] encoded = BmpNormalizationTable.encode(BmpNormalizationTable.compute());
+    BmpNormalizationTable.decode(Arrays.copyOf(encoded, encoded.length - 2));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public final void rejectsUnknownFormat() {
+    BmpNormalizationTable.decode(new byte[] {'{', '}', 0, 0, 0, 0});
+  }
+}
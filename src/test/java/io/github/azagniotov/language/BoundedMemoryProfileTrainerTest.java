@@ -0,0 +1,95 @@
+package io.github.azagniotov.language;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class BoundedMemoryProfileTrainerTest {
+
+  private static final int MAX_NGRAM_LENGTH = 3;
+
+  @Test
+  public final void sketchNeverUnderestimates() {
+    final CountMinSketch sketch = new CountMinSketch(4096);
+    final Map<Long, Long> exact = new HashMap<>();
+    for (int idx = 0; idx < 50_000; idx++) {
+      final long packedNGram = NGram.pack(String.valueOf((char) (0x4E00 + idx % 5000)));
+      sketch.add(packedNGram, 1L);
+      exact.merge(packedNGram, 1L, Long::sum);
+    }
+    assertEquals(4096, sketch.sizeInBytes());
+    for (final Map.Entry<Long, Long> entry : exact.entrySet()) {
+      assertTrue(sketch.estimate(entry.getKey()) >= entry.getValue());
+    }
+    assertEquals(0, new CountMinSketch(4096).estimate(NGram.pack("abc")));
+  }
+
+  @Test
+  public final void spillsSortedRunsAndTrainsSameProfile() throws Exception {
+    final Path spillDirectory = Files.createTempDirectory("spill");
+    spillDirectory.toFile().deleteOnExit();
+    final List<Path> files = writeTrainingFiles();
+    final LanguageProfileTrainer chunkCounter =
+        new LanguageProfileTrainer("ja", MAX_NGRAM_LENGTH, String::toLowerCase, 2);
+
+    final BoundedMemoryProfileTrainer bounded =
+        new BoundedMemoryProfileTrainer(
+            chunkCounter, "ja", MAX_NGRAM_LENGTH, 64 * 1024, spillDirectory);
+    final LanguageProfile trained = bounded.train(files);
+    final LanguageProfile expected = chunkCounter.train(files);
+
+    assertTrue(bounded.getSpilledRuns() > 1);
+    assertTrue(bounded.getCandidateNGrams() >= trained.getWordFrequencies().size());
+    assertEquals(expected.getNGramCounts(), trained.getNGramCounts());
+    assertEquals(expected.getWordFrequencies(), trained.getWordFrequencies());
+    try (final Stream<Path> runs = Files.list(spillDirectory)) {
+      assertEquals(0, runs.count());
+    }
+  }
+
+  @Test
+  public final void rejectsTooSmallBudget() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new BoundedMemoryProfileTrainer(
+                new LanguageProfileTrainer("ja", MAX_NGRAM_LENGTH),
+                "ja",
+                MAX_NGRAM_LENGTH,
+                1024,
+                Path.of(System.getProperty("java.io.tmpdir"))));
+  }
+
+  private static List<Path> writeTrainingFiles() throws Exception {
+    final String text;
+    try (final InputStream in =
+        BoundedMemoryProfileTrainerTest.class.getResourceAsStream("/large.japanese.txt")) {
+      text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    final Path directory = Files.createTempDirectory("training");
+    directory.toFile().deleteOnExit();
+    final List<Path> files = new ArrayList<>();
+    for (int idx = 0; idx < 3; idx++) {
+      final StringBuilder content = new StringBuilder();
+      for (int repetition = 0; repetition <= idx * 10; repetition++) {
+        content.append(text).append(' ').append(repetition).append('\n');
+      }
+      final Path file = Files.writeString(directory.resolve(idx + ".txt"), content);
+      file.toFile().deleteOnExit();
+      files.add(file);
+    }
+    return files;
+  }
+}
@@ -0,0 +1,94 @@
+package io.github.azagniotov.language;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * Warning. Heads up. Attention.
+ *
+ * <p>Tests in the current class invoke the public API of {@link LanguageDetectionOrchestrator},
+ * which caches the singleton instance of the created {@link LanguageDetectorFactory}. Please make
+ * sure that all tests make use of the same configured ISO codes as in other orchestrator tests.
+ */
+public class FlightRecorderEventsTest {
+
+  private static final String ISO_CODES = "en, ja, es, fr, de, zh-cn, af, nl, ko";
+  private static final String DETECTION_EVENT = "io.github.azagniotov.language.Detection";
+  private static final String PROFILE_LOAD_EVENT = "io.github.azagniotov.language.ProfileLoad";
+
+  @Test
+  public final void emitsDetectionEvents() throws Exception {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES)
+            .withClassifyChineseAsJapanese()
+            .build();
+    final LanguageDetectionOrchestrator orchestrator = new LanguageDetectionOrchestrator(settings);
+
+    final List<RecordedEvent> events =
+        record(
+            DETECTION_EVENT,
+            () -> {
+              orchestrator.detect(" ");
+              orchestrator.detect("東京に行き");
+              orchestrator.detect("Das kann deutsch sein");
+            });
+
+    assertEquals(3, events.size());
+
+    assertEquals(DetectionEvent.PATH_EMPTY_INPUT, events.get(0).getString("path"));
+    assertEquals("und", events.get(0).getString("isoCode639_1"));
+    assertEquals(1, events.get(0).getInt("inputLength"));
+
+    assertEquals(DetectionEvent.PATH_CJK_SHORT_CIRCUIT, events.get(1).getString("path"));
+    assertEquals("ja", events.get(1).getString("isoCode639_1"));
+    assertEquals(0, events.get(1).getInt("iterations"));
+
+    assertEquals(DetectionEvent.PATH_NGRAM_MODEL, events.get(2).getString("path"));
+    assertEquals("de", events.get(2).getString("isoCode639_1"));
+    assertEquals(21, events.get(2).getInt("inputLength"));
+    assertTrue(events.get(2).getInt("iterations") > 0);
+  }
+
+  @Test
+  public final void emitsProfileLoadEvents() throws Exception {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de").build();
+
+    final List<RecordedEvent> events =
+        record(PROFILE_LOAD_EVENT, () -> new LanguageDetectorFactory(settings));
+
+    assertEquals(2, events.size());
+    assertEquals("en", events.get(0).getString("isoCode639_1"));
+    assertEquals("merged-average", events.get(0).getString("profile"));
+    assertTrue(events.get(0).getInt("nGramCount") > 0);
+    assertEquals("de", events.get(1).getString("isoCode639_1"));
+  }
+
+  private static List<RecordedEvent> record(final String eventName, final Runnable runnable)
+      throws Exception {
+    final Path recordingPath = Files.createTempFile("language-detection", ".jfr");
+    try (final Recording recording = new Recording()) {
+      recording.enable(eventName).withoutThreshold();
+      recording.start();
+      runnable.run();
+      recording.stop();
+      recording.dump(recordingPath);
+
+      return RecordingFile.readAllEvents(recordingPath).stream()
+          .filter(event -> event.getEventType().getName().equals(eventName))
+          .sorted((left, right) -> left.getStartTime().compareTo(right.getStartTime()))
+          .collect(Collectors.toList());
+    } finally {
+      Files.deleteIfExists(recordingPath);
+    }
+  }
+}
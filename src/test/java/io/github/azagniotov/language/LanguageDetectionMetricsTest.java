@@ -0,0 +1,152 @@
+package io.github.azagniotov.language;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.github.azagniotov.language.LanguageDetectionMetrics.Stage;
+import org.junit.Test;
+
+/**
+ * Warning. Heads up. Attention.
+ *
+ * <p>Tests in the current class invoke the public API of {@link LanguageDetectionOrchestrator},
+ * which caches the singleton instance of the created {@link LanguageDetectorFactory}. Please make
+ * sure that all tests make use of the same configured ISO codes as in other orchestrator tests.
+ */
+public class LanguageDetectionMetricsTest {
+
+  private static final String ISO_CODES = "en, ja, es, fr, de, zh-cn, af, nl, ko";
+
+  @Test
+  public final void histogramBucketsAreLogLinear() {
+    assertEquals(0, LatencyHistogram.bucketIndex(0));
+    assertEquals(3, LatencyHistogram.bucketIndex(3));
+    assertEquals(4, LatencyHistogram.bucketIndex(4));
+    assertEquals(7, LatencyHistogram.bucketIndex(7));
+    assertEquals(8, LatencyHistogram.bucketIndex(8));
+    assertEquals(8, LatencyHistogram.bucketIndex(9));
+    assertEquals(9, LatencyHistogram.bucketIndex(10));
+
+    assertEquals(1, LatencyHistogram.bucketUpperBound(0));
+    assertEquals(8, LatencyHistogram.bucketUpperBound(7));
+    assertEquals(10, LatencyHistogram.bucketUpperBound(8));
+    assertEquals(16, LatencyHistogram.bucketUpperBound(11));
+
+    // Every value must land in a bucket, which upper bound is greater than the value
+    for (long value = 0; value < 100_000; value += 7) {
+      final int bucketIndex = LatencyHistogram.bucketIndex(value);
+      assertTrue(LatencyHistogram.bucketUpperBound(bucketIndex) > value);
+      if (bucketIndex > 0) {
+        assertTrue(LatencyHistogram.bucketUpperBound(bucketIndex - 1) <= value);
+      }
+    }
+
+    assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+  }
+
+  @Test
+  public final void histogramEstimatesPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0L, histogram.getPercentileNanos(50));
+
+    for (int idx = 1; idx <= 1000; idx++) {
+      histogram.record(idx * 1000L);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(500_500_000L, histogram.getSumNanos());
+
+    final long median = histogram.getPercentileNanos(50);
+    assertTrue(median >= 500_000L && median <= 500_000L * 5 / 4);
+
+    final long p99 = histogram.getPercentileNanos(99);
+    assertTrue(p99 >= 990_000L && p99 <= 990_000L * 5 / 4);
+  }
+
+  @Test
+  public final void disabledMetricsRecordNothing() {
+    final LanguageDetectionMetrics metrics = LanguageDetectionMetrics.DISABLED;
+    assertFalse(metrics.isEnabled());
+    assertEquals(0L, metrics.startNanos());
+
+    metrics.recordLatency(Stage.SCORING, 0L);
+    metrics.markCertaintyFallback();
+
+    assertEquals(0L, metrics.getCount(Stage.SCORING));
+    assertEquals(0L, metrics.getCertaintyFallbacks());
+  }
+
+  @Test
+  public final void countsDetectionOutcomes() {
+    final LanguageDetectionMetrics metrics = LanguageDetectionMetrics.create();
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES)
+            .withClassifyChineseAsJapanese()
+            .withMininumCertainty(0.95, "ru")
+            .withMetrics(metrics)
+            .build();
+    final LanguageDetectionOrchestrator orchestrator = new LanguageDetectionOrchestrator(settings);
+
+    assertEquals("und", orchestrator.detect(null).getIsoCode639_1());
+    assertEquals("und", orchestrator.detect("1234567").getIsoCode639_1());
+    assertEquals("ja", orchestrator.detect("東京に行き").getIsoCode639_1());
+    assertEquals("ru", orchestrator.detect("apples yaba").getIsoCode639_1());
+    assertEquals("de", orchestrator.detect("Das kann deutsch sein").getIsoCode639_1());
+
+    assertEquals(5, metrics.getCalls());
+    assertEquals(2, metrics.getUndeterminedResults());
+    assertEquals(1, metrics.getCjkShortCircuits());
+    assertEquals(1, metrics.getCertaintyFallbacks());
+
+    assertEquals(5, metrics.getCount(Stage.DETECTION));
+    assertEquals(4, metrics.getCount(Stage.SANITIZATION));
+    assertEquals(4, metrics.getCount(Stage.CJK_CHECK));
+    assertEquals(3, metrics.getCount(Stage.NGRAM_EXTRACTION));
+    assertEquals(3, metrics.getCount(Stage.SCORING));
+  }
+
+  @Test
+  public final void writesPrometheusTextFormat() {
+    final LanguageDetectionMetrics metrics = LanguageDetectionMetrics.create();
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES).withMetrics(metrics).build();
+    final LanguageDetectionOrchestrator orchestrator = new LanguageDetectionOrchestrator(settings);
+    orchestrator.detect("This is a very small test");
+
+    final String exposition = metrics.toPrometheus();
+
+    assertTrue(exposition.contains("# TYPE language_detection_calls_total counter\n"));
+    assertTrue(exposition.contains("\nlanguage_detection_calls_total 1\n"));
+    assertTrue(exposition.contains("\nlanguage_detection_undetermined_total 0\n"));
+    assertTrue(
+        exposition.contains("# TYPE language_detection_stage_duration_seconds histogram\n"));
+    assertTrue(
+        exposition.contains(
+            "\nlanguage_detection_stage_duration_seconds_bucket{stage=\"detection\",le=\"+Inf\"} 1\n"));
+    assertTrue(
+        exposition.contains(
+            "\nlanguage_detection_stage_duration_seconds_count{stage=\"cjk_check\"} 0\n"));
+    assertTrue(
+        exposition.contains(
+            "\nlanguage_detection_stage_duration_seconds_bucket{stage=\"scoring\",le=\"1.023E-6\"} "));
+  }
+
+  @Test
+  public final void exportsOverflowBucketAsInfinity() {
+    final LanguageDetectionMetrics metrics = LanguageDetectionMetrics.create();
+    // About 18 minutes, which is above the range of the histogram
+    metrics.recordLatency(Stage.CJK_CHECK, System.nanoTime() - (1L << 40));
+
+    final String exposition = metrics.toPrometheus();
+
+    // The largest finite bound is the inclusive bound of the last octave below the overflow
+    assertTrue(
+        exposition.contains(
+            "\nlanguage_detection_stage_duration_seconds_bucket{stage=\"cjk_check\",le=\"274.877906943\"} 0\n"));
+    assertTrue(
+        exposition.contains(
+            "\nlanguage_detection_stage_duration_seconds_bucket{stage=\"cjk_check\",le=\"+Inf\"} 1\n"));
+    assertFalse(exposition.contains("le=\"549.755813888\""));
+  }
+}
@@ -3,7 +3,9 @@ package io.github.azagniotov.language;
 import static io.github.azagniotov.language.TestDefaultConstants.MAX_NGRAM_LENGTH;
 import static io.github.azagniotov.language.TestHelper.testLanguage;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
@@ -244,6 +246,33 @@ public class LanguageDetectionOrchestratorTest {
     assertEquals("ru", orchestrator.detect("ourney mi casa").getIsoCode639_1());
   }
 
+  @Test
+  public final void routesInputsByLengthToAdaptiveProfiles() throws Exception {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, ja, de, fr")
+            .withAdaptiveProfiles(10)
+            .build();
+    final ModelLoader modelLoader = new ModelLoader(Runnable::run);
+    final ModelLoader shortTextModelLoader = new ModelLoader(Runnable::run);
+    final LanguageDetectionOrchestrator orchestrator =
+        new LanguageDetectionOrchestrator(settings, modelLoader, shortTextModelLoader);
+
+    // The sanitized input of up to the cut-over chars is detected by the short-text profiles
+    assertEquals("de", orchestrator.detect("Guten Tag").getIsoCode639_1());
+    assertTrue(shortTextModelLoader.isReady());
+    assertFalse(modelLoader.isReady());
+    assertFalse(orchestrator.isReady());
+    assertEquals(
+        "classpath:/langdetect/short-text", shortTextModelLoader.getStatus().getSource());
+
+    assertEquals(
+        "de", orchestrator.detect("Guten Tag, wie geht es Ihnen heute Abend?").getIsoCode639_1());
+    assertTrue(modelLoader.isReady());
+    assertTrue(orchestrator.isReady());
+    assertEquals(
+        "classpath:/langdetect/merged-average", modelLoader.getStatus().getSource());
+  }
+
   @Test
   public void testChinese() throws Exception {
     testLanguage("chinese.txt", "zh-cn", DEFAULT_DETECTOR);
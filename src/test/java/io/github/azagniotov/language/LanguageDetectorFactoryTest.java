@@ -0,0 +1,381 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.LanguageDetectionSettings.DEFAULT_HASHED_MODEL_BUCKETS;
+import static io.github.azagniotov.language.TestHelper.compressProfiles;
+import static io.github.azagniotov.language.TestHelper.copyProfiles;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Test;
+
+public class LanguageDetectorFactoryTest {
+
+  @Test
+  public final void loadsProfilesFromDirectory() throws Exception {
+    final Path profilesDirectory = copyProfiles("en", "de", "ja");
+    final LanguageDetectorFactory fromClasspath =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja").build());
+    final LanguageDetectorFactory fromDirectory =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja")
+                .withProfilesDirectory(profilesDirectory)
+                .build());
+
+    assertEquals(profilesDirectory.toString(), fromDirectory.getProfilesSource());
+    assertEquals(
+        fromClasspath.getSupportedIsoCodes639_1(), fromDirectory.getSupportedIsoCodes639_1());
+
+    final Map<String, double[]> expected = fromClasspath.getLanguageCorporaProbabilities();
+    final Map<String, double[]> actual = fromDirectory.getLanguageCorporaProbabilities();
+    assertEquals(expected.keySet(), actual.keySet());
+    for (final Map.Entry<String, double[]> entry : expected.entrySet()) {
+      assertArrayEquals(entry.getValue(), actual.get(entry.getKey()), 0.0);
+    }
+  }
+
+  @Test
+  public final void loadsCompressedProfilesFromDirectory() throws Exception {
+    final Path profilesDirectory = copyProfiles("en", "de", "ja");
+    final Path compressedProfilesDirectory = compressProfiles(profilesDirectory, "en", "de", "ja");
+    final LanguageDetectorFactory raw =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja")
+                .withProfilesDirectory(profilesDirectory)
+                .build());
+    final LanguageDetectorFactory compressed =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja")
+                .withProfilesDirectory(compressedProfilesDirectory)
+                .build());
+
+    assertEquals(raw.getSupportedIsoCodes639_1(), compressed.getSupportedIsoCodes639_1());
+    final Map<String, double[]> expected = raw.getLanguageCorporaProbabilities();
+    final Map<String, double[]> actual = compressed.getLanguageCorporaProbabilities();
+    assertEquals(expected.keySet(), actual.keySet());
+    for (final Map.Entry<String, double[]> entry : expected.entrySet()) {
+      assertArrayEquals(entry.getValue(), actual.get(entry.getKey()), 0.0);
+    }
+  }
+
+  @Test
+  public final void loadsProfilesInParallel() {
+    final LanguageDetectorFactory sequential =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja, fr, zh-cn")
+                .withProfileLoadingParallelism(1)
+                .build());
+    final LanguageDetectorFactory parallel =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja, fr, zh-cn")
+                .withProfileLoadingParallelism(4)
+                .build());
+
+    assertEquals(
+        Arrays.asList("en", "de", "ja", "fr", "zh-cn"), parallel.getSupportedIsoCodes639_1());
+    assertEquals(sequential.getSupportedIsoCodes639_1(), parallel.getSupportedIsoCodes639_1());
+    final Map<String, double[]> expected = sequential.getLanguageCorporaProbabilities();
+    final Map<String, double[]> actual = parallel.getLanguageCorporaProbabilities();
+    assertEquals(expected.keySet(), actual.keySet());
+    for (final Map.Entry<String, double[]> entry : expected.entrySet()) {
+      assertArrayEquals(entry.getValue(), actual.get(entry.getKey()), 0.0);
+    }
+  }
+
+  @Test
+  public final void rejectsDuplicateProfilesInParallel() {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de, en")
+            .withProfileLoadingParallelism(3)
+            .build();
+
+    final UncheckedIOException thrown =
+        assertThrows(UncheckedIOException.class, () -> new LanguageDetectorFactory(settings));
+    assertTrue(thrown.getMessage().contains("Duplicate of the same language profile: en"));
+  }
+
+  @Test
+  public final void loadsModelOffHeap() {
+    final LanguageDetectionSettings onHeapSettings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja").build();
+    final LanguageDetectionSettings offHeapSettings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja").withOffHeapModel().build();
+    final LanguageDetectorFactory onHeap = new LanguageDetectorFactory(onHeapSettings);
+    final LanguageDetectorFactory offHeap = new LanguageDetectorFactory(offHeapSettings);
+
+    assertFalse(onHeap.getNGramModel().isOffHeap());
+    assertTrue(offHeap.getNGramModel().isOffHeap());
+    assertTrue(
+        LanguageDetectorFactory.modelLoader(onHeapSettings)
+            != LanguageDetectorFactory.modelLoader(offHeapSettings));
+
+    final Map<String, double[]> expected = onHeap.getLanguageCorporaProbabilities();
+    final Map<String, double[]> actual = offHeap.getLanguageCorporaProbabilities();
+    assertEquals(expected.keySet(), actual.keySet());
+    for (final Map.Entry<String, double[]> entry : expected.entrySet()) {
+      assertArrayEquals(entry.getValue(), actual.get(entry.getKey()), 0.0);
+    }
+
+    final String input = "Guten Morgen, wie geht es dir?";
+    final Language expectedLanguage =
+        onHeap.newDetector(LanguageDetectionMetrics.DISABLED).detectAll(input).get(0);
+    final Language actualLanguage =
+        offHeap.newDetector(LanguageDetectionMetrics.DISABLED).detectAll(input).get(0);
+    assertEquals("de", actualLanguage.getIsoCode639_1());
+    assertEquals(expectedLanguage.getProbability(), actualLanguage.getProbability(), 0.0);
+  }
+
+  @Test
+  public final void loadsHashedModel() {
+    final LanguageDetectionSettings exactSettings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja").build();
+    final LanguageDetectionSettings hashedSettings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de, ja")
+            .withHashedModel(DEFAULT_HASHED_MODEL_BUCKETS - 1)
+            .build();
+    assertEquals(DEFAULT_HASHED_MODEL_BUCKETS, hashedSettings.getHashedModelBuckets());
+    assertTrue(
+        LanguageDetectorFactory.modelLoader(exactSettings)
+            != LanguageDetectorFactory.modelLoader(hashedSettings));
+
+    final LanguageDetectorFactory exact = new LanguageDetectorFactory(exactSettings);
+    final LanguageDetectorFactory hashed = new LanguageDetectorFactory(hashedSettings);
+    final NGramModel hashedModel = hashed.getNGramModel();
+    assertTrue(hashedModel.isHashed());
+    assertNull(hashedModel.getDictionary());
+    assertEquals(DEFAULT_HASHED_MODEL_BUCKETS, hashedModel.idLimit());
+    // The n-grams that share a bucket share a row
+    assertTrue(hashedModel.size() < exact.getNGramModel().size());
+    assertThrows(UnsupportedOperationException.class, hashed::getLanguageCorporaProbabilities);
+
+    // The probabilities of every language add up to the same total over the buckets
+    final double[] expectedTotals = new double[3];
+    for (final double[] probabilities : exact.getLanguageCorporaProbabilities().values()) {
+      for (int idx = 0; idx < expectedTotals.length; idx++) {
+        expectedTotals[idx] += probabilities[idx];
+      }
+    }
+    final double[] actualTotals = new double[3];
+    for (int bucket = 0; bucket < hashedModel.idLimit(); bucket++) {
+      final double[] probabilities = hashedModel.probabilities(bucket);
+      for (int idx = 0; probabilities != null && idx < actualTotals.length; idx++) {
+        actualTotals[idx] += probabilities[idx];
+      }
+    }
+    assertArrayEquals(expectedTotals, actualTotals, 1e-6);
+
+    final LanguageDetector detector = hashed.newDetector(LanguageDetectionMetrics.DISABLED);
+    assertEquals("de", detector.detectAll("Guten Morgen, wie geht's?").get(0).getIsoCode639_1());
+    assertEquals("en", detector.detectAll("Good morning, how are you?").get(0).getIsoCode639_1());
+    assertEquals("ja", detector.detectAll("東京に行きました。").get(0).getIsoCode639_1());
+  }
+
+  @Test
+  public final void reportsMissingProfileFile() throws Exception {
+    final Path profilesDirectory = copyProfiles("en");
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de")
+            .withProfilesDirectory(profilesDirectory)
+            .build();
+
+    final UncheckedIOException thrown =
+        assertThrows(UncheckedIOException.class, () -> new LanguageDetectorFactory(settings));
+    assertTrue(thrown.getMessage().contains(profilesDirectory.resolve("de").toString()));
+  }
+
+  @Test
+  public final void doesNotGrowSharedDictionaryOnReload() throws Exception {
+    final Path profilesDirectory = copyProfiles("en", "de");
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,de")
+            .withProfilesDirectory(profilesDirectory)
+            .build();
+    new LanguageDetectorFactory(settings);
+    final NGramDictionary.Snapshot loaded = NGramDictionary.SHARED.snapshot();
+
+    new LanguageDetectorFactory(settings, profilesDirectory);
+    assertTrue(NGramDictionary.SHARED.snapshot() == loaded);
+  }
+
+  @Test
+  public final void reportsMissingProfileArtifact() {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, xx").build();
+
+    final UncheckedIOException thrown =
+        assertThrows(UncheckedIOException.class, () -> new LanguageDetectorFactory(settings));
+    assertTrue(
+        thrown.getMessage().contains("language-detection-profile-merged-average-xx artifact"));
+  }
+
+  @Test
+  public final void readsByteBuffer() throws Exception {
+    final byte[] bytes = "{\"name\":\"日本語\"}".getBytes(StandardCharsets.UTF_8);
+    try (final InputStream in = new ByteBufferInputStream(ByteBuffer.wrap(bytes))) {
+      assertEquals(bytes.length, in.available());
+      assertEquals('{', in.read());
+      assertEquals(1, in.skip(1));
+
+      final byte[] rest = new byte[bytes.length];
+      final int count = in.read(rest, 0, rest.length);
+      assertEquals(bytes.length - 2, count);
+      assertEquals(bytes[bytes.length - 1], rest[count - 1]);
+      assertEquals(-1, in.read());
+      assertEquals(-1, in.read(rest, 0, rest.length));
+    }
+  }
+
+  @Test
+  public final void loadsNGramsUpToMaxNGramLength() {
+    final LanguageDetectorFactory bigrams =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en,de").withMaxNGramLength(2).build());
+
+    assertEquals(2, bigrams.getMaxNGramLength());
+    assertTrue(bigrams.getLanguageCorporaProbabilities().containsKey("th"));
+    assertTrue(
+        bigrams.getLanguageCorporaProbabilities().keySet().stream()
+            .allMatch(nGram -> nGram.length() <= 2));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LanguageDetectionSettings.fromIsoCodes639_1("en").withMaxNGramLength(10));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LanguageDetectionSettings.fromIsoCodes639_1("en").withMaxNGramLength(0));
+  }
+
+  @Test
+  public final void cachesModelPerModelKey() {
+    final LanguageDetectionSettings query =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,ja")
+            .withPreset(LanguageDetectionPreset.FAST)
+            .build();
+    final LanguageDetectionSettings indexing =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,ja")
+            .withPreset(LanguageDetectionPreset.ACCURATE)
+            .withProbabilityThreshold(0.2)
+            .build();
+    final LanguageDetectionSettings otherLanguages =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,de").build();
+    final LanguageDetectionSettings bigrams =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,ja").withMaxNGramLength(2).build();
+
+    // The model parameters only change how the same model is scored
+    assertEquals(query.getModelKey(), indexing.getModelKey());
+    assertTrue(
+        LanguageDetectorFactory.modelLoader(query)
+            == LanguageDetectorFactory.modelLoader(indexing));
+    assertTrue(
+        LanguageDetectorFactory.modelLoader(query)
+            != LanguageDetectorFactory.modelLoader(otherLanguages));
+    assertTrue(
+        LanguageDetectorFactory.modelLoader(query) != LanguageDetectorFactory.modelLoader(bigrams));
+
+    assertEquals(LanguageDetectionPreset.FAST.getModelParameters(), query.getModelParameters());
+    assertEquals(0.1, indexing.getModelParameters().getAlpha(), 0.0);
+    assertEquals(0.2, indexing.getModelParameters().getProbabilityThreshold(), 0.0);
+    final LanguageDetector detector = LanguageDetectorFactory.detector(query);
+    assertEquals("en", detector.detectAll("Hello world").get(0).getIsoCode639_1());
+  }
+
+  @Test
+  public final void evictsLeastRecentlyUsedModelLoaders() {
+    final LanguageDetectionSettings recent =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,fr").build();
+    final LanguageDetectionSettings eldest =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,it").build();
+    final ModelLoader recentLoader = LanguageDetectorFactory.modelLoader(recent);
+    final ModelLoader eldestLoader = LanguageDetectorFactory.modelLoader(eldest);
+
+    for (int maxModelNGrams = 1;
+        maxModelNGrams < LanguageDetectorFactory.MAX_MODEL_LOADERS;
+        maxModelNGrams++) {
+      assertTrue(LanguageDetectorFactory.modelLoader(recent) == recentLoader);
+      LanguageDetectorFactory.modelLoader(
+          LanguageDetectionSettings.fromIsoCodes639_1("en,fr")
+              .withMaxModelNGrams(maxModelNGrams)
+              .build());
+    }
+
+    assertTrue(LanguageDetectorFactory.modelLoader(recent) == recentLoader);
+    assertTrue(LanguageDetectorFactory.modelLoader(eldest) != eldestLoader);
+  }
+
+  @Test
+  public final void derivesShortTextSettingsForAdaptiveProfiles() throws Exception {
+    final Path profilesDirectory = copyProfiles("en", "ja");
+    final LanguageDetectionSettings adaptive =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,ja")
+            .withProfilesDirectory(profilesDirectory)
+            .withPreset(LanguageDetectionPreset.FAST)
+            .withAdaptiveProfiles()
+            .build();
+    final LanguageDetectionSettings shortText = adaptive.getShortTextSettings();
+
+    assertEquals(
+        LanguageDetectionSettings.DEFAULT_ADAPTIVE_CUT_OVER_CHARS,
+        adaptive.getAdaptiveCutOverChars());
+    assertEquals("merged-average", adaptive.getProfile());
+    assertEquals("short-text", shortText.getProfile());
+    assertNull(shortText.getProfilesDirectory());
+    assertEquals(adaptive.getIsoCodes639_1(), shortText.getIsoCodes639_1());
+    assertEquals(adaptive.getModelParameters(), shortText.getModelParameters());
+    assertEquals(0, shortText.getAdaptiveCutOverChars());
+    assertNull(shortText.getShortTextSettings());
+    assertTrue(
+        LanguageDetectorFactory.modelLoader(adaptive)
+            != LanguageDetectorFactory.modelLoader(shortText));
+
+    // The short-text profile has nothing to route to
+    final LanguageDetectionSettings shortTextOnly =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,ja")
+            .withProfile("short-text")
+            .withAdaptiveProfiles(20)
+            .build();
+    assertEquals(0, shortTextOnly.getAdaptiveCutOverChars());
+    assertNull(shortTextOnly.getShortTextSettings());
+  }
+
+  @Test
+  public final void rejectsAdaptiveProfilesWithoutShortTextLanguages() {
+    final IllegalArgumentException thrown =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                LanguageDetectionSettings.fromIsoCodes639_1("en,af,ja,sw")
+                    .withAdaptiveProfiles()
+                    .build());
+    assertTrue(thrown.getMessage().contains("[af, sw]"));
+
+    // The same languages are detected by the configured profiles only
+    assertNull(
+        LanguageDetectionSettings.fromIsoCodes639_1("en,af,ja,sw").build().getShortTextSettings());
+    assertNull(
+        LanguageDetectionSettings.fromIsoCodes639_1("en,af,ja,sw")
+            .withProfile("short-text")
+            .withAdaptiveProfiles()
+            .build()
+            .getShortTextSettings());
+  }
+
+  @Test
+  public final void rejectsInvalidModelParameters() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LanguageDetectionSettings.fromIsoCodes639_1("en").withNumberOfTrials(0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LanguageDetectionSettings.fromIsoCodes639_1("en").withConvThreshold(1.5));
+  }
+}
@@ -4,6 +4,7 @@ import static io.github.azagniotov.language.LanguageDetectionSettings.DEFAULT_SE
 import static io.github.azagniotov.language.TestDefaultConstants.MAX_NGRAM_LENGTH;
 import static io.github.azagniotov.language.TestHelper.testLanguage;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
@@ -299,4 +300,34 @@ public class LanguageDetectorTest {
     assertEquals("fr", detector.detectAll("apple").get(0).getIsoCode639_1());
     assertEquals("es", detector.detectAll("report").get(0).getIsoCode639_1());
   }
+
+  @Test
+  public final void detectsWithModelParameters() throws Exception {
+    final LanguageDetectionSettings supportedLanguages =
+        LanguageDetectionSettings.fromIsoCodes639_1("en,de,fr,es,it").build();
+    final LanguageDetectorFactory factory = new LanguageDetectorFactory(supportedLanguages);
+    final LanguageDetector defaultDetector =
+        new LanguageDetector(
+            factory.getSupportedIsoCodes639_1(),
+            factory.getLanguageCorporaProbabilities(),
+            MAX_NGRAM_LENGTH);
+    final LanguageDetector singleTrialDetector =
+        new LanguageDetector(
+            factory.getSupportedIsoCodes639_1(),
+            factory.getLanguageCorporaProbabilities(),
+            MAX_NGRAM_LENGTH,
+            new ModelParameters(1, 50, 0.5, 0.05, 0.99999, 0.1),
+            LanguageDetectionMetrics.DISABLED);
+
+    final String text = "This is a sentence in the English language";
+    assertEquals("en", defaultDetector.detectAll(text).get(0).getIsoCode639_1());
+    assertEquals("en", singleTrialDetector.detectAll(text).get(0).getIsoCode639_1());
+    assertTrue(singleTrialDetector.getIterations() <= 51);
+    assertTrue(defaultDetector.getIterations() > singleTrialDetector.getIterations());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public final void rejectsInvalidModelParameters() {
+    new ModelParameters(0, 10000, 0.5, 0.05, 0.99999, 0.1);
+  }
 }
@@ -1,36 +1,25 @@
 package io.github.azagniotov.language;
 
 import static io.github.azagniotov.language.StringConstants.EMPTY_STRING;
-import static java.util.Collections.nCopies;
 import static org.junit.Assert.assertEquals;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.Ignore;
 import org.junit.Test;
 
 public class LanguageProfileGenerator {
 
-  // 32 KB for the char[] elements
-  // 8 bytes for the reference
-  // ~12–16 bytes for the array object overhead
-  // Memory usage for each chunk is: ~ 32 KB + 20–24 bytes
-  private static final int CHUNK_SIZE = 16384;
   private static final int MAX_GRAM_SIZE = 3;
 
   // Matches anything that is NOT Hiragana, Katakana, Kanji, Full-width characters or numbers
@@ -62,15 +51,7 @@ public class LanguageProfileGenerator {
       }
     }
 
-    final List<Double> nWords = Arrays.asList(nCopies(MAX_GRAM_SIZE, 0.0).toArray(new Double[0]));
-    final LanguageProfile languageProfile =
-        new LanguageProfile(targetCode, new HashMap<>(), nWords);
-
-    processFilesInDirectory(sourcePath, languageProfile);
-
-    System.out.println("\n.getNGramCounts(): " + languageProfile.getNGramCounts());
-    languageProfile.omitLessFreq();
-    System.out.println(".getNGramCounts(): " + languageProfile.getNGramCounts() + "\n");
+    final LanguageProfile languageProfile = trainProfile(targetCode, sourcePath);
 
     final String languageProfileJson = languageProfile.toJson();
     writeProfile("high-accuracy", targetCode, languageProfileJson);
@@ -78,46 +59,34 @@ public class LanguageProfileGenerator {
     assertEquals("apples", "apples");
   }
 
-  public void processFilesInDirectory(
-      final String directoryPath, final LanguageProfile languageProfile) throws IOException {
-
+  public LanguageProfile trainProfile(final String targetCode, final String directoryPath)
+      throws IOException {
+    final List<Path> files;
     try (final Stream<Path> paths = Files.list(Paths.get(directoryPath))) {
-      paths
-          .filter(path -> path.toString().endsWith(".txt"))
-          .forEach(
-              path -> {
-                System.out.println("\nReading: " + path + "..");
-                try {
-                  updateProfileInChunks(path.toFile(), languageProfile);
-                  System.out.println("Finished processing!!");
-                } catch (IOException e) {
-                  throw new UncheckedIOException(e);
-                }
-              });
+      files =
+          paths
+              .filter(path -> path.toString().endsWith(".txt"))
+              .sorted()
+              .collect(Collectors.toList());
     }
-  }
+    System.out.println("\nTraining on " + files.size() + " files..");
+
+    final UnaryOperator<String> chunkPreprocessor =
+        targetCode.equals("ja") ? this::sanitizeForJapanese : UnaryOperator.identity();
+    final LanguageProfileTrainer trainer =
+        new LanguageProfileTrainer(
+            targetCode,
+            MAX_GRAM_SIZE,
+            chunkPreprocessor,
+            Runtime.getRuntime().availableProcessors());
+
+    final NGramCountTable counts = trainer.count(files);
+    final LanguageProfile languageProfile = trainer.toLanguageProfile(counts);
+    System.out.println("\n.getNGramCounts(): " + languageProfile.getNGramCounts());
+    languageProfile.omitLessFreq();
+    System.out.println(".getNGramCounts(): " + languageProfile.getNGramCounts() + "\n");
 
-  public void updateProfileInChunks(final File file, final LanguageProfile languageProfile)
-      throws IOException {
-    try (final FileInputStream fileInputStream = new FileInputStream(file);
-        final InputStreamReader inputStreamReader =
-            new InputStreamReader(fileInputStream, StandardCharsets.UTF_8);
-        final BufferedReader reader = new BufferedReader(inputStreamReader)) {
-
-      final char[] buffer = new char[CHUNK_SIZE];
-      while (true) {
-        final int bytesRead = reader.read(buffer);
-        if (bytesRead == -1) {
-          break;
-        }
-        final String input = new String(buffer, 0, bytesRead);
-        if (languageProfile.getIsoCode639_1().equals("ja")) {
-          languageProfile.update(sanitizeForJapanese(input), MAX_GRAM_SIZE);
-        } else {
-          languageProfile.update(input, MAX_GRAM_SIZE);
-        }
-      }
-    }
+    return languageProfile;
   }
 
   private void writeProfile(final String path, final String targetCode, final String json)
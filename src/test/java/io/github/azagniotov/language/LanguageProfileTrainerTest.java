@@ -0,0 +1,116 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.NGram.NO_PACKED_NGRAM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.junit.Test;
+
+public class LanguageProfileTrainerTest {
+
+  private static final int MAX_NGRAM_LENGTH = 3;
+
+  @Test
+  public final void packsNGrams() {
+    for (final String nGram : Arrays.asList("a", " a", "ab", " ab", "abc", "日本語", "\u0000")) {
+      final long packedNGram = NGram.pack(nGram);
+      assertEquals(nGram.length(), NGram.packedLength(packedNGram));
+      assertEquals(nGram, NGram.unpack(packedNGram));
+    }
+    assertThrows(IllegalArgumentException.class, () -> NGram.pack("abcd"));
+
+    final NGram gram = new NGram("", MAX_NGRAM_LENGTH);
+    for (final char ch : "Hello, WORLD wide Web".toCharArray()) {
+      gram.addChar(ch);
+      for (int n = 1; n <= MAX_NGRAM_LENGTH; n++) {
+        final String expected = gram.get(n);
+        final long packedNGram = gram.getPacked(n);
+        assertEquals(expected, packedNGram == NO_PACKED_NGRAM ? "" : NGram.unpack(packedNGram));
+      }
+    }
+  }
+
+  @Test
+  public final void countsIntoPrimitiveTable() {
+    final NGramCountTable table = new NGramCountTable(4);
+    for (int idx = 0; idx < 100_000; idx++) {
+      table.add(NGram.pack(String.valueOf((char) ('a' + idx % 26))), 2);
+      table.increment(NGram.pack(Integer.toString(idx % 1000)));
+    }
+    assertEquals(26 + 1000, table.size());
+    assertEquals(100_000 / 26 * 2 + 2, table.get(NGram.pack("a")));
+    assertEquals(100, table.get(NGram.pack("999")));
+    assertEquals(0, table.get(NGram.pack("zzz")));
+
+    final NGramCountTable other = new NGramCountTable();
+    other.add(NGram.pack("a"), 1);
+    other.add(NGram.pack("new"), 5);
+    table.merge(other);
+    assertEquals(100_000 / 26 * 2 + 3, table.get(NGram.pack("a")));
+    assertEquals(5, table.get(NGram.pack("new")));
+  }
+
+  @Test
+  public final void trainsSameProfileAsSequentialUpdates() throws Exception {
+    final List<Path> files = writeTrainingFiles();
+    final UnaryOperator<String> chunkPreprocessor = chunk -> chunk.replace("ignored", " ");
+
+    final LanguageProfileTrainer trainer =
+        new LanguageProfileTrainer("ja", MAX_NGRAM_LENGTH, chunkPreprocessor, 4);
+    final LanguageProfile trained = trainer.train(files);
+
+    final LanguageProfile expected =
+        new LanguageProfile("ja", new HashMap<>(), new ArrayList<>(Arrays.asList(0.0, 0.0, 0.0)));
+    final char[] buffer = new char[LanguageProfileTrainer.CHUNK_SIZE];
+    for (final Path file : files) {
+      try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        int charsRead;
+        while ((charsRead = reader.read(buffer)) != -1) {
+          expected.update(
+              chunkPreprocessor.apply(new String(buffer, 0, charsRead)), MAX_NGRAM_LENGTH);
+        }
+      }
+    }
+    expected.omitLessFreq();
+
+    assertEquals("ja", trained.getIsoCode639_1());
+    assertTrue(trained.getWordFrequencies().size() > 1000);
+    assertEquals(expected.getNGramCounts(), trained.getNGramCounts());
+    assertEquals(expected.getWordFrequencies(), trained.getWordFrequencies());
+  }
+
+  /** A few small files and a large one, which is split into batches of chunks. */
+  private static List<Path> writeTrainingFiles() throws Exception {
+    final String text;
+    try (final InputStream in =
+        LanguageProfileTrainerTest.class.getResourceAsStream("/large.japanese.txt")) {
+      text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    final Path directory = Files.createTempDirectory("training");
+    directory.toFile().deleteOnExit();
+    final List<Path> files = new ArrayList<>();
+    for (int idx = 0; idx < 5; idx++) {
+      final StringBuilder content = new StringBuilder();
+      final int repetitions = idx == 0 ? 2 * 1024 * 1024 / text.length() : idx;
+      for (int repetition = 0; repetition < repetitions; repetition++) {
+        content.append(text).append(" ignored ").append(repetition).append('\n');
+      }
+      final Path file = Files.writeString(directory.resolve(idx + ".txt"), content);
+      file.toFile().deleteOnExit();
+      files.add(file);
+    }
+    return files;
+  }
+}
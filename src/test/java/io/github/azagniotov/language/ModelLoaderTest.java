@@ -0,0 +1,249 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.TestHelper.copyProfiles;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+
+public class ModelLoaderTest {
+
+  private static final String ISO_CODES = "en, ja, es, fr, de, zh-cn, af, nl, ko";
+  private static final LanguageDetectionSettings SETTINGS =
+      LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES).build();
+
+  @Test
+  public final void loadsModelOnce() {
+    final DeferredExecutor executor = new DeferredExecutor();
+    final ModelLoader modelLoader = new ModelLoader(executor);
+
+    final CompletableFuture<LanguageDetectorFactory> first = modelLoader.loadAsync(SETTINGS);
+    final CompletableFuture<LanguageDetectorFactory> second = modelLoader.loadAsync(SETTINGS);
+    assertSame(first, second);
+    assertEquals(1, executor.pending.size());
+    assertFalse(modelLoader.isReady());
+
+    executor.runAll();
+
+    assertTrue(modelLoader.isReady());
+    assertSame(first.join(), modelLoader.await(SETTINGS));
+    assertEquals(0, executor.pending.size());
+  }
+
+  @Test
+  public final void buildsAutomatonBeforeModelIsReady() {
+    final DeferredExecutor executor = new DeferredExecutor();
+    final ModelLoader modelLoader = new ModelLoader(executor);
+    modelLoader.loadAsync(SETTINGS);
+
+    executor.runAll();
+
+    // The detections extract against the published snapshot, whose automaton is already built
+    assertTrue(modelLoader.isReady());
+    final NGramModel nGramModel = modelLoader.await(SETTINGS).getNGramModel();
+    assertTrue(nGramModel.getDictionary().snapshot().hasAutomaton());
+  }
+
+  @Test
+  public final void doesNotWaitBeyondTimeout() {
+    final DeferredExecutor executor = new DeferredExecutor();
+    final ModelLoader modelLoader = new ModelLoader(executor);
+
+    assertFalse(modelLoader.await(SETTINGS, Duration.ZERO).isPresent());
+    assertFalse(modelLoader.await(SETTINGS, Duration.ofMillis(10)).isPresent());
+
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES)
+            .withModelLoadingTimeout(Duration.ZERO)
+            .build();
+    assertFalse(modelLoader.model(settings).isPresent());
+
+    executor.runAll();
+
+    assertTrue(modelLoader.await(SETTINGS, Duration.ZERO).isPresent());
+    assertTrue(modelLoader.model(settings).isPresent());
+  }
+
+  @Test
+  public final void waitsForTimeoutsBeyondNanos() {
+    final ModelLoader modelLoader = new ModelLoader(Runnable::run);
+
+    // Neither is representable in nanoseconds, both wait for as long as the loading takes
+    assertTrue(modelLoader.await(SETTINGS, Duration.ofSeconds(Long.MAX_VALUE)).isPresent());
+    assertTrue(modelLoader.await(SETTINGS, ChronoUnit.FOREVER.getDuration()).isPresent());
+  }
+
+  @Test
+  public final void retriesAfterFailedLoading() {
+    final DeferredExecutor executor = new DeferredExecutor();
+    final ModelLoader modelLoader = new ModelLoader(executor);
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, xx").build();
+
+    final CompletableFuture<LanguageDetectorFactory> failed = modelLoader.loadAsync(settings);
+    executor.runAll();
+
+    assertTrue(failed.isCompletedExceptionally());
+    assertFalse(modelLoader.isReady());
+    final CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+    assertTrue(thrown.getCause() instanceof UncheckedIOException);
+
+    // The failed attempt is not cached
+    modelLoader.loadAsync(SETTINGS);
+    executor.runAll();
+    assertTrue(modelLoader.isReady());
+  }
+
+  @Test
+  public final void returnsUndeterminedOrFallbackWhileLoading() {
+    final DeferredExecutor executor = new DeferredExecutor();
+    final ModelLoader modelLoader = new ModelLoader(executor);
+
+    final LanguageDetectionOrchestrator undeterminedOrchestrator =
+        new LanguageDetectionOrchestrator(
+            LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES)
+                .withModelLoadingTimeout(Duration.ZERO)
+                .build(),
+            modelLoader);
+    final LanguageDetectionOrchestrator fallbackOrchestrator =
+        new LanguageDetectionOrchestrator(
+            LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES)
+                .withModelLoadingTimeout(Duration.ofMillis(10), "fr")
+                .build(),
+            modelLoader);
+
+    final CompletableFuture<LanguageDetectionOrchestrator> preloaded =
+        undeterminedOrchestrator.preload();
+    assertFalse(undeterminedOrchestrator.isReady());
+    assertEquals("und", undeterminedOrchestrator.detect("Das kann deutsch sein").getIsoCode639_1());
+    assertEquals("fr", fallbackOrchestrator.detect("Das kann deutsch sein").getIsoCode639_1());
+
+    executor.runAll();
+
+    assertSame(undeterminedOrchestrator, preloaded.join());
+    assertTrue(fallbackOrchestrator.isReady());
+    assertEquals("de", undeterminedOrchestrator.detect("Das kann deutsch sein").getIsoCode639_1());
+    assertEquals("de", fallbackOrchestrator.detect("Das kann deutsch sein").getIsoCode639_1());
+  }
+
+  @Test
+  public final void preloadsSharedModel() {
+    final LanguageDetectionOrchestrator orchestrator = new LanguageDetectionOrchestrator(SETTINGS);
+
+    assertSame(orchestrator, orchestrator.preload().join());
+    assertTrue(orchestrator.isReady());
+  }
+
+  @Test
+  public final void reloadsModelFromDirectory() throws Exception {
+    final DeferredExecutor executor = new DeferredExecutor();
+    final ModelLoader modelLoader = new ModelLoader(executor);
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de").build();
+
+    modelLoader.loadAsync(settings);
+    executor.runAll();
+    final LanguageDetectorFactory initial = modelLoader.await(settings);
+    assertEquals(1, modelLoader.getStatus().getVersion());
+    assertEquals("classpath:/langdetect/merged-average", modelLoader.getStatus().getSource());
+
+    // A detection that has started before the swap keeps the previous model
+    final LanguageDetector inFlight = initial.newDetector(LanguageDetectionMetrics.DISABLED);
+
+    final Path profilesDirectory = copyProfiles("en", "de");
+    final CompletableFuture<ModelStatus> reloading =
+        modelLoader.reload(settings, profilesDirectory);
+    assertSame(initial, modelLoader.await(settings));
+    executor.runAll();
+
+    final ModelStatus status = reloading.join();
+    assertEquals(2, status.getVersion());
+    assertEquals(1, status.getReloads());
+    assertEquals(profilesDirectory.toString(), status.getSource());
+    assertTrue(status.getLoadDuration().toNanos() > 0);
+    assertSame(status, modelLoader.getStatus());
+
+    final LanguageDetectorFactory reloaded = modelLoader.await(settings);
+    assertNotSame(initial, reloaded);
+    assertEquals("de", inFlight.detectAll("Das kann deutsch sein").get(0).getIsoCode639_1());
+    assertEquals(
+        "de",
+        reloaded
+            .newDetector(LanguageDetectionMetrics.DISABLED)
+            .detectAll("Das kann deutsch sein")
+            .get(0)
+            .getIsoCode639_1());
+  }
+
+  @Test
+  public final void keepsModelWhenReloadFails() throws Exception {
+    final DeferredExecutor executor = new DeferredExecutor();
+    final ModelLoader modelLoader = new ModelLoader(executor);
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de").build();
+
+    modelLoader.loadAsync(settings);
+    executor.runAll();
+    final LanguageDetectorFactory initial = modelLoader.await(settings);
+
+    // The "de" profile is missing
+    final CompletableFuture<ModelStatus> missingProfile =
+        modelLoader.reload(settings, copyProfiles("en"));
+    executor.runAll();
+    assertTrue(missingProfile.isCompletedExceptionally());
+
+    // The "de" file contains the "en" profile
+    final Path mislabeledDirectory = copyProfiles("en");
+    Files.copy(mislabeledDirectory.resolve("en"), mislabeledDirectory.resolve("de"));
+    final CompletableFuture<ModelStatus> mislabeledProfile =
+        modelLoader.reload(settings, mislabeledDirectory);
+    executor.runAll();
+    final CompletionException thrown =
+        assertThrows(CompletionException.class, mislabeledProfile::join);
+    assertTrue(thrown.getCause() instanceof UncheckedIOException);
+
+    assertSame(initial, modelLoader.await(settings));
+    assertEquals(1, modelLoader.getStatus().getVersion());
+    assertEquals(0, modelLoader.getStatus().getReloads());
+    assertEquals(2, modelLoader.getStatus().getFailedReloads());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public final void rejectsModelWithUnexpectedLanguages() {
+    final LanguageDetectorFactory model =
+        new LanguageDetectorFactory(LanguageDetectionSettings.fromIsoCodes639_1("de, en").build());
+
+    ModelLoader.validate(model, LanguageDetectionSettings.fromIsoCodes639_1("en, de").build());
+  }
+
+  /** Runs the submitted tasks on the test thread, when asked to. */
+  private static final class DeferredExecutor implements Executor {
+
+    private final List<Runnable> pending = new ArrayList<>();
+
+    @Override
+    public void execute(final Runnable command) {
+      pending.add(command);
+    }
+
+    void runAll() {
+      final List<Runnable> tasks = new ArrayList<>(pending);
+      pending.clear();
+      tasks.forEach(Runnable::run);
+    }
+  }
+}
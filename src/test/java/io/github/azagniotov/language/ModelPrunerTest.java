@@ -0,0 +1,129 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.TestHelper.compressProfiles;
+import static io.github.azagniotov.language.TestHelper.copyProfiles;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class ModelPrunerTest {
+
+  @Test
+  public final void ranksNGramsByInformationGain() {
+    assertEquals(0.0, ModelPruner.informationGain(new double[] {0.1, 0.1, 0.1}), 0.0);
+    assertEquals(0.0, ModelPruner.informationGain(new double[] {0.0, 0.0, 0.0}), 0.0);
+    assertEquals(
+        0.2 / 3 * Math.log(3), ModelPruner.informationGain(new double[] {0.2, 0.0, 0.0}), 1e-12);
+
+    final Map<String, double[]> model = new HashMap<>();
+    model.put("uniform", new double[] {0.3, 0.3, 0.3});
+    model.put("skewed", new double[] {0.2, 0.01, 0.0});
+    model.put("rare", new double[] {1e-6, 0.0, 0.0});
+    model.put("specific", new double[] {0.0, 0.05, 0.0});
+
+    assertEquals(Set.of("skewed", "specific"), new ModelPruner(0, 2).retainedNGrams(model));
+    assertEquals(
+        Set.of("skewed"),
+        new ModelPruner(ModelPruner.estimatedBytes(3, false) + 1, 0).retainedNGrams(model));
+
+    assertEquals(3, new ModelPruner(0, 1).prune(model));
+    assertEquals(Set.of("skewed"), model.keySet());
+  }
+
+  @Test
+  public final void pricesCompiledRows() {
+    // A row is 8 bytes per language, the rest of the n-gram is its dictionary entry
+    assertEquals(
+        2 * Double.BYTES,
+        ModelPruner.estimatedBytes(3, true) - ModelPruner.estimatedBytes(1, true));
+    // An on-heap row has an array header too
+    assertTrue(ModelPruner.estimatedBytes(3, false) > ModelPruner.estimatedBytes(3, true));
+
+    final Map<String, double[]> model = new HashMap<>();
+    model.put("skewed", new double[] {0.2, 0.01, 0.0});
+    model.put("specific", new double[] {0.0, 0.05, 0.0});
+    final long offHeapBudget = 2 * ModelPruner.estimatedBytes(3, true);
+    assertEquals(2, new ModelPruner(offHeapBudget, 0, true).retainedNGrams(model).size());
+    assertEquals(1, new ModelPruner(offHeapBudget, 0, false).retainedNGrams(model).size());
+  }
+
+  @Test
+  public final void rejectsByteBudgetOfHashedModel() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            LanguageDetectionSettings.fromIsoCodes639_1("en,de")
+                .withHashedModel(1 << 16)
+                .withMaxModelBytes(1024 * 1024)
+                .build());
+  }
+
+  @Test
+  public final void prunesModelWhenLoaded() {
+    final LanguageDetectorFactory full =
+        new LanguageDetectorFactory(LanguageDetectionSettings.fromIsoCodes639_1("en,de").build());
+    final LanguageDetectorFactory byNGrams =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en,de").withMaxModelNGrams(1000).build());
+    final long maxModelBytes =
+        ModelPruner.estimatedBytes(full.getLanguageCorporaProbabilities()) / 4;
+    final LanguageDetectorFactory byBytes =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en,de")
+                .withMaxModelBytes(maxModelBytes)
+                .build());
+
+    assertEquals(1000, byNGrams.getLanguageCorporaProbabilities().size());
+    final long prunedBytes = ModelPruner.estimatedBytes(byBytes.getLanguageCorporaProbabilities());
+    assertTrue(prunedBytes <= maxModelBytes);
+    assertTrue(prunedBytes > maxModelBytes - ModelPruner.estimatedBytes(2, false));
+
+    // The kept n-grams have the same probabilities as in the full model
+    for (final Map.Entry<String, double[]> entry :
+        byBytes.getLanguageCorporaProbabilities().entrySet()) {
+      assertArrayEquals(
+          full.getLanguageCorporaProbabilities().get(entry.getKey()), entry.getValue(), 0.0);
+    }
+  }
+
+  @Test
+  public final void compilesPrunedProfiles() throws Exception {
+    // The profiles are read the same way as the model loads them, i.e.: compressed
+    final Path profilesDirectory =
+        compressProfiles(copyProfiles("en", "de", "ja"), "en", "de", "ja");
+    final Path target = Files.createTempDirectory("pruned");
+    target.toFile().deleteOnExit();
+
+    ModelPruningTool.main(
+        new String[] {profilesDirectory.toString(), target.toString(), "en,de,ja", "0", "2000"});
+    for (final String isoCode639_1 : new String[] {"en", "de", "ja"}) {
+      target.resolve(isoCode639_1).toFile().deleteOnExit();
+    }
+
+    final LanguageDetectorFactory pruned =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en,de,ja")
+                .withMaxModelNGrams(2000)
+                .build());
+    final LanguageDetectorFactory compiled =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en,de,ja")
+                .withProfilesDirectory(target)
+                .build());
+
+    final Map<String, double[]> expected = pruned.getLanguageCorporaProbabilities();
+    final Map<String, double[]> actual = compiled.getLanguageCorporaProbabilities();
+    assertEquals(expected.keySet(), actual.keySet());
+    for (final Map.Entry<String, double[]> entry : expected.entrySet()) {
+      assertArrayEquals(entry.getValue(), actual.get(entry.getKey()), 0.0);
+    }
+  }
+}
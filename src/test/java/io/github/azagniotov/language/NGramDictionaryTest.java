@@ -0,0 +1,238 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.NGramDictionary.NO_ID;
+import static io.github.azagniotov.language.TestDefaultConstants.MAX_NGRAM_LENGTH;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public class NGramDictionaryTest {
+
+  @Test
+  public final void sharesNGramIdsAcrossModels() {
+    final NGramDictionary dictionary = new NGramDictionary();
+    final Map<String, double[]> queries = new HashMap<>();
+    queries.put("a", new double[] {0.1, 0.2});
+    queries.put(" a", new double[] {0.3, 0.4});
+    final Map<String, double[]> documents = new HashMap<>();
+    documents.put("a", new double[] {0.5});
+    documents.put("ab", new double[] {0.6});
+    documents.put("abcd", new double[] {0.7});
+
+    final NGramModel queriesModel = NGramModel.compile(dictionary, queries);
+    final NGramModel documentsModel = NGramModel.compile(dictionary, documents);
+
+    // The n-grams are interned once, the IDs of the older snapshot stay valid
+    final NGramDictionary.Snapshot snapshot = dictionary.snapshot();
+    assertEquals(3, snapshot.size());
+    assertSame(dictionary, queriesModel.getDictionary());
+    assertEquals(2, queriesModel.idLimit());
+    assertEquals(NO_ID, snapshot.id("abcd"));
+    assertEquals("ab", snapshot.nGram(snapshot.id("ab")));
+
+    assertEquals(2, queriesModel.size());
+    assertEquals(2, documentsModel.size());
+    assertArrayEquals(new double[] {0.1, 0.2}, queriesModel.probabilities(snapshot.id("a")), 0.0);
+    assertArrayEquals(new double[] {0.5}, documentsModel.probabilities(snapshot.id("a")), 0.0);
+    assertNull(queriesModel.probabilities(snapshot.id("ab")));
+    assertNull(documentsModel.probabilities(snapshot.id(" a")));
+    assertNull(documentsModel.probabilities(NO_ID));
+
+    // Interning the same n-grams again does not publish a new snapshot
+    assertSame(snapshot, dictionary.internAll(queries.keySet()));
+    assertEquals(queries.keySet(), queriesModel.toMap().keySet());
+  }
+
+  @Test
+  public final void scoresModelsFromSameNGramIds() {
+    final NGramDictionary dictionary = new NGramDictionary();
+    final Map<String, double[]> queries = new HashMap<>();
+    queries.put("a", new double[] {1.0});
+    queries.put("b", new double[] {1.0});
+    final Map<String, double[]> documents = new HashMap<>();
+    documents.put("b", new double[] {1.0});
+    documents.put("ab", new double[] {1.0});
+    final NGramModel queriesModel = NGramModel.compile(dictionary, queries);
+    final NGramModel documentsModel = NGramModel.compile(dictionary, documents);
+
+    final NGramDictionary.Snapshot snapshot = dictionary.snapshot();
+    final int[] ids = new NGram("ab", MAX_NGRAM_LENGTH).extractNGramIds(snapshot);
+    assertArrayEquals(new int[] {snapshot.id("a"), snapshot.id("b"), snapshot.id("ab")}, ids);
+
+    assertArrayEquals(
+        new int[] {snapshot.id("a"), snapshot.id("b")}, queriesModel.retainKnown(ids));
+    assertArrayEquals(
+        new int[] {snapshot.id("b"), snapshot.id("ab")}, documentsModel.retainKnown(ids));
+    // The extracted IDs are shared by the models, and are not modified
+    assertArrayEquals(new int[] {snapshot.id("a"), snapshot.id("b"), snapshot.id("ab")}, ids);
+  }
+
+  @Test
+  public final void resolvesInputsAgainstMostRecentSnapshot() {
+    final NGramDictionary dictionary = new NGramDictionary();
+    final Map<String, double[]> queries = new HashMap<>();
+    queries.put("a", new double[] {1.0});
+    final Map<String, double[]> documents = new HashMap<>();
+    documents.put("b", new double[] {1.0});
+    final NGramModel queriesModel = NGramModel.compile(dictionary, queries);
+    final NGramModel documentsModel = NGramModel.compile(dictionary, documents);
+
+    // The older model resolves the n-grams of the newer one, which it has no rows for
+    final NGramDictionary.Snapshot snapshot = dictionary.snapshot();
+    final int[] ids = queriesModel.extract(new NGram("ab", MAX_NGRAM_LENGTH));
+    assertArrayEquals(new int[] {snapshot.id("a"), snapshot.id("b")}, ids);
+    assertArrayEquals(new int[] {snapshot.id("a")}, queriesModel.retainKnown(ids));
+    assertArrayEquals(
+        new int[] {snapshot.id("b")},
+        documentsModel.retainKnown(documentsModel.extract(new NGram("ab", MAX_NGRAM_LENGTH))));
+
+    // The automaton is built once per snapshot, before the snapshot is published
+    assertTrue(snapshot.hasAutomaton());
+    assertSame(snapshot.automaton(), snapshot.automaton());
+  }
+
+  @Test
+  public final void sizesRowsByHighestIdOfModel() {
+    final NGramDictionary dictionary = new NGramDictionary();
+    final Map<String, double[]> documents = new HashMap<>();
+    for (final String nGram : List.of("a", "b", "c", "ab", "bc", "abc")) {
+      documents.put(nGram, new double[] {1.0});
+    }
+    NGramModel.compile(dictionary, documents);
+    final NGramDictionary.Snapshot snapshot = dictionary.snapshot();
+
+    final Map<String, double[]> queries = new HashMap<>();
+    queries.put("a", new double[] {1.0});
+    final NGramModel queriesModel = NGramModel.compile(dictionary, queries);
+    assertEquals(snapshot.id("a") + 1, queriesModel.idLimit());
+    assertEquals(NGramModel.NO_ROW, queriesModel.row(snapshot.id("abc")));
+
+    // Interning new n-grams copies the n-grams of the published snapshot, which stays the same
+    final long[] packed = new long[snapshot.size()];
+    for (int id = 0; id < packed.length; id++) {
+      packed[id] = snapshot.packed(id);
+    }
+    final NGramDictionary.Snapshot interned = dictionary.internAll(List.of("d", "cd", "bcd"));
+    assertEquals(packed.length + 3, interned.size());
+    for (int id = 0; id < packed.length; id++) {
+      assertEquals(packed[id], snapshot.packed(id));
+      assertEquals(packed[id], interned.packed(id));
+    }
+    assertEquals(NO_ID, snapshot.id("d"));
+  }
+
+  @Test
+  public final void indexesNGramsByPerfectHash() {
+    final Random random = new Random(0L);
+    final List<String> nGrams = new ArrayList<>();
+    for (int idx = 0; idx < 50000; idx++) {
+      // Latin and CJK n-grams of all the lengths, some of which repeat each other
+      final char[] chars = new char[1 + random.nextInt(3)];
+      for (int charIdx = 0; charIdx < chars.length; charIdx++) {
+        chars[charIdx] =
+            random.nextBoolean() ? (char) ('a' + random.nextInt(26)) : (char) (0x4E00 + idx);
+      }
+      nGrams.add(new String(chars));
+    }
+    nGrams.add("\uAC00\uAC01");
+    final NGramDictionary dictionary = new NGramDictionary();
+    final NGramDictionary.Snapshot first = dictionary.internAll(nGrams.subList(0, 20000));
+    final NGramDictionary.Snapshot second = dictionary.internAll(nGrams);
+
+    final boolean[] seen = new boolean[second.size()];
+    for (final String nGram : Set.copyOf(nGrams)) {
+      final int id = second.id(nGram);
+      assertEquals(nGram, second.nGram(id));
+      assertFalse(seen[id]);
+      seen[id] = true;
+    }
+    // The IDs of the first snapshot stay the same
+    for (final String nGram : nGrams.subList(0, 20000)) {
+      assertEquals(first.id(nGram), second.id(nGram));
+    }
+    assertEquals(NO_ID, first.id(nGrams.get(nGrams.size() - 1)));
+    assertEquals(NO_ID, second.id("\u0416\u0416"));
+    assertEquals(NO_ID, second.id("abcd"));
+    assertEquals(NO_ID, new NGramDictionary().snapshot().id("a"));
+  }
+
+  @Test
+  public final void rejectsAbsentNGramsByFingerprint() {
+    // The 3-grams that differ in their first char only, e.g.: of the same word ending
+    final List<String> present = new ArrayList<>();
+    final List<String> absent = new ArrayList<>();
+    for (int idx = 0; idx < 2000; idx++) {
+      present.add((char) (0x4E00 + idx) + "ed");
+      absent.add((char) (0x6000 + idx) + "ed");
+    }
+    final NGramDictionary.Snapshot snapshot = new NGramDictionary().internAll(present);
+
+    int passed = 0;
+    for (final String nGram : absent) {
+      assertEquals(NO_ID, snapshot.id(nGram));
+      if (snapshot.passesFingerprint(NGram.pack(nGram))) {
+        passed++;
+      }
+    }
+    // An 8 bit fingerprint lets about 1 in 256 of the absent n-grams through
+    assertTrue("Passed the fingerprint: " + passed, passed < absent.size() / 64);
+    for (final String nGram : present) {
+      assertTrue(snapshot.passesFingerprint(NGram.pack(nGram)));
+    }
+  }
+
+  @Test
+  public final void resolvesNGramIdsByAutomaton() {
+    final List<String> nGrams =
+        Arrays.asList(
+            " ", "a", "b", "c", "A", "B", " a", "ab", "bc", "b ", " ab", "abc", "bc ", "c a", "AB",
+            "Ab");
+    final NGramDictionary.Snapshot snapshot = new NGramDictionary().internAll(nGrams);
+    final List<String> inputs =
+        Arrays.asList(
+            "abc", "abcabc", " ab  bc ", "c a", "ABC abc", "Abc AbC", "a-b.c", "x abc y", "");
+
+    for (final String input : inputs) {
+      for (int maxNGramLength = 1; maxNGramLength <= MAX_NGRAM_LENGTH; maxNGramLength++) {
+        // The same IDs in the same order, as by looking up every extracted n-gram
+        assertArrayEquals(
+            new NGram(input, maxNGramLength).extractNGramIds(snapshot),
+            new NGram(input, maxNGramLength).extractNGramIds(snapshot.automaton()));
+      }
+    }
+    assertArrayEquals(
+        new int[] {
+          snapshot.id("a"), snapshot.id(" a"), snapshot.id("b"), snapshot.id("ab"),
+          snapshot.id(" ab"), snapshot.id("c"), snapshot.id("bc"), snapshot.id("abc")
+        },
+        new NGram("abc", MAX_NGRAM_LENGTH).extractNGramIds(snapshot.automaton()));
+  }
+
+  @Test
+  public final void extractsNGramIdsInExtractionOrder() {
+    final List<String> nGrams =
+        Arrays.asList("A", " A", "ي", "ể", "あ", "ア", "あア", "ㄅ", "가", "가 ", "a", " a");
+    final NGramDictionary.Snapshot snapshot = new NGramDictionary().internAll(nGrams);
+    final String input = "A\u06cc\u1ea0\u3044\u30a4\u3106\uac01\u2010a";
+
+    final int[] ids = new NGram(input, MAX_NGRAM_LENGTH).extractNGramIds(snapshot);
+    final List<String> extracted =
+        new NGram(input, MAX_NGRAM_LENGTH).extractNGrams(Set.copyOf(nGrams));
+    assertEquals(extracted.size(), ids.length);
+    for (int idx = 0; idx < ids.length; idx++) {
+      assertEquals(extracted.get(idx), snapshot.nGram(ids[idx]));
+    }
+  }
+}
@@ -4,8 +4,10 @@ import static io.github.azagniotov.language.StringConstants.BLANK_CHAR;
 import static io.github.azagniotov.language.StringConstants.EMPTY_STRING;
 import static io.github.azagniotov.language.TestDefaultConstants.MAX_NGRAM_LENGTH;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -215,6 +217,31 @@ public class NGramTest {
         Arrays.asList("A", " A", "ي", "ể", "あ", "ア", "あア", "ㄅ", "가", "가 ", "a", " a"));
   }
 
+  @Test
+  public final void testExtractNGramBuckets() {
+    final String input = "A\u06cc\u1ea0\u3044\u30a4\u3106\uac01\u2010a AB Cd";
+    final int bucketBits = 10;
+
+    final List<Integer> expectedBuckets = new ArrayList<>();
+    final NGram ngram = new NGram(input, MAX_NGRAM_LENGTH);
+    for (int idx = 0; idx < input.length(); idx++) {
+      ngram.addChar(input.charAt(idx));
+      for (int n = 1; n <= MAX_NGRAM_LENGTH; n++) {
+        final String word = ngram.get(n);
+        if (!word.isEmpty()) {
+          expectedBuckets.add(NGram.bucket(NGram.pack(word), bucketBits));
+        }
+      }
+    }
+
+    final int[] buckets = new NGram(input, MAX_NGRAM_LENGTH).extractNGramBuckets(bucketBits);
+    assertEquals(expectedBuckets.size(), buckets.length);
+    for (int idx = 0; idx < buckets.length; idx++) {
+      assertEquals(expectedBuckets.get(idx).intValue(), buckets[idx]);
+      assertTrue(buckets[idx] >= 0 && buckets[idx] < 1 << bucketBits);
+    }
+  }
+
   /** Test method for {@link NGram#normalize(char)} with Romanian characters. */
   @Test
   public final void testNormalizeForRomanian() {
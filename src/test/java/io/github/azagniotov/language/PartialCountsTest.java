@@ -0,0 +1,116 @@
+package io.github.azagniotov.language;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PartialCountsTest {
+
+  private static final int MAX_NGRAM_LENGTH = 3;
+
+  @Test
+  public final void mergesShardsIntoSameProfileAsSingleTraining() throws Exception {
+    final Path directory = Files.createTempDirectory("shards");
+    directory.toFile().deleteOnExit();
+    final List<Path> files = writeCorpusFiles(directory, 4);
+    final LanguageProfileTrainer trainer = new LanguageProfileTrainer("ja", MAX_NGRAM_LENGTH);
+
+    final List<Path> shards = new ArrayList<>();
+    for (int idx = 0; idx < files.size(); idx += 2) {
+      final Path shard = directory.resolve("shard-" + idx + ".bin");
+      shard.toFile().deleteOnExit();
+      trainer.writePartialCounts(files.subList(idx, idx + 2), shard);
+      shards.add(shard);
+    }
+    final Path merged = directory.resolve("merged.bin");
+    merged.toFile().deleteOnExit();
+    PartialCounts.merge(shards, merged);
+
+    final LanguageProfile expected = trainer.train(files);
+    final List<LanguageProfile> actualProfiles =
+        List.of(
+            PartialCounts.toLanguageProfile(shards),
+            PartialCounts.toLanguageProfile(List.of(merged)));
+    for (final LanguageProfile actual : actualProfiles) {
+      assertEquals("ja", actual.getIsoCode639_1());
+      assertEquals(expected.getNGramCounts(), actual.getNGramCounts());
+      assertEquals(expected.getWordFrequencies(), actual.getWordFrequencies());
+    }
+
+    try (final PartialCounts.Reader reader = new PartialCounts.Reader(merged)) {
+      assertEquals(MAX_NGRAM_LENGTH, reader.getMaxNGramLength());
+      long previousKey = NGram.NO_PACKED_NGRAM;
+      long uniGramCount = 0;
+      while (reader.next()) {
+        assertTrue(reader.key() > previousKey);
+        previousKey = reader.key();
+        if (NGram.packedLength(reader.key()) == 1) {
+          uniGramCount += reader.count();
+        }
+      }
+      assertEquals(reader.getNGramCount(1), uniGramCount);
+    }
+  }
+
+  @Test
+  public final void rejectsInvalidPartialCounts() throws Exception {
+    final Path directory = Files.createTempDirectory("shards");
+    directory.toFile().deleteOnExit();
+    final NGramCountTable table = new NGramCountTable();
+    table.increment(NGram.pack("ab"));
+
+    final Path japanese = directory.resolve("ja.bin");
+    final Path german = directory.resolve("de.bin");
+    final Path other = directory.resolve("other.bin");
+    for (final Path path : List.of(japanese, german, other)) {
+      path.toFile().deleteOnExit();
+    }
+    PartialCounts.write(japanese, "ja", MAX_NGRAM_LENGTH, table);
+    PartialCounts.write(german, "de", MAX_NGRAM_LENGTH, table);
+    Files.writeString(other, "{\"name\":\"ja\"}");
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> PartialCounts.toLanguageProfile(List.of(japanese, german)));
+    final IOException thrown =
+        assertThrows(IOException.class, () -> PartialCounts.toLanguageProfile(List.of(other)));
+    assertTrue(thrown.getMessage().contains(other.toString()));
+
+    try (final PartialCounts.Writer writer =
+        new PartialCounts.Writer(other, "ja", new long[MAX_NGRAM_LENGTH])) {
+      writer.write(NGram.pack("b"), 1);
+      assertThrows(IllegalArgumentException.class, () -> writer.write(NGram.pack("a"), 1));
+    }
+  }
+
+  /** Slices of the Japanese text, each of them written into its own file. */
+  static List<Path> writeCorpusFiles(final Path directory, final int count) throws IOException {
+    final String text;
+    try (final InputStream in =
+        PartialCountsTest.class.getResourceAsStream("/large.japanese.txt")) {
+      text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    final List<Path> files = new ArrayList<>(count);
+    final int sliceLength = text.length() / count;
+    for (int idx = 0; idx < count; idx++) {
+      final StringBuilder content = new StringBuilder();
+      // Repeated, so that some n-grams are above the less frequent threshold
+      for (int repetition = 0; repetition < 20; repetition++) {
+        content.append(text, idx * sliceLength, (idx + 1) * sliceLength).append('\n');
+      }
+      final Path file = Files.writeString(directory.resolve(idx + ".txt"), content);
+      file.toFile().deleteOnExit();
+      files.add(file);
+    }
+    return files;
+  }
+}
@@ -0,0 +1,89 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.TestHelper.compressProfiles;
+import static io.github.azagniotov.language.TestHelper.copyProfiles;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class ProfileMergeToolTest {
+
+  @Test
+  public final void averagesWeightedProbabilities() {
+    final LanguageProfile first =
+        new LanguageProfile("en", frequencies("a", 6L, "b", 4L, "ab", 10L), List.of(10.0, 10.0));
+    final LanguageProfile second =
+        new LanguageProfile("en", frequencies("a", 2L, "c", 8L, "ab", 5L), List.of(10.0, 5.0));
+
+    final LanguageProfile averaged =
+        ProfileMergeTool.average(List.of(first, second), List.of(3.0, 1.0));
+
+    // The probabilities are scaled by the summed totals, i.e.: by 20 for the uni-grams
+    assertEquals(0.75 * 0.6 + 0.25 * 0.2, averaged.getWordFrequencies().get("a") / 20.0, 1e-12);
+    assertEquals(Long.valueOf(6), averaged.getWordFrequencies().get("b"));
+    assertEquals(Long.valueOf(4), averaged.getWordFrequencies().get("c"));
+    assertEquals(Long.valueOf(15), averaged.getWordFrequencies().get("ab"));
+    assertEquals(List.of(20.0, 15.0), averaged.getNGramCounts());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ProfileMergeTool.average(
+                List.of(first, new LanguageProfile("de", new HashMap<>(), List.of(1.0, 1.0))),
+                List.of(1.0, 1.0)));
+  }
+
+  @Test
+  public final void averagesProfileSets() throws Exception {
+    // The profiles are listed and read the same way as the model loads them, i.e.: compressed
+    final Path first = compressProfiles(copyProfiles("en", "ja"), "en", "ja");
+    final Path second = copyProfiles("en", "ja");
+    final Path target = Files.createTempDirectory("averaged");
+    target.toFile().deleteOnExit();
+
+    ProfileMergeTool.main(
+        new String[] {"average", target.toString(), first.toString(), second + "=2.5"});
+
+    for (final String isoCode639_1 : List.of("en", "ja")) {
+      target.resolve(isoCode639_1).toFile().deleteOnExit();
+      final LanguageProfile original = readProfile(second.resolve(isoCode639_1));
+      final LanguageProfile averaged = readProfile(target.resolve(isoCode639_1));
+      assertEquals(isoCode639_1, averaged.getIsoCode639_1());
+      assertEquals(original.getWordFrequencies().keySet(), averaged.getWordFrequencies().keySet());
+
+      // Averaging a profile with itself keeps the probabilities
+      for (final String nGram : List.of("a", "th", "the", "日", "日本")) {
+        final Long frequency = original.getWordFrequencies().get(nGram);
+        if (frequency == null) {
+          continue;
+        }
+        final int length = nGram.length();
+        assertEquals(
+            frequency / original.getNGramCounts().get(length - 1),
+            averaged.getWordFrequencies().get(nGram) / averaged.getNGramCounts().get(length - 1),
+            1e-9);
+      }
+    }
+  }
+
+  private static LanguageProfile readProfile(final Path path) throws Exception {
+    try (final InputStream in = Files.newInputStream(path)) {
+      return LanguageProfile.fromJson(in);
+    }
+  }
+
+  private static Map<String, Long> frequencies(final Object... nGramsAndFrequencies) {
+    final Map<String, Long> freq = new HashMap<>();
+    for (int idx = 0; idx < nGramsAndFrequencies.length; idx += 2) {
+      freq.put((String) nGramsAndFrequencies[idx], (Long) nGramsAndFrequencies[idx + 1]);
+    }
+    return freq;
+  }
+}
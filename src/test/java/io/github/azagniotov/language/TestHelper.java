@@ -2,8 +2,13 @@ package io.github.azagniotov.language;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
 
 final class TestHelper {
 
@@ -32,4 +37,43 @@ final class TestHelper {
     final Language language = languageDetector.detectAll(text).get(0);
     return language.getIsoCode639_1();
   }
+
+  /**
+   * Copies the given merged-average language profiles from the classpath into a new temporary
+   * directory, where each profile file is named after its ISO code.
+   */
+  static Path copyProfiles(final String... isoCodes639_1) throws IOException {
+    final Path profilesDirectory = Files.createTempDirectory("langdetect");
+    profilesDirectory.toFile().deleteOnExit();
+    for (final String isoCode639_1 : isoCodes639_1) {
+      final Path profilePath = profilesDirectory.resolve(isoCode639_1);
+      try (final InputStream in =
+          TestHelper.class.getResourceAsStream("/langdetect/merged-average/" + isoCode639_1)) {
+        Files.copy(in, profilePath);
+      }
+      profilePath.toFile().deleteOnExit();
+    }
+    return profilesDirectory;
+  }
+
+  /**
+   * GZIP compresses the given language profiles of the profiles directory into a new temporary
+   * directory, where each profile file is named after its ISO code with the {@code .gz} suffix.
+   */
+  static Path compressProfiles(final Path profilesDirectory, final String... isoCodes639_1)
+      throws IOException {
+    final Path compressedProfilesDirectory = Files.createTempDirectory("langdetect");
+    compressedProfilesDirectory.toFile().deleteOnExit();
+    for (final String isoCode639_1 : isoCodes639_1) {
+      final Path compressedProfilePath =
+          compressedProfilesDirectory.resolve(
+              isoCode639_1 + LanguageDetectorFactory.COMPRESSED_PROFILE_SUFFIX);
+      try (final OutputStream out =
+          new GZIPOutputStream(Files.newOutputStream(compressedProfilePath))) {
+        Files.copy(profilesDirectory.resolve(isoCode639_1), out);
+      }
+      compressedProfilePath.toFile().deleteOnExit();
+    }
+    return compressedProfilesDirectory;
+  }
 }
@@ -0,0 +1,154 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.TestHelper.compressProfiles;
+import static io.github.azagniotov.language.TestHelper.copyProfiles;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class TrafficProfilerTest {
+
+  private static final List<String> SAMPLE =
+      List.of(
+          "This is a sample of the production traffic",
+          "the quick brown fox jumps over the lazy dog",
+          "Das ist ein Beispiel für den Verkehr",
+          "これは日本語のテキストです",
+          "how to reset the password");
+
+  @Test
+  public final void specializedModelDetectsSampleAsFullModel() {
+    final LanguageDetectorFactory factory =
+        new LanguageDetectorFactory(
+            LanguageDetectionSettings.fromIsoCodes639_1("en,de,ja").build());
+    final Map<String, double[]> model = factory.getLanguageCorporaProbabilities();
+    final TrafficProfiler trafficProfiler = new TrafficProfiler(model, 3);
+    for (final String input : SAMPLE) {
+      trafficProfiler.record(input);
+    }
+    assertEquals(SAMPLE.size(), trafficProfiler.getInputs());
+    assertTrue(trafficProfiler.getHits("the") >= 3);
+
+    final Map<String, double[]> specialized = trafficProfiler.specialize(1.0, 0.0);
+    assertEquals(trafficProfiler.getHitRows(), specialized.size());
+    assertTrue(specialized.size() < model.size() / 10);
+
+    // Hottest first
+    final List<String> nGrams = new ArrayList<>(specialized.keySet());
+    for (int idx = 1; idx < nGrams.size(); idx++) {
+      final long previousHits = trafficProfiler.getHits(nGrams.get(idx - 1));
+      assertTrue(previousHits >= trafficProfiler.getHits(nGrams.get(idx)));
+    }
+
+    final LanguageDetector full =
+        new LanguageDetector(factory.getSupportedIsoCodes639_1(), model, 3);
+    final LanguageDetector specializedDetector =
+        new LanguageDetector(factory.getSupportedIsoCodes639_1(), specialized, 3);
+    for (final String input : SAMPLE) {
+      assertEquals(toString(full.detectAll(input)), toString(specializedDetector.detectAll(input)));
+    }
+
+    // The safety margin adds the most discriminative of the rows that have not been hit
+    final List<String> withMargin = trafficProfiler.specializedNGrams(1.0, 0.5);
+    assertEquals((int) Math.ceil(nGrams.size() * 1.5), withMargin.size());
+    assertEquals(nGrams, withMargin.subList(0, nGrams.size()));
+    assertEquals(0, trafficProfiler.getHits(withMargin.get(withMargin.size() - 1)));
+
+    // The hottest rows that make up half of the hits
+    final List<String> halfOfHits = trafficProfiler.specializedNGrams(0.5, 0.0);
+    assertTrue(halfOfHits.size() < nGrams.size());
+    assertEquals(nGrams.subList(0, halfOfHits.size()), halfOfHits);
+  }
+
+  @Test
+  public final void emitsSpecializedProfilesHottestFirst() throws Exception {
+    final Path profilesDirectory = copyProfiles("en", "de");
+    // The profiles are read the same way as the model loads them, i.e.: compressed
+    final Path compressedProfilesDirectory = compressProfiles(profilesDirectory, "en", "de");
+    final Path sample = Files.createTempFile("sample", ".txt");
+    sample.toFile().deleteOnExit();
+    Files.write(sample, SAMPLE.subList(0, 3));
+    final Path target = Files.createTempDirectory("specialized");
+    target.toFile().deleteOnExit();
+
+    TrafficProfiler.main(
+        new String[] {
+          compressedProfilesDirectory.toString(),
+          target.toString(),
+          "en,de",
+          sample.toString(),
+          "1.0",
+          "0"
+        });
+
+    for (final String isoCode639_1 : List.of("en", "de")) {
+      target.resolve(isoCode639_1).toFile().deleteOnExit();
+      final LanguageProfile original = readProfile(profilesDirectory.resolve(isoCode639_1));
+      final LanguageProfile specialized = readProfile(target.resolve(isoCode639_1));
+      assertEquals(original.getNGramCounts(), specialized.getNGramCounts());
+      assertTrue(specialized.getWordFrequencies().size() < original.getWordFrequencies().size());
+      for (final Map.Entry<String, Long> entry : specialized.getWordFrequencies().entrySet()) {
+        assertEquals(original.getWordFrequencies().get(entry.getKey()), entry.getValue());
+      }
+    }
+    // A single letter is the hottest row of any Latin script traffic
+    final String hottest =
+        readProfile(target.resolve("en")).getWordFrequencies().keySet().iterator().next();
+    assertEquals(1, hottest.length());
+  }
+
+  @Test
+  public final void loadsSpecializedNGramsInFileOrder() throws Exception {
+    final Path profilesDirectory = copyProfiles("en", "de");
+    final Path sample = Files.createTempFile("sample", ".txt");
+    sample.toFile().deleteOnExit();
+    Files.write(sample, SAMPLE.subList(0, 3));
+    final Path target = Files.createTempDirectory("specialized");
+    target.toFile().deleteOnExit();
+    TrafficProfiler.main(
+        new String[] {
+          profilesDirectory.toString(), target.toString(), "en,de", sample.toString(), "1.0", "0"
+        });
+
+    // The n-grams of the profiles, in the file order, the ones of the earlier profiles first
+    final Set<String> fileOrder = new LinkedHashSet<>();
+    for (final String isoCode639_1 : List.of("en", "de")) {
+      target.resolve(isoCode639_1).toFile().deleteOnExit();
+      fileOrder.addAll(readProfile(target.resolve(isoCode639_1)).getWordFrequencies().keySet());
+    }
+
+    final NGramDictionary dictionary = new NGramDictionary();
+    new LanguageDetectorFactory(
+        LanguageDetectionSettings.fromIsoCodes639_1("en,de").build(), target, dictionary);
+
+    // The hottest n-grams get the lowest IDs, i.e.: the first rows of the model
+    assertEquals(fileOrder.size(), dictionary.snapshot().size());
+    int expectedId = 0;
+    for (final String nGram : fileOrder) {
+      assertEquals(nGram, expectedId++, dictionary.snapshot().id(nGram));
+    }
+  }
+
+  private static LanguageProfile readProfile(final Path path) throws Exception {
+    try (final InputStream in = Files.newInputStream(path)) {
+      return LanguageProfile.fromJson(in);
+    }
+  }
+
+  private static String toString(final List<Language> languages) {
+    final StringBuilder builder = new StringBuilder();
+    for (final Language language : languages) {
+      builder.append(language.getIsoCode639_1()).append('=').append(language.getProbability());
+    }
+    return builder.toString();
+  }
+}
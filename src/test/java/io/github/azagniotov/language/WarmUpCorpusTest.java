@@ -0,0 +1,73 @@
+package io.github.azagniotov.language;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.github.azagniotov.language.LanguageDetectionMetrics.Stage;
+import java.time.Duration;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Warning. Heads up. Attention.
+ *
+ * <p>Tests in the current class invoke the public API of {@link LanguageDetectionOrchestrator},
+ * which caches the singleton instance of the created {@link LanguageDetectorFactory}. Please make
+ * sure that all tests make use of the same configured ISO codes as in other orchestrator tests.
+ */
+public class WarmUpCorpusTest {
+
+  private static final String ISO_CODES = "en, ja, es, fr, de, zh-cn, af, nl, ko";
+
+  @Test
+  public final void coversEveryConfiguredLanguage() {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1("en, de, fr").build();
+    final LanguageDetectorFactory model = new LanguageDetectorFactory(settings);
+    final LanguageDetector detector = model.newDetector(LanguageDetectionMetrics.DISABLED);
+
+    final List<String> inputs = WarmUpCorpus.build(model, settings);
+
+    // Chinese, Japanese, then a query, a query to sanitize and a long document per language
+    assertEquals(2 + 3 * 3, inputs.size());
+    assertEquals("en", detector.detectAll(inputs.get(2)).get(0).getIsoCode639_1());
+    assertEquals("de", detector.detectAll(inputs.get(5)).get(0).getIsoCode639_1());
+    assertEquals("fr", detector.detectAll(inputs.get(8)).get(0).getIsoCode639_1());
+
+    assertTrue(inputs.get(3).length() < 128);
+    assertTrue(inputs.get(4).length() > settings.getMaxTextChars());
+  }
+
+  @Test
+  public final void warmsUpEveryStage() {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES)
+            .withClassifyChineseAsJapanese()
+            .build();
+    final LanguageDetectionOrchestrator orchestrator = new LanguageDetectionOrchestrator(settings);
+
+    final WarmUpReport report = orchestrator.warmUp(Duration.ofMillis(500));
+
+    assertTrue(orchestrator.isReady());
+    assertTrue(report.isComplete());
+    assertTrue(report.getElapsed().compareTo(Duration.ofMillis(500)) >= 0);
+    assertEquals(report.getDetections(), report.getMetrics().getCount(Stage.DETECTION));
+    assertTrue(report.getMetrics().getCjkShortCircuits() > 0);
+    for (final Stage stage : Stage.values()) {
+      assertTrue(stage.name(), report.getMetrics().getCount(stage) > 0);
+      assertTrue(stage.name(), report.getPercentileNanos(stage, 99) > 0);
+    }
+  }
+
+  @Test
+  public final void doesNotDetectWithoutBudget() {
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(ISO_CODES).build();
+    final WarmUpReport report = new LanguageDetectionOrchestrator(settings).warmUp(Duration.ZERO);
+
+    assertEquals(0, report.getDetections());
+    assertTrue(report.getDistinctInputs() > 0);
+    assertFalse(report.isComplete());
+  }
+}
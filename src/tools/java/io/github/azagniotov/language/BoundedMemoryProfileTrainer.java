@@ -0,0 +1,176 @@
+package io.github.azagniotov.language;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a {@link LanguageProfile} within a hard memory budget, e.g.: from a corpus whose
+ * distinct n-grams do not fit into the heap.
+ *
+ * <p>The corpus is read twice:
+ *
+ * <p>1. The first pass counts the n-grams into a {@link CountMinSketch}, and counts the total
+ * number of n-grams of each length exactly. The totals give the frequency threshold, at or below
+ * which {@link LanguageProfile#omitLessFreq()} omits an n-gram.
+ *
+ * <p>2. The second pass counts exactly only the n-grams whose sketch estimate is above the
+ * threshold. The sketch never underestimates, so the rare n-grams, which are the vast majority of
+ * the distinct n-grams, are kept out of the exact table without losing any n-gram of the profile.
+ * Whenever the exact table is full, it is spilled to disk as a run of n-grams sorted by their
+ * packed keys.
+ *
+ * <p>Finally, the runs are k-way merged, see {@link PartialCounts}, and only the n-grams above
+ * the threshold are kept in the profile. The generated profile is the same as the one generated by
+ * {@link LanguageProfileTrainer}, at the cost of reading the corpus twice and of counting in a
+ * single thread, because the budget is for the whole process rather than per worker.
+ */
+final class BoundedMemoryProfileTrainer {
+
+  // The share of the budget used for the sketch, the rest is for the exact table
+  private static final int SKETCH_BUDGET_DIVISOR = 4;
+
+  // Keys and counts are two longs per slot of the exact table
+  private static final int TABLE_SLOT_BYTES = 2 * Long.BYTES;
+
+  private static final long MIN_MEMORY_BUDGET_BYTES = 64L * 1024;
+
+  private final LanguageProfileTrainer chunkCounter;
+  private final String isoCode639_1;
+  private final int maxNGramLength;
+  private final long memoryBudgetBytes;
+  private final Path spillDirectory;
+
+  private int spilledRuns;
+  private long candidateNGrams;
+
+  /**
+   * @param memoryBudgetBytes the memory to use for the sketch and the exact table, which does not
+   *     include the generated profile itself, as it has the less frequent n-grams omitted
+   * @param spillDirectory where the sorted runs are written to, they are deleted once merged
+   */
+  BoundedMemoryProfileTrainer(
+      final LanguageProfileTrainer chunkCounter,
+      final String isoCode639_1,
+      final int maxNGramLength,
+      final long memoryBudgetBytes,
+      final Path spillDirectory) {
+    if (memoryBudgetBytes < MIN_MEMORY_BUDGET_BYTES) {
+      throw new IllegalArgumentException(
+          "Memory budget must be at least " + MIN_MEMORY_BUDGET_BYTES + " bytes");
+    }
+    this.chunkCounter = chunkCounter;
+    this.isoCode639_1 = isoCode639_1;
+    this.maxNGramLength = maxNGramLength;
+    this.memoryBudgetBytes = memoryBudgetBytes;
+    this.spillDirectory = spillDirectory;
+  }
+
+  LanguageProfile train(final List<Path> files) {
+    final CountMinSketch sketch =
+        new CountMinSketch(this.memoryBudgetBytes / SKETCH_BUDGET_DIVISOR);
+    final long[] totals = new long[this.maxNGramLength];
+    for (final Path file : files) {
+      LanguageProfileTrainer.forEachChunk(
+          file,
+          chunk ->
+              this.chunkCounter.forEachNGram(
+                  chunk,
+                  packedNGram -> {
+                    sketch.add(packedNGram, 1L);
+                    if (!NGram.isBlank(packedNGram)) {
+                      totals[NGram.packedLength(packedNGram) - 1]++;
+                    }
+                  }));
+    }
+    final double threshold = LanguageProfile.lessFreqThreshold(totals[0]);
+
+    final List<Path> runs = new ArrayList<>();
+    try {
+      countCandidates(files, sketch, threshold, runs);
+      return mergeRuns(runs, threshold);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      for (final Path run : runs) {
+        try {
+          Files.deleteIfExists(run);
+        } catch (final IOException ignored) {
+          // Best effort, the runs are in a temporary directory
+        }
+      }
+    }
+  }
+
+  /** The number of sorted runs that were spilled to disk by the last {@link #train(List)}. */
+  int getSpilledRuns() {
+    return spilledRuns;
+  }
+
+  /** The number of distinct n-grams that passed the sketch in the last {@link #train(List)}. */
+  long getCandidateNGrams() {
+    return candidateNGrams;
+  }
+
+  private void countCandidates(
+      final List<Path> files,
+      final CountMinSketch sketch,
+      final double threshold,
+      final List<Path> runs) {
+    final long tableBudgetBytes = this.memoryBudgetBytes - sketch.sizeInBytes();
+    final int capacity =
+        Integer.highestOneBit((int) Math.min(1 << 30, tableBudgetBytes / TABLE_SLOT_BYTES));
+    final NGramCountTable table = NGramCountTable.withCapacity(capacity);
+
+    for (final Path file : files) {
+      LanguageProfileTrainer.forEachChunk(
+          file,
+          chunk ->
+              this.chunkCounter.forEachNGram(
+                  chunk,
+                  packedNGram -> {
+                    if (sketch.estimate(packedNGram) <= threshold
+                        || NGram.isBlank(packedNGram)) {
+                      return;
+                    }
+                    if (table.isFull() && table.get(packedNGram) == 0L) {
+                      runs.add(spill(table));
+                    }
+                    table.increment(packedNGram);
+                  }));
+    }
+    // An empty table is only spilled when there is no other run, so that there is a run to merge
+    if (table.size() > 0 || runs.isEmpty()) {
+      runs.add(spill(table));
+    }
+    this.spilledRuns = runs.size();
+  }
+
+  /** Writes the table as a sorted run, see {@link PartialCounts}, then clears it. */
+  private Path spill(final NGramCountTable table) {
+    try {
+      final Path run = Files.createTempFile(this.spillDirectory, "ngram-run-", ".bin");
+      PartialCounts.write(run, this.isoCode639_1, this.maxNGramLength, table);
+      table.clear();
+      return run;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Merges the sorted runs, summing the counts of the same n-gram across the runs. */
+  private LanguageProfile mergeRuns(final List<Path> runs, final double threshold)
+      throws IOException {
+    final List<PartialCounts.Reader> readers = PartialCounts.open(runs);
+    try {
+      this.candidateNGrams = 0;
+      return PartialCounts.toLanguageProfile(
+          readers, threshold, (packedNGram, count) -> this.candidateNGrams++);
+    } finally {
+      PartialCounts.close(readers);
+    }
+  }
+}
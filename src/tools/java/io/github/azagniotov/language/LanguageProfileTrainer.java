@@ -0,0 +1,262 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.InputSanitizer.filterOutNonWords;
+import static io.github.azagniotov.language.NGram.MAX_PACKED_NGRAM_LENGTH;
+import static io.github.azagniotov.language.NGram.NO_PACKED_NGRAM;
+import static io.github.azagniotov.language.NGram.UNI_GRAM_LENGTH;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Generates a {@link LanguageProfile} from text files, e.g.: an extracted Wikipedia dump, using all
+ * the available cores.
+ *
+ * <p>The files are split between the tasks of a {@link ForkJoinPool}, and large files are further
+ * split into batches of chunks. Every task counts the n-grams of its chunks into its own {@link
+ * NGramCountTable}, without any locking or boxing, and the tables are merged when the tasks are
+ * joined. Once all the counts are merged, the table is converted into a profile and the less
+ * frequent n-grams are omitted via {@link LanguageProfile#omitLessFreq()}.
+ *
+ * <p>Each chunk is processed the same way as by {@link LanguageProfile#update(String, int)},
+ * therefore the generated profile is the same as the one generated by updating a profile with
+ * every chunk of every file, one after another.
+ */
+final class LanguageProfileTrainer {
+
+  // 32 KB for the char[] elements
+  // 8 bytes for the reference
+  // ~12–16 bytes for the array object overhead
+  // Memory usage for each chunk is: ~ 32 KB + 20–24 bytes
+  static final int CHUNK_SIZE = 16384;
+
+  // The number of chunks that a large file is split into for the parallel counting, ~512KB of chars
+  private static final int CHUNKS_PER_BATCH = 32;
+
+  private final String isoCode639_1;
+  private final int maxNGramLength;
+  private final UnaryOperator<String> chunkPreprocessor;
+  private final int parallelism;
+
+  /**
+   * @param chunkPreprocessor applied to every chunk before the n-grams are counted, e.g.: to remove
+   *     anything that is not Japanese from the Japanese Wikipedia dump
+   * @param parallelism the number of fork-join worker threads
+   */
+  LanguageProfileTrainer(
+      final String isoCode639_1,
+      final int maxNGramLength,
+      final UnaryOperator<String> chunkPreprocessor,
+      final int parallelism) {
+    if (maxNGramLength < UNI_GRAM_LENGTH || maxNGramLength > MAX_PACKED_NGRAM_LENGTH) {
+      throw new IllegalArgumentException("Unsupported max n-gram length: " + maxNGramLength);
+    }
+    this.isoCode639_1 = isoCode639_1;
+    this.maxNGramLength = maxNGramLength;
+    this.chunkPreprocessor = chunkPreprocessor;
+    this.parallelism = parallelism;
+  }
+
+  LanguageProfileTrainer(final String isoCode639_1, final int maxNGramLength) {
+    this(
+        isoCode639_1,
+        maxNGramLength,
+        UnaryOperator.identity(),
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  /** Counts the n-grams of the given files, and generates the profile of the less frequent ones. */
+  LanguageProfile train(final List<Path> files) {
+    final LanguageProfile languageProfile = toLanguageProfile(count(files));
+    languageProfile.omitLessFreq();
+
+    return languageProfile;
+  }
+
+  /**
+   * Counts the n-grams of the given files, e.g.: of one shard of the corpus, and writes the counts
+   * into a partial counts file, to be merged with the other shards via {@link PartialCounts}.
+   */
+  void writePartialCounts(final List<Path> files, final Path target) {
+    try {
+      PartialCounts.write(target, this.isoCode639_1, this.maxNGramLength, count(files));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Counts the n-grams of the given files, without omitting any of them. */
+  NGramCountTable count(final List<Path> files) {
+    final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+    try {
+      return pool.invoke(new FilesTask(files, 0, files.size()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** Counts the n-grams of a single chunk of text into the given table. */
+  void countChunk(final String chunk, final NGramCountTable table) {
+    forEachNGram(chunk, table::increment);
+  }
+
+  /** Extracts the n-grams of a single chunk of text, the same way as {@link LanguageProfile}. */
+  void forEachNGram(final String chunk, final LongConsumer packedNGramConsumer) {
+    final String input = this.chunkPreprocessor.apply(chunk);
+    if (input == null) {
+      return;
+    }
+    final String sanitizedInput = filterOutNonWords(input);
+    final String normalizedInput = NGram.normalizeVietnamese(sanitizedInput);
+    final NGram gram = new NGram(normalizedInput, this.maxNGramLength);
+
+    for (int idx = 0; idx < normalizedInput.length(); ++idx) {
+      gram.addChar(normalizedInput.charAt(idx));
+      for (int n = UNI_GRAM_LENGTH; n <= this.maxNGramLength; ++n) {
+        final long packedNGram = gram.getPacked(n);
+        if (packedNGram != NO_PACKED_NGRAM) {
+          packedNGramConsumer.accept(packedNGram);
+        }
+      }
+    }
+  }
+
+  /**
+   * Converts the counts into a profile, keeping the same n-grams as {@link
+   * LanguageProfile#add(String, int)} does.
+   */
+  LanguageProfile toLanguageProfile(final NGramCountTable table) {
+    final Map<String, Long> freq = new HashMap<>(table.size() * 4 / 3 + 1);
+    final double[] nGramCounts = new double[this.maxNGramLength];
+    for (int slot = 0; slot < table.capacity(); slot++) {
+      final long packedNGram = table.keyAt(slot);
+      if (packedNGram == NO_PACKED_NGRAM) {
+        continue;
+      }
+      if (NGram.isBlank(packedNGram)) {
+        continue;
+      }
+      freq.put(NGram.unpack(packedNGram), table.countAt(slot));
+      nGramCounts[NGram.packedLength(packedNGram) - 1] += table.countAt(slot);
+    }
+
+    final List<Double> nWords = new ArrayList<>(this.maxNGramLength);
+    for (final double nGramCount : nGramCounts) {
+      nWords.add(nGramCount);
+    }
+    return new LanguageProfile(this.isoCode639_1, freq, nWords, this.maxNGramLength);
+  }
+
+  /** Splits the files in halves, until there is a single file to count. */
+  private final class FilesTask extends RecursiveTask<NGramCountTable> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Path> files;
+    private final int from;
+    private final int to;
+
+    private FilesTask(final List<Path> files, final int from, final int to) {
+      this.files = files;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected NGramCountTable compute() {
+      if (this.to - this.from == 0) {
+        return new NGramCountTable();
+      } else if (this.to - this.from == 1) {
+        return countFile(this.files.get(this.from));
+      }
+      final int middle = (this.from + this.to) >>> 1;
+      final FilesTask left = new FilesTask(this.files, this.from, middle);
+      final FilesTask right = new FilesTask(this.files, middle, this.to);
+      right.fork();
+      return mergeLarger(left.compute(), right.join());
+    }
+  }
+
+  /**
+   * Reads the file in chunks, and forks the counting of every batch of chunks. At most as many
+   * batches as there are workers are kept in-flight, which bounds the memory of a large file.
+   */
+  private NGramCountTable countFile(final Path file) {
+    final NGramCountTable fileTable = new NGramCountTable();
+    final Deque<ForkJoinTask<NGramCountTable>> inFlight = new ArrayDeque<>();
+    final List<String> batch = new ArrayList<>(CHUNKS_PER_BATCH);
+    forEachChunk(
+        file,
+        chunk -> {
+          batch.add(chunk);
+          if (batch.size() == CHUNKS_PER_BATCH) {
+            inFlight.addLast(countBatchTask(new ArrayList<>(batch)).fork());
+            batch.clear();
+            if (inFlight.size() > this.parallelism) {
+              fileTable.merge(inFlight.removeFirst().join());
+            }
+          }
+        });
+    // The last, partial, batch is counted by the current task
+    for (final String chunk : batch) {
+      countChunk(chunk, fileTable);
+    }
+
+    NGramCountTable merged = fileTable;
+    while (!inFlight.isEmpty()) {
+      merged = mergeLarger(merged, inFlight.removeFirst().join());
+    }
+    return merged;
+  }
+
+  /** Reads the file in chunks of {@link #CHUNK_SIZE} chars. */
+  static void forEachChunk(final Path file, final Consumer<String> chunkConsumer) {
+    try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      final char[] buffer = new char[CHUNK_SIZE];
+      int charsRead;
+      while ((charsRead = reader.read(buffer)) != -1) {
+        chunkConsumer.accept(new String(buffer, 0, charsRead));
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private ForkJoinTask<NGramCountTable> countBatchTask(final List<String> batch) {
+    return ForkJoinTask.adapt(
+        () -> {
+          final NGramCountTable batchTable = new NGramCountTable();
+          for (final String chunk : batch) {
+            countChunk(chunk, batchTable);
+          }
+          return batchTable;
+        });
+  }
+
+  private static NGramCountTable mergeLarger(
+      final NGramCountTable left, final NGramCountTable right) {
+    if (left.size() >= right.size()) {
+      left.merge(right);
+      return left;
+    } else {
+      right.merge(left);
+      return right;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package io.github.azagniotov.language;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Compiles a pruned profile set offline, the same way as {@link ModelPruner} prunes the model when
+ * it is loaded, see {@link LanguageDetectionSettings.Builder#withMaxModelBytes(long)}.
+ */
+final class ModelPruningTool {
+
+  private static final String USAGE =
+      "Usage: ModelPruningTool <profiles directory> <target directory> <ISO 639-1 codes csv> "
+          + "<max bytes> [<max n-grams>]";
+
+  private ModelPruningTool() {}
+
+  /**
+   * Compiles a pruned profile set: the profiles of the given languages are loaded from the source
+   * directory, and written into the target directory without the pruned n-grams. The totals of the
+   * n-grams are kept, so that the probabilities of the kept n-grams do not change.
+   *
+   * @param args the profiles directory, the target directory, the ISO 639-1 codes, the maximum
+   *     bytes, and the optional maximum n-grams
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 4 || args.length > 5) {
+      throw new IllegalArgumentException(USAGE);
+    }
+    final Path profilesDirectory = Paths.get(args[0]);
+    final Path target = Paths.get(args[1]);
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(args[2])
+            .withProfilesDirectory(profilesDirectory)
+            .build();
+    final ModelPruner modelPruner =
+        new ModelPruner(Long.parseLong(args[3]), args.length == 5 ? Integer.parseInt(args[4]) : 0);
+
+    final LanguageDetectorFactory factory = new LanguageDetectorFactory(settings);
+    final Map<String, double[]> model = factory.getLanguageCorporaProbabilities();
+    final int nGrams = model.size();
+    final long modelBytes = ModelPruner.estimatedBytes(model);
+    modelPruner.prune(model);
+
+    Files.createDirectories(target);
+    for (final String isoCode639_1 : factory.getSupportedIsoCodes639_1()) {
+      final LanguageProfile languageProfile;
+      try (final InputStream in =
+          LanguageDetectorFactory.openProfileFile(profilesDirectory, isoCode639_1)) {
+        languageProfile = LanguageProfile.fromJson(in);
+      }
+      languageProfile.getWordFrequencies().keySet().retainAll(model.keySet());
+      Files.writeString(
+          target.resolve(isoCode639_1), languageProfile.toJson(), StandardCharsets.UTF_8);
+    }
+    System.out.printf(
+        "Kept %d of %d n-grams, ~%d of ~%d bytes%n",
+        model.size(), nGrams, ModelPruner.estimatedBytes(model), modelBytes);
+  }
+}
@@ -0,0 +1,165 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.NGram.NO_PACKED_NGRAM;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash table of n-gram counts, keyed by the packed n-grams, see {@link
+ * NGram#getPacked(int)}.
+ *
+ * <p>Counting into a {@code HashMap<String, Long>} allocates a String and boxes a Long for every
+ * extracted n-gram. Here, keys and counts live in two parallel primitive arrays and collisions are
+ * resolved by linear probing, so counting an n-gram does not allocate at all.
+ *
+ * <p>The table is not thread-safe. During training, every fork-join task counts into its own table,
+ * and the tables are merged once the tasks complete.
+ */
+final class NGramCountTable {
+
+  private static final int DEFAULT_CAPACITY = 1 << 12;
+
+  // Resize when the table is more than half full, to keep the probe sequences short
+  private static final int MAX_LOAD_FACTOR_SHIFT = 1;
+
+  private long[] keys;
+  private long[] counts;
+  private int size;
+  private int mask;
+
+  NGramCountTable() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  NGramCountTable(final int expectedSize) {
+    final int capacity =
+        Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize << MAX_LOAD_FACTOR_SHIFT));
+    allocate(capacity << 1);
+  }
+
+  /**
+   * A table that holds up to {@code capacity / 2} n-grams without resizing, e.g.: to count within a
+   * memory budget of {@code capacity * 16} bytes.
+   */
+  static NGramCountTable withCapacity(final int capacity) {
+    if (Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+    }
+    final NGramCountTable table = new NGramCountTable();
+    table.allocate(capacity);
+    return table;
+  }
+
+  void increment(final long packedNGram) {
+    add(packedNGram, 1L);
+  }
+
+  void add(final long packedNGram, final long count) {
+    int slot = slot(packedNGram);
+    while (true) {
+      final long key = this.keys[slot];
+      if (key == packedNGram) {
+        this.counts[slot] += count;
+        return;
+      } else if (key == NO_PACKED_NGRAM) {
+        this.keys[slot] = packedNGram;
+        this.counts[slot] = count;
+        if (++this.size > (this.keys.length >>> MAX_LOAD_FACTOR_SHIFT)) {
+          resize();
+        }
+        return;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+  }
+
+  long get(final long packedNGram) {
+    int slot = slot(packedNGram);
+    while (true) {
+      final long key = this.keys[slot];
+      if (key == packedNGram) {
+        return this.counts[slot];
+      } else if (key == NO_PACKED_NGRAM) {
+        return 0L;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+  }
+
+  /** Adds all the counts of the other table into this table. */
+  void merge(final NGramCountTable other) {
+    for (int slot = 0; slot < other.keys.length; slot++) {
+      if (other.keys[slot] != NO_PACKED_NGRAM) {
+        add(other.keys[slot], other.counts[slot]);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Whether the next new n-gram would make the table resize. */
+  boolean isFull() {
+    return size >= (keys.length >>> MAX_LOAD_FACTOR_SHIFT);
+  }
+
+  /** Removes all the n-grams, keeping the allocated capacity. */
+  void clear() {
+    Arrays.fill(this.keys, NO_PACKED_NGRAM);
+    this.size = 0;
+  }
+
+  /**
+   * The n-grams in ascending order of their packed keys, e.g.: to be spilled to disk as a sorted
+   * run and merged with other runs.
+   */
+  long[] sortedKeys() {
+    final long[] sortedKeys = new long[size];
+    int idx = 0;
+    for (final long key : keys) {
+      if (key != NO_PACKED_NGRAM) {
+        sortedKeys[idx++] = key;
+      }
+    }
+    Arrays.sort(sortedKeys);
+    return sortedKeys;
+  }
+
+  /** The number of slots, i.e.: the exclusive upper bound of the slots to iterate over. */
+  int capacity() {
+    return keys.length;
+  }
+
+  /** The packed n-gram in the given slot, or {@link NGram#NO_PACKED_NGRAM} for an empty slot. */
+  long keyAt(final int slot) {
+    return keys[slot];
+  }
+
+  long countAt(final int slot) {
+    return counts[slot];
+  }
+
+  private int slot(final long packedNGram) {
+    // Fibonacci hashing spreads the packed chars, which differ mostly in the low bits
+    return (int) ((packedNGram * 0x9E3779B97F4A7C15L) >>> 32) & this.mask;
+  }
+
+  private void resize() {
+    final long[] previousKeys = this.keys;
+    final long[] previousCounts = this.counts;
+    allocate(previousKeys.length << 1);
+    for (int slot = 0; slot < previousKeys.length; slot++) {
+      if (previousKeys[slot] != NO_PACKED_NGRAM) {
+        add(previousKeys[slot], previousCounts[slot]);
+      }
+    }
+  }
+
+  private void allocate(final int capacity) {
+    this.keys = new long[capacity];
+    this.counts = new long[capacity];
+    this.size = 0;
+    this.mask = capacity - 1;
+  }
+}
@@ -0,0 +1,336 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.NGram.NO_PACKED_NGRAM;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The on-disk format of the n-gram counts of a corpus shard, before the less frequent n-grams are
+ * omitted, e.g.: to train a profile over many shards in separate JVM processes and to merge the
+ * partial counts afterwards.
+ *
+ * <p>The less frequent n-grams cannot be omitted per shard, as an n-gram which is rare in every
+ * shard can still be frequent in the whole corpus. Instead, every shard keeps all of its counts,
+ * sorted by the packed n-grams (see {@link NGram#getPacked(int)}), so that any number of shards are
+ * merged in a single streaming pass, which holds one entry per shard in memory.
+ *
+ * <p>The file is a {@link DataOutputStream} of:
+ *
+ * <ul>
+ *   <li>the {@link #MAGIC} and the {@link #VERSION} ints
+ *   <li>the ISO 639-1 code and the max n-gram length
+ *   <li>the {@code n_words} longs, i.e.: the total count of the n-grams of every length
+ *   <li>the (packed n-gram, count) long pairs in ascending order of the packed n-grams
+ *   <li>the {@link NGram#NO_PACKED_NGRAM} terminator
+ * </ul>
+ */
+final class PartialCounts {
+
+  // "LDPC", i.e.: language detector partial counts
+  static final int MAGIC = 0x4C445043;
+  static final int VERSION = 1;
+
+  private PartialCounts() {}
+
+  /** Writes all the counts of the table, except the blank n-grams, which profiles never keep. */
+  static void write(
+      final Path target,
+      final String isoCode639_1,
+      final int maxNGramLength,
+      final NGramCountTable table)
+      throws IOException {
+    final long[] sortedKeys = table.sortedKeys();
+    final long[] nWords = new long[maxNGramLength];
+    for (final long key : sortedKeys) {
+      if (!NGram.isBlank(key)) {
+        nWords[NGram.packedLength(key) - 1] += table.get(key);
+      }
+    }
+    try (final Writer writer = new Writer(target, isoCode639_1, nWords)) {
+      for (final long key : sortedKeys) {
+        if (!NGram.isBlank(key)) {
+          writer.write(key, table.get(key));
+        }
+      }
+    }
+  }
+
+  /**
+   * Merges the shards into a single partial counts file, summing the counts of the same n-gram and
+   * the {@code n_words}. The merged file can be merged again, e.g.: in a tree of merges.
+   */
+  static void merge(final List<Path> shards, final Path target) throws IOException {
+    final List<Reader> readers = open(shards);
+    try (final Writer writer =
+        new Writer(target, readers.get(0).getIsoCode639_1(), sumNGramCounts(readers))) {
+      forEachMerged(readers, writer::write);
+    } finally {
+      close(readers);
+    }
+  }
+
+  /** Merges the shards into a profile, omitting the less frequent n-grams of the whole corpus. */
+  static LanguageProfile toLanguageProfile(final List<Path> shards) throws IOException {
+    final List<Reader> readers = open(shards);
+    try {
+      final double threshold = LanguageProfile.lessFreqThreshold(sumNGramCounts(readers)[0]);
+      return toLanguageProfile(readers, threshold);
+    } finally {
+      close(readers);
+    }
+  }
+
+  /**
+   * Merges the counts into a profile, keeping only the n-grams above the given threshold, e.g.:
+   * when the counts are pre-filtered and the threshold has been computed from all the n-grams.
+   */
+  static LanguageProfile toLanguageProfile(final List<Reader> readers, final double threshold)
+      throws IOException {
+    return toLanguageProfile(readers, threshold, (packedNGram, count) -> {});
+  }
+
+  /**
+   * The same as {@link #toLanguageProfile(List, double)}, and also calls the consumer once per
+   * merged n-gram, whether it is above the threshold or not.
+   */
+  static LanguageProfile toLanguageProfile(
+      final List<Reader> readers, final double threshold, final EntryConsumer mergedNGrams)
+      throws IOException {
+    final int maxNGramLength = readers.get(0).getMaxNGramLength();
+    final Map<String, Long> freq = new HashMap<>();
+    final double[] nGramCounts = new double[maxNGramLength];
+    forEachMerged(
+        readers,
+        (packedNGram, count) -> {
+          mergedNGrams.accept(packedNGram, count);
+          // The counts of the n-grams at or below the threshold are omitted from
+          // the totals, the same way as LanguageProfile#omitLessFreq() does
+          if (count > threshold) {
+            freq.put(NGram.unpack(packedNGram), count);
+            nGramCounts[NGram.packedLength(packedNGram) - 1] += count;
+          }
+        });
+
+    final List<Double> nWords = new ArrayList<>(maxNGramLength);
+    for (final double nGramCount : nGramCounts) {
+      nWords.add(nGramCount);
+    }
+    final LanguageProfile languageProfile =
+        new LanguageProfile(readers.get(0).getIsoCode639_1(), freq, nWords, maxNGramLength);
+    // Only the roman check is left to do, as all the n-grams are above the threshold
+    languageProfile.omitLessFreq(threshold);
+
+    return languageProfile;
+  }
+
+  /**
+   * Opens all the shards, which must be of the same language and max n-gram length. On failure, the
+   * already opened shards are closed.
+   */
+  static List<Reader> open(final List<Path> shards) throws IOException {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("No partial counts to merge");
+    }
+    final List<Reader> readers = new ArrayList<>(shards.size());
+    try {
+      for (final Path shard : shards) {
+        final Reader reader = new Reader(shard);
+        readers.add(reader);
+        final Reader first = readers.get(0);
+        if (!first.getIsoCode639_1().equals(reader.getIsoCode639_1())
+            || first.getMaxNGramLength() != reader.getMaxNGramLength()) {
+          throw new IllegalArgumentException(
+              "Cannot merge partial counts of "
+                  + reader.getIsoCode639_1()
+                  + "/"
+                  + reader.getMaxNGramLength()
+                  + " into "
+                  + first.getIsoCode639_1()
+                  + "/"
+                  + first.getMaxNGramLength()
+                  + ": "
+                  + shard);
+        }
+      }
+    } catch (final IOException | RuntimeException e) {
+      close(readers);
+      throw e;
+    }
+    return readers;
+  }
+
+  static void close(final List<Reader> readers) throws IOException {
+    IOException failure = null;
+    for (final Reader reader : readers) {
+      try {
+        reader.close();
+      } catch (final IOException e) {
+        failure = e;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * K-way merges the sorted entries of the readers, calling the consumer once per n-gram with the
+   * sum of its counts, in ascending order of the packed n-grams.
+   */
+  static void forEachMerged(final List<Reader> readers, final EntryConsumer consumer)
+      throws IOException {
+    final PriorityQueue<Reader> queue =
+        new PriorityQueue<>(readers.size(), Comparator.comparingLong(Reader::key));
+    for (final Reader reader : readers) {
+      if (reader.next()) {
+        queue.add(reader);
+      }
+    }
+    while (!queue.isEmpty()) {
+      final long key = queue.peek().key();
+      long count = 0;
+      while (!queue.isEmpty() && queue.peek().key() == key) {
+        final Reader reader = queue.poll();
+        count += reader.count();
+        if (reader.next()) {
+          queue.add(reader);
+        }
+      }
+      consumer.accept(key, count);
+    }
+  }
+
+  private static long[] sumNGramCounts(final List<Reader> readers) {
+    final long[] nWords = new long[readers.get(0).getMaxNGramLength()];
+    for (final Reader reader : readers) {
+      for (int idx = 0; idx < nWords.length; idx++) {
+        nWords[idx] += reader.nWords[idx];
+      }
+    }
+    return nWords;
+  }
+
+  @FunctionalInterface
+  interface EntryConsumer {
+    void accept(long packedNGram, long count) throws IOException;
+  }
+
+  /** Writes the entries, which must be given in ascending order of the packed n-grams. */
+  static final class Writer implements Closeable {
+
+    private final DataOutputStream out;
+    private long previousKey = NO_PACKED_NGRAM;
+
+    Writer(final Path target, final String isoCode639_1, final long[] nWords) throws IOException {
+      this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)));
+      this.out.writeInt(MAGIC);
+      this.out.writeInt(VERSION);
+      this.out.writeUTF(isoCode639_1);
+      this.out.writeInt(nWords.length);
+      for (final long nWord : nWords) {
+        this.out.writeLong(nWord);
+      }
+    }
+
+    void write(final long packedNGram, final long count) throws IOException {
+      if (packedNGram <= this.previousKey) {
+        throw new IllegalArgumentException("Partial counts must be sorted by n-gram");
+      }
+      this.previousKey = packedNGram;
+      this.out.writeLong(packedNGram);
+      this.out.writeLong(count);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try (final DataOutputStream closing = this.out) {
+        closing.writeLong(NO_PACKED_NGRAM);
+      }
+    }
+  }
+
+  /** Reads the entries one at a time, see {@link #next()}. */
+  static final class Reader implements Closeable {
+
+    private final Path source;
+    private final DataInputStream in;
+    private final String isoCode639_1;
+    private final long[] nWords;
+    private long key;
+    private long count;
+
+    Reader(final Path source) throws IOException {
+      this.source = source;
+      this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)));
+      try {
+        if (this.in.readInt() != MAGIC || this.in.readInt() != VERSION) {
+          throw new IOException("Not a partial counts file: " + source);
+        }
+        this.isoCode639_1 = this.in.readUTF();
+        this.nWords = new long[this.in.readInt()];
+        for (int idx = 0; idx < this.nWords.length; idx++) {
+          this.nWords[idx] = this.in.readLong();
+        }
+      } catch (final IOException e) {
+        this.in.close();
+        throw e instanceof EOFException
+            ? new IOException("Truncated partial counts file: " + source, e)
+            : e;
+      }
+    }
+
+    String getIsoCode639_1() {
+      return isoCode639_1;
+    }
+
+    int getMaxNGramLength() {
+      return nWords.length;
+    }
+
+    /** The total count of the n-grams of the given length, before any n-grams are omitted. */
+    long getNGramCount(final int nGramLength) {
+      return nWords[nGramLength - 1];
+    }
+
+    /** Advances to the next entry, returns {@code false} once all the entries have been read. */
+    boolean next() throws IOException {
+      try {
+        this.key = this.in.readLong();
+        if (this.key == NO_PACKED_NGRAM) {
+          return false;
+        }
+        this.count = this.in.readLong();
+        return true;
+      } catch (final EOFException e) {
+        throw new IOException("Truncated partial counts file: " + this.source, e);
+      }
+    }
+
+    long key() {
+      return key;
+    }
+
+    long count() {
+      return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.in.close();
+    }
+  }
+}
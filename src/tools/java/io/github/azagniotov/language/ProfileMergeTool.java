@@ -0,0 +1,194 @@
+package io.github.azagniotov.language;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines language profiles offline:
+ *
+ * <ul>
+ *   <li>{@code merge}: merges the partial counts of corpus shards into a single partial counts
+ *       file, e.g.: to merge the shards in a tree of merges, see {@link PartialCounts}
+ *   <li>{@code profile}: merges the partial counts of corpus shards into a language profile, which
+ *       has the less frequent n-grams of the whole corpus omitted
+ *   <li>{@code average}: averages the profiles of several profile sets, e.g.: the profiles trained
+ *       on Wikipedia and on news articles, into a merged profile set, like the {@code
+ *       merged-average} one. Every profile set is a directory with a profile file per ISO 639-1
+ *       code, and can be given a weight, which defaults to 1
+ * </ul>
+ */
+final class ProfileMergeTool {
+
+  private static final String USAGE =
+      "Usage: ProfileMergeTool merge <target partial counts> <partial counts>...\n"
+          + "       ProfileMergeTool profile <target profile> <partial counts>...\n"
+          + "       ProfileMergeTool average <target directory> <profiles directory>[=weight]...";
+
+  private ProfileMergeTool() {}
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 3) {
+      throw new IllegalArgumentException(USAGE);
+    }
+    final Path target = Paths.get(args[1]);
+    final List<String> sources = Arrays.asList(args).subList(2, args.length);
+    switch (args[0]) {
+      case "merge":
+        PartialCounts.merge(toPaths(sources), target);
+        break;
+      case "profile":
+        final LanguageProfile languageProfile = PartialCounts.toLanguageProfile(toPaths(sources));
+        Files.writeString(target, languageProfile.toJson(), StandardCharsets.UTF_8);
+        break;
+      case "average":
+        final List<Path> profilesDirectories = new ArrayList<>(sources.size());
+        final List<Double> weights = new ArrayList<>(sources.size());
+        for (final String source : sources) {
+          final int separator = source.lastIndexOf('=');
+          if (separator > 0) {
+            profilesDirectories.add(Paths.get(source.substring(0, separator)));
+            weights.add(Double.parseDouble(source.substring(separator + 1)));
+          } else {
+            profilesDirectories.add(Paths.get(source));
+            weights.add(1.0);
+          }
+        }
+        averageProfileSets(profilesDirectories, weights, target);
+        break;
+      default:
+        throw new IllegalArgumentException(USAGE);
+    }
+  }
+
+  /**
+   * Averages every profile of the first profile set with the profiles of the same language of the
+   * other profile sets, and writes the averaged profiles into the target directory. The profiles
+   * are read the same way as the model loads them, i.e.: {@code en.gz} is preferred to {@code en}.
+   */
+  static void averageProfileSets(
+      final List<Path> profilesDirectories, final List<Double> weights, final Path target)
+      throws IOException {
+    final List<String> isoCodes639_1;
+    try (final Stream<Path> paths = Files.list(profilesDirectories.get(0))) {
+      isoCodes639_1 =
+          paths
+              .filter(Files::isRegularFile)
+              .map(path -> path.getFileName().toString())
+              .filter(fileName -> !fileName.startsWith("."))
+              .map(ProfileMergeTool::isoCode639_1)
+              .distinct()
+              .sorted()
+              .collect(Collectors.toList());
+    }
+    Files.createDirectories(target);
+    for (final String isoCode639_1 : isoCodes639_1) {
+      final List<LanguageProfile> languageProfiles = new ArrayList<>(profilesDirectories.size());
+      for (final Path profilesDirectory : profilesDirectories) {
+        try (final InputStream in =
+            LanguageDetectorFactory.openProfileFile(profilesDirectory, isoCode639_1)) {
+          languageProfiles.add(LanguageProfile.fromJson(in));
+        }
+      }
+      final LanguageProfile averaged = average(languageProfiles, weights);
+      Files.writeString(target.resolve(isoCode639_1), averaged.toJson(), StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Averages the profiles of the same language, weighting the probability of every n-gram, i.e.:
+   * its frequency divided by the total count of the n-grams of its length, by the profile weight.
+   *
+   * <p>The averaged probabilities are scaled back into frequencies by the sum of the totals of all
+   * the profiles, which become the totals of the averaged profile, so that the frequencies stay as
+   * precise as in the largest profile. The n-grams whose scaled frequency rounds to zero are
+   * omitted.
+   */
+  static LanguageProfile average(
+      final List<LanguageProfile> languageProfiles, final List<Double> weights) {
+    if (languageProfiles.isEmpty() || languageProfiles.size() != weights.size()) {
+      throw new IllegalArgumentException("Every language profile must be given a weight");
+    }
+    final String isoCode639_1 = languageProfiles.get(0).getIsoCode639_1();
+    int maxNGramLength = 0;
+    double totalWeight = 0.0;
+    for (int idx = 0; idx < languageProfiles.size(); idx++) {
+      final LanguageProfile languageProfile = languageProfiles.get(idx);
+      if (!isoCode639_1.equals(languageProfile.getIsoCode639_1())) {
+        throw new IllegalArgumentException(
+            "Cannot average language profile "
+                + languageProfile.getIsoCode639_1()
+                + " with "
+                + isoCode639_1);
+      }
+      if (weights.get(idx) < 0.0) {
+        throw new IllegalArgumentException("Weight must not be negative: " + weights.get(idx));
+      }
+      maxNGramLength = Math.max(maxNGramLength, languageProfile.getNGramCounts().size());
+      totalWeight += weights.get(idx);
+    }
+    if (totalWeight == 0.0) {
+      throw new IllegalArgumentException("At least one weight must be positive");
+    }
+
+    final double[] scales = new double[maxNGramLength];
+    final Map<String, Double> probabilities = new HashMap<>();
+    for (int idx = 0; idx < languageProfiles.size(); idx++) {
+      final double weight = weights.get(idx) / totalWeight;
+      if (weight == 0.0) {
+        continue;
+      }
+      final List<Double> nWords = languageProfiles.get(idx).getNGramCounts();
+      for (int length = 0; length < nWords.size(); length++) {
+        scales[length] += nWords.get(length);
+      }
+      for (final Map.Entry<String, Long> entry :
+          languageProfiles.get(idx).getWordFrequencies().entrySet()) {
+        final int length = entry.getKey().length();
+        if (length < NGram.UNI_GRAM_LENGTH || length > nWords.size()) {
+          continue;
+        }
+        final double nGramCount = nWords.get(length - 1);
+        if (nGramCount > 0.0) {
+          probabilities.merge(entry.getKey(), weight * entry.getValue() / nGramCount, Double::sum);
+        }
+      }
+    }
+
+    final Map<String, Long> freq = new HashMap<>(probabilities.size() * 4 / 3 + 1);
+    for (final Map.Entry<String, Double> entry : probabilities.entrySet()) {
+      final int length = entry.getKey().length();
+      final long frequency = Math.round(entry.getValue() * scales[length - 1]);
+      if (frequency > 0) {
+        freq.put(entry.getKey(), frequency);
+      }
+    }
+    final List<Double> nWords = new ArrayList<>(maxNGramLength);
+    for (final double scale : scales) {
+      nWords.add(scale);
+    }
+    return new LanguageProfile(isoCode639_1, freq, nWords, maxNGramLength);
+  }
+
+  private static List<Path> toPaths(final List<String> sources) {
+    return sources.stream().map(Paths::get).collect(Collectors.toList());
+  }
+
+  // The profile file name without the compressed suffix, e.g.: en for en.gz
+  private static String isoCode639_1(final String fileName) {
+    return fileName.endsWith(LanguageDetectorFactory.COMPRESSED_PROFILE_SUFFIX)
+        ? fileName.substring(
+            0, fileName.length() - LanguageDetectorFactory.COMPRESSED_PROFILE_SUFFIX.length())
+        : fileName;
+  }
+}
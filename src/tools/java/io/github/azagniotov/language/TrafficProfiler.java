@@ -0,0 +1,215 @@
+package io.github.azagniotov.language;
+
+import static io.github.azagniotov.language.InputSanitizer.filterOutNonWords;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Specializes a model to the traffic it serves: a representative sample of the inputs is scanned
+ * the same way as by {@link LanguageDetector#detectAll(String)}, and the model rows, i.e.: the
+ * n-grams, that the inputs hit are counted.
+ *
+ * <p>The specialized model keeps the hottest rows that make up the configured share of all the
+ * hits, plus a safety margin of the rows with the highest information gain among the rest (see
+ * {@link ModelPruner#informationGain(double[])}), for the inputs that the sample does not cover.
+ * The kept rows are ordered by their hit count, hottest first, so that the hot rows are loaded, and
+ * allocated, next to each other.
+ *
+ * <p>When all the rows hit by the sample are kept, the specialized model detects the sampled inputs
+ * exactly the same way as the full model, as the n-grams that are not in the model are skipped
+ * anyway.
+ */
+final class TrafficProfiler {
+
+  private static final String USAGE =
+      "Usage: TrafficProfiler <profiles directory> <target directory> <ISO 639-1 codes csv> "
+          + "<sample file> [<hits coverage> [<safety margin>]]";
+
+  private final Map<String, double[]> languageCorporaProbabilities;
+  private final int maxNGramLength;
+  private final Map<String, long[]> hits;
+  private long totalHits;
+  private long inputs;
+
+  TrafficProfiler(
+      final Map<String, double[]> languageCorporaProbabilities, final int maxNGramLength) {
+    this.languageCorporaProbabilities = languageCorporaProbabilities;
+    this.maxNGramLength = maxNGramLength;
+    this.hits = new HashMap<>();
+  }
+
+  /** Counts the model rows that the input hits, once per extracted n-gram. */
+  void record(final String input) {
+    // The same pre-processing as by LanguageDetector#detectAll(String)
+    final String normalizedText = NGram.normalizeVietnamese(filterOutNonWords(input));
+    final NGram nGram = new NGram(normalizedText, this.maxNGramLength);
+    for (final String extracted : nGram.extractNGrams(this.languageCorporaProbabilities.keySet())) {
+      this.hits.computeIfAbsent(extracted, key -> new long[1])[0]++;
+      this.totalHits++;
+    }
+    this.inputs++;
+  }
+
+  /** Records every line of the sample file as a separate input. */
+  void recordSample(final Path sample) throws IOException {
+    try (final BufferedReader reader = Files.newBufferedReader(sample, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank()) {
+          record(line);
+        }
+      }
+    }
+  }
+
+  long getInputs() {
+    return inputs;
+  }
+
+  long getTotalHits() {
+    return totalHits;
+  }
+
+  /** The number of distinct model rows that have been hit. */
+  int getHitRows() {
+    return hits.size();
+  }
+
+  long getHits(final String nGram) {
+    final long[] count = hits.get(nGram);
+    return count == null ? 0L : count[0];
+  }
+
+  /**
+   * The n-grams of the specialized model, hottest first.
+   *
+   * @param hitsCoverage the share of all the hits that the kept hot rows must make up, e.g.: 1.0 to
+   *     keep all the rows that have been hit
+   * @param safetyMargin the number of rows, relative to the number of the kept hot rows, to keep in
+   *     addition to them, e.g.: 0.1 to keep 10% more rows
+   */
+  List<String> specializedNGrams(final double hitsCoverage, final double safetyMargin) {
+    if (hitsCoverage < 0.0 || hitsCoverage > 1.0 || safetyMargin < 0.0) {
+      throw new IllegalArgumentException(
+          "Invalid hits coverage or safety margin: " + hitsCoverage + ", " + safetyMargin);
+    }
+    final List<String> hotNGrams = new ArrayList<>(this.hits.keySet());
+    // The n-gram itself breaks the ties, so that the specialized model is deterministic
+    hotNGrams.sort(
+        Comparator.comparingLong((String nGram) -> -this.hits.get(nGram)[0])
+            .thenComparing(Comparator.naturalOrder()));
+
+    final List<String> specialized = new ArrayList<>();
+    long coveredHits = 0;
+    for (final String nGram : hotNGrams) {
+      if (coveredHits >= Math.ceil(hitsCoverage * this.totalHits)) {
+        break;
+      }
+      specialized.add(nGram);
+      coveredHits += this.hits.get(nGram)[0];
+    }
+
+    final int marginRows = (int) Math.ceil(specialized.size() * safetyMargin);
+    if (marginRows > 0) {
+      final Set<String> kept = new HashSet<>(specialized);
+      final Map<String, double[]> rest = new HashMap<>(this.languageCorporaProbabilities);
+      rest.keySet().removeAll(kept);
+      final List<String> margin =
+          new ArrayList<>(new ModelPruner(0, marginRows).retainedNGrams(rest));
+      margin.sort(
+          Comparator.comparingDouble(
+                  (String nGram) ->
+                      -ModelPruner.informationGain(this.languageCorporaProbabilities.get(nGram)))
+              .thenComparing(Comparator.naturalOrder()));
+      specialized.addAll(margin);
+    }
+    return specialized;
+  }
+
+  /** The specialized model, which iterates over the rows hottest first. */
+  Map<String, double[]> specialize(final double hitsCoverage, final double safetyMargin) {
+    final Map<String, double[]> specialized = new LinkedHashMap<>();
+    for (final String nGram : specializedNGrams(hitsCoverage, safetyMargin)) {
+      specialized.put(nGram, this.languageCorporaProbabilities.get(nGram));
+    }
+    return specialized;
+  }
+
+  /**
+   * Emits a specialized profile set: the profiles of the given languages are loaded from the source
+   * directory, and written into the target directory with the specialized n-grams only, hottest
+   * first. The totals of the n-grams are kept, so that the probabilities of the kept n-grams do not
+   * change.
+   *
+   * @param args the profiles directory, the target directory, the ISO 639-1 codes, the sample file
+   *     with an input per line, and optionally the hits coverage (default 1.0) and the safety
+   *     margin (default 0.1)
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 4 || args.length > 6) {
+      throw new IllegalArgumentException(USAGE);
+    }
+    final Path profilesDirectory = Paths.get(args[0]);
+    final Path target = Paths.get(args[1]);
+    final LanguageDetectionSettings settings =
+        LanguageDetectionSettings.fromIsoCodes639_1(args[2])
+            .withProfilesDirectory(profilesDirectory)
+            .build();
+    final double hitsCoverage = args.length > 4 ? Double.parseDouble(args[4]) : 1.0;
+    final double safetyMargin = args.length > 5 ? Double.parseDouble(args[5]) : 0.1;
+
+    final LanguageDetectorFactory factory = new LanguageDetectorFactory(settings);
+    final Map<String, double[]> model = factory.getLanguageCorporaProbabilities();
+    final TrafficProfiler trafficProfiler =
+        new TrafficProfiler(model, factory.getMaxNGramLength());
+    trafficProfiler.recordSample(Paths.get(args[3]));
+    final List<String> specialized = trafficProfiler.specializedNGrams(hitsCoverage, safetyMargin);
+
+    Files.createDirectories(target);
+    for (final String isoCode639_1 : factory.getSupportedIsoCodes639_1()) {
+      final LanguageProfile languageProfile;
+      try (final InputStream in =
+          LanguageDetectorFactory.openProfileFile(profilesDirectory, isoCode639_1)) {
+        languageProfile = LanguageProfile.fromJson(in);
+      }
+      final Map<String, Long> freq = languageProfile.getWordFrequencies();
+      final Map<String, Long> hotFirstFreq = new LinkedHashMap<>();
+      for (final String nGram : specialized) {
+        final Long frequency = freq.get(nGram);
+        if (frequency != null) {
+          hotFirstFreq.put(nGram, frequency);
+        }
+      }
+      final LanguageProfile specializedProfile =
+          new LanguageProfile(isoCode639_1, hotFirstFreq, languageProfile.getNGramCounts());
+      Files.writeString(
+          target.resolve(isoCode639_1), specializedProfile.toJson(), StandardCharsets.UTF_8);
+    }
+    long specializedBytes = 0;
+    for (final String nGram : specialized) {
+      specializedBytes += ModelPruner.estimatedBytes(model.get(nGram).length, false);
+    }
+    System.out.printf(
+        "%d inputs hit %d of %d n-grams, kept %d n-grams (~%d of ~%d bytes)%n",
+        trafficProfiler.getInputs(),
+        trafficProfiler.getHitRows(),
+        model.size(),
+        specialized.size(),
+        specializedBytes,
+        ModelPruner.estimatedBytes(model));
+  }
+}